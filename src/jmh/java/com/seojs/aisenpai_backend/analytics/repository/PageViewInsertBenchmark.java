@@ -0,0 +1,139 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.entity.PageViewLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * page_view_log 적재 시 id 전략별 건당 비용 측정 (H2 인메모리, 한 트랜잭션에 rows 건)
+ * - IDENTITY: 생성 키를 받아야 하므로 건마다 execute (Hibernate 가 batch 를 끄는 경로)
+ * - 시퀀스 건당 조회: 건마다 nextval 후 batch insert
+ * - pooled 시퀀스: ID_ALLOCATION_SIZE 건당 nextval 1회 후 batch insert (PageViewLogJdbcRepository 방식)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PageViewInsertBenchmark {
+
+    private static final String COLUMNS = "session_id VARCHAR(255), path VARCHAR(255), viewed_at TIMESTAMP, "
+            + "ip_address VARCHAR(255), user_agent VARCHAR(512)";
+
+    @Param({ "50", "500" })
+    int rows;
+
+    Connection connection;
+    Timestamp viewedAt;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:page-view-insert-bench;DB_CLOSE_DELAY=-1", "sa", "");
+        connection.setAutoCommit(false);
+        viewedAt = Timestamp.valueOf(LocalDateTime.now());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS identity_log "
+                    + "(id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " + COLUMNS + ")");
+            statement.execute("CREATE TABLE IF NOT EXISTS sequence_log (id BIGINT PRIMARY KEY, " + COLUMNS + ")");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS sequence_log_seq INCREMENT BY 1");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS pooled_log_seq INCREMENT BY "
+                    + PageViewLog.ID_ALLOCATION_SIZE);
+        }
+        connection.commit();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE identity_log");
+            statement.execute("TRUNCATE TABLE sequence_log");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long identityPerRow() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO identity_log (session_id, path, viewed_at, ip_address, user_agent) VALUES (?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows; i++) {
+                bindColumns(ps, 1, i);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long sequencePerRowBatch() throws SQLException {
+        long[] ids = new long[rows];
+        try (PreparedStatement next = connection.prepareStatement("SELECT NEXT VALUE FOR sequence_log_seq")) {
+            for (int i = 0; i < rows; i++) {
+                ids[i] = nextValue(next);
+            }
+        }
+        return batchInsert(ids);
+    }
+
+    @Benchmark
+    public long pooledSequenceBatch() throws SQLException {
+        long[] ids = new long[rows];
+        try (PreparedStatement next = connection.prepareStatement("SELECT NEXT VALUE FOR pooled_log_seq")) {
+            long nextId = 1;
+            long maxId = 0;
+            for (int i = 0; i < rows; i++) {
+                if (nextId > maxId) {
+                    maxId = nextValue(next);
+                    nextId = maxId - PageViewLog.ID_ALLOCATION_SIZE + 1;
+                }
+                ids[i] = nextId++;
+            }
+        }
+        return batchInsert(ids);
+    }
+
+    private long batchInsert(long[] ids) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO sequence_log (id, session_id, path, viewed_at, ip_address, user_agent) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ids.length; i++) {
+                ps.setLong(1, ids[i]);
+                bindColumns(ps, 2, i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        connection.commit();
+        return ids[ids.length - 1];
+    }
+
+    private void bindColumns(PreparedStatement ps, int offset, int i) throws SQLException {
+        ps.setString(offset, "bench-" + (i % 1000));
+        ps.setString(offset + 1, "/repos/" + (i % 50));
+        ps.setTimestamp(offset + 2, viewedAt);
+        ps.setString(offset + 3, "127.0.0.1");
+        ps.setString(offset + 4, "benchmark");
+    }
+
+    private static long nextValue(PreparedStatement next) throws SQLException {
+        try (ResultSet rs = next.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
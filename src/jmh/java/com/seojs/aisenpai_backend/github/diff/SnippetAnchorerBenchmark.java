@@ -0,0 +1,70 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 코멘트 하나를 앵커링하는 비용 측정 (정확 일치 / 퍼지 매칭 / 매칭 실패)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SnippetAnchorerBenchmark {
+
+    @Param({ "200", "2000" })
+    int addedLines;
+
+    String patchText;
+    PatchIndex index;
+    String exactSnippet;
+    String reformattedSnippet;
+    String multiLineSnippet;
+    String missingSnippet;
+
+    @Setup
+    public void setUp() {
+        StringBuilder patch = new StringBuilder("@@ -1,10 +1,").append(addedLines + 10).append(" @@\n");
+        for (int i = 0; i < addedLines; i++) {
+            if (i % 10 == 0) {
+                patch.append("     // context line ").append(i).append('\n');
+            }
+            patch.append("+        int value").append(i).append(" = compute(value").append(i - 1)
+                    .append(", options.get(\"key").append(i).append("\"));\n");
+        }
+        patchText = patch.toString();
+        index = PatchIndex.parse(patchText);
+
+        int target = addedLines - 3;
+        exactSnippet = "int value" + target + " = compute(value" + (target - 1) + ", options.get(\"key" + target + "\"));";
+        reformattedSnippet = "int value" + target + "=compute( value" + (target - 1) + ",options.get(\"key" + target
+                + "\") );";
+        multiLineSnippet = reformattedSnippet + "\nint value" + (target + 1) + " = compute(value" + target + ", x);";
+        missingSnippet = "throw new IllegalStateException(\"unreachable\");";
+    }
+
+    @Benchmark
+    public Object exactMatch() {
+        return SnippetAnchorer.anchor(index, exactSnippet);
+    }
+
+    @Benchmark
+    public Object fuzzySingleLine() {
+        return SnippetAnchorer.anchor(index, reformattedSnippet);
+    }
+
+    @Benchmark
+    public Object fuzzyMultiLine() {
+        return SnippetAnchorer.anchor(index, multiLineSnippet);
+    }
+
+    @Benchmark
+    public Object noMatch() {
+        return SnippetAnchorer.anchor(index, missingSnippet);
+    }
+
+    @Benchmark
+    public Object parsePatch() {
+        return PatchIndex.parse(patchText);
+    }
+}
@@ -0,0 +1,145 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import com.seojs.aisenpai_backend.exception.AiSaturatedEx;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출 전체의 동시 실행 수를 AIMD 로 조절하는 제한기
+ *
+ * - 지연이 latencyThreshold 이하로 성공하고 한도의 절반 이상을 쓰고 있으면 한도 += 1/limit (가산 증가)
+ * - 지연 초과, 타임아웃, 5xx 면 한도 *= backoffRatio (곱셈 감소, 같은 혼잡으로 연속 감소하지 않도록 최소 간격 유지)
+ * - 429(키별 제한)와 4xx 는 provider 혼잡 신호가 아니므로 한도에 반영하지 않음
+ * 현재 한도/실행 중 호출 수는 ai.llm.concurrency.limit / ai.llm.concurrency.in-flight 게이지로 노출한다.
+ * maxWait 안에 슬롯을 얻지 못하면 AiSaturatedEx (429 가 아니므로 ApiKeyRateLimiter 가 재시도하지 않음)
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final long DECREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotReleased = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseAt = System.nanoTime() - DECREASE_INTERVAL_NANOS;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+            @Value("${app.ai.concurrency.initial-limit:4}") int initialLimit,
+            @Value("${app.ai.concurrency.min-limit:1}") int minLimit,
+            @Value("${app.ai.concurrency.max-limit:32}") int maxLimit,
+            @Value("${app.ai.concurrency.latency-threshold-ms:45000}") long latencyThresholdMillis,
+            @Value("${app.ai.concurrency.backoff-ratio:0.7}") double backoffRatio,
+            @Value("${app.ai.concurrency.max-wait-seconds:300}") long maxWaitSeconds) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.maxWaitNanos = TimeUnit.SECONDS.toNanos(maxWaitSeconds);
+
+        Gauge.builder("ai.llm.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for LLM calls")
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("LLM calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.IGNORED;
+        try {
+            T result = call.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = LlmFailures.isOverload(e) ? Outcome.OVERLOAD : Outcome.IGNORED;
+            throw e;
+        } finally {
+            release(System.nanoTime() - start, outcome);
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    throw new AiSaturatedEx("Timed out waiting for an LLM concurrency slot");
+                }
+                remaining = slotReleased.awaitNanos(remaining);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiSaturatedEx("Interrupted while waiting for an LLM concurrency slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            int inFlightBefore = inFlight;
+            inFlight--;
+
+            if (outcome == Outcome.OVERLOAD || (outcome == Outcome.SUCCESS && latencyNanos > latencyThresholdNanos)) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseAt >= DECREASE_INTERVAL_NANOS) {
+                    double previous = limit;
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseAt = now;
+                    log.warn("LLM concurrency limit decreased {} -> {} ({}, latency {} ms)", (int) previous,
+                            (int) limit, outcome, TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+                }
+            } else if (outcome == Outcome.SUCCESS && inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS, OVERLOAD, IGNORED
+    }
+}
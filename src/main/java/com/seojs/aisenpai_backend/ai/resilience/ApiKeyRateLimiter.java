@@ -0,0 +1,229 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seojs.aisenpai_backend.exception.OpenAiRateLimitEx;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.RateLimit;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * API 키별 LLM 호출 제한기
+ *
+ * - 키별 동시 호출 수 제한 (초과 호출은 대기열에서 순서대로 대기)
+ * - 응답 헤더(x-ratelimit-*)로 받은 남은 요청/토큰 수가 부족하면 리셋 시각까지 대기
+ * - 429 응답은 Retry-After 또는 지수 백오프(+jitter) 후 재시도하고, 같은 키의 다른 호출도 함께 대기시킨다
+ */
+@Slf4j
+@Component
+public class ApiKeyRateLimiter {
+
+    private static final long BASE_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long MAX_RETRY_AFTER_MILLIS = 60_000;
+
+    @Value("${app.ai.rate-limit.max-concurrent-per-key:4}")
+    private int maxConcurrentPerKey;
+
+    @Value("${app.ai.rate-limit.max-retries:4}")
+    private int maxRetries;
+
+    @Value("${app.ai.rate-limit.max-wait-seconds:180}")
+    private long maxWaitSeconds;
+
+    // 키 원문 대신 SHA-256 지문으로 상태 보관
+    private final Cache<String, KeyState> states = Caffeine.newBuilder()
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .maximumSize(10_000)
+            .build();
+
+    /**
+     * 제한에 맞춰 call 을 실행 (필요 시 대기 / 429 재시도)
+     */
+    public ChatResponse execute(String apiKey, int estimatedTokens, Supplier<ChatResponse> call) {
+        KeyState state = states.get(fingerprint(apiKey), key -> new KeyState(maxConcurrentPerKey));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxWaitSeconds);
+
+        for (int attempt = 0;; attempt++) {
+            state.acquire(estimatedTokens, deadline);
+            try {
+                ChatResponse response = call.get();
+                if (response != null && response.getMetadata() != null) {
+                    state.update(response.getMetadata().getRateLimit());
+                }
+                return response;
+            } catch (OpenAiRateLimitEx e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                long backoffMillis = backoffMillis(attempt, e.getRetryAfter());
+                state.blockFor(backoffMillis);
+                log.warn("OpenAI rate limited (attempt {}/{}), retrying in {} ms", attempt + 1, maxRetries,
+                        backoffMillis);
+            } finally {
+                state.release();
+            }
+        }
+    }
+
+    /**
+     * 대기 없이 같은 키의 호출 슬롯 하나와 요청/토큰 한도를 차지 (헤지 요청용)
+     * 바로 쓸 수 없으면 null, 차지했으면 호출이 끝난 뒤 슬롯을 반납할 Runnable (요청/토큰 선차감은 되돌리지 않음)
+     */
+    public Runnable tryReserve(String apiKey, int estimatedTokens) {
+        KeyState state = states.get(fingerprint(apiKey), key -> new KeyState(maxConcurrentPerKey));
+        return state.tryAcquire(estimatedTokens) ? state::release : null;
+    }
+
+    static long backoffMillis(int attempt, Duration retryAfter) {
+        if (retryAfter != null && !retryAfter.isNegative() && !retryAfter.isZero()) {
+            return Math.min(retryAfter.toMillis(), MAX_RETRY_AFTER_MILLIS);
+        }
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt, 10));
+        // full jitter - 같은 시점에 막힌 호출들이 동시에 재시도하지 않도록 분산
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    private static String fingerprint(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(apiKey).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 키 하나의 제한 상태 (남은 값이 -1 이면 아직 모름)
+     */
+    static final class KeyState {
+        private final Semaphore permits;
+        private long requestsRemaining = -1;
+        private long requestsResetAt;
+        private long tokensRemaining = -1;
+        private long tokensResetAt;
+        private long blockedUntil = System.nanoTime();
+
+        KeyState(int maxConcurrent) {
+            this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        }
+
+        void acquire(int estimatedTokens, long deadline) {
+            boolean acquired = false;
+            try {
+                if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new OpenAiRateLimitEx("Timed out waiting for an OpenAI call slot");
+                }
+                acquired = true;
+                while (true) {
+                    long waitNanos = reserve(estimatedTokens, System.nanoTime());
+                    if (waitNanos <= 0) {
+                        return;
+                    }
+                    if (System.nanoTime() + waitNanos - deadline > 0) {
+                        permits.release();
+                        throw new OpenAiRateLimitEx("OpenAI rate limit wait exceeds the queue deadline",
+                                Duration.ofNanos(waitNanos));
+                    }
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            } catch (InterruptedException e) {
+                // 제한 대기 중 인터럽트 - 이미 받은 슬롯은 반납
+                if (acquired) {
+                    permits.release();
+                }
+                Thread.currentThread().interrupt();
+                throw new OpenAiRateLimitEx("Interrupted while waiting for OpenAI rate limit");
+            }
+        }
+
+        boolean tryAcquire(int estimatedTokens) {
+            if (!permits.tryAcquire()) {
+                return false;
+            }
+            if (reserve(estimatedTokens, System.nanoTime()) > 0) {
+                permits.release();
+                return false;
+            }
+            return true;
+        }
+
+        void release() {
+            permits.release();
+        }
+
+        int availablePermits() {
+            return permits.availablePermits();
+        }
+
+        /**
+         * 호출 가능하면 남은 요청/토큰을 선차감하고 0, 아니면 기다려야 할 나노초 반환
+         */
+        synchronized long reserve(int estimatedTokens, long now) {
+            if (now - blockedUntil < 0) {
+                return blockedUntil - now;
+            }
+            if (requestsRemaining >= 0 && now - requestsResetAt >= 0) {
+                requestsRemaining = -1;
+            }
+            if (tokensRemaining >= 0 && now - tokensResetAt >= 0) {
+                tokensRemaining = -1;
+            }
+            if (requestsRemaining == 0) {
+                return requestsResetAt - now;
+            }
+            if (tokensRemaining >= 0 && tokensRemaining < estimatedTokens) {
+                return tokensResetAt - now;
+            }
+
+            if (requestsRemaining > 0) {
+                requestsRemaining--;
+            }
+            if (tokensRemaining > 0) {
+                tokensRemaining = Math.max(0, tokensRemaining - estimatedTokens);
+            }
+            return 0;
+        }
+
+        synchronized void update(RateLimit rateLimit) {
+            if (rateLimit == null || rateLimit.getRequestsLimit() == null || rateLimit.getRequestsLimit() <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            requestsRemaining = orUnknown(rateLimit.getRequestsRemaining());
+            requestsResetAt = now + toNanos(rateLimit.getRequestsReset());
+            if (rateLimit.getTokensLimit() != null && rateLimit.getTokensLimit() > 0) {
+                tokensRemaining = orUnknown(rateLimit.getTokensRemaining());
+                tokensResetAt = now + toNanos(rateLimit.getTokensReset());
+            }
+        }
+
+        synchronized void blockFor(long millis) {
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+            if (until - blockedUntil > 0) {
+                blockedUntil = until;
+            }
+        }
+
+        private static long orUnknown(Long value) {
+            return value == null ? -1 : value;
+        }
+
+        private static long toNanos(Duration duration) {
+            return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출 헤징 (opt-in)
+ *
+ * 최근 성공 지연의 percentile 시점까지 응답이 없으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 사용한다.
+ * 호출마다 budgetRatio 만큼 적립되는 토큰 버킷으로 헤지 비율을 제한하며 (기본 10%),
+ * 표본이 MIN_SAMPLES 개 미만이면 헤징하지 않는다. 늦은 쪽 요청은 취소하지 않고 끝나면 결과(와 지연)를 버린다.
+ * 헤지 요청은 hedgeReservation 으로 키별 한도를 대기 없이 따로 차지할 수 있을 때만 보낸다. (한도에 가까우면 헤징 생략)
+ */
+@Slf4j
+@Component
+public class HedgedRequestExecutor {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final double MAX_BUDGET_TOKENS = 10.0;
+    private static final Runnable NO_RESERVATION = () -> {
+    };
+
+    private final Executor executor;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final double budgetRatio;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+
+    // 최근 성공 지연(ms) 원형 버퍼
+    private final long[] latencies;
+    private int latencyIndex;
+    private int latencyCount;
+    private double budgetTokens;
+
+    public HedgedRequestExecutor(@Qualifier("llmHedgeExecutor") Executor executor, MeterRegistry meterRegistry,
+            @Value("${app.ai.hedging.enabled:false}") boolean enabled,
+            @Value("${app.ai.hedging.percentile:0.95}") double percentile,
+            @Value("${app.ai.hedging.min-delay-ms:5000}") long minDelayMillis,
+            @Value("${app.ai.hedging.budget-ratio:0.1}") double budgetRatio,
+            @Value("${app.ai.hedging.window-size:200}") int windowSize) {
+        this.executor = executor;
+        this.enabled = enabled;
+        this.percentile = Math.min(0.999, Math.max(0.5, percentile));
+        this.minDelayMillis = minDelayMillis;
+        this.budgetRatio = budgetRatio;
+        this.latencies = new long[Math.max(MIN_SAMPLES, windowSize)];
+        this.hedgesFired = Counter.builder("ai.llm.hedge.fired")
+                .description("Hedged LLM requests sent")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("ai.llm.hedge.won")
+                .description("Hedged LLM requests that returned first")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, () -> NO_RESERVATION);
+    }
+
+    /**
+     * hedgeReservation: 헤지 직전에 호출 - 한도를 차지했으면 헤지 요청이 끝난 뒤 실행할 반납 Runnable, 여유가 없으면 null
+     */
+    public <T> T execute(Supplier<T> call, Supplier<Runnable> hedgeReservation) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        long delayMillis;
+        synchronized (this) {
+            budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + budgetRatio);
+            delayMillis = hedgeDelayMillis();
+        }
+        if (delayMillis < 0) {
+            long start = System.nanoTime();
+            T result = call.get();
+            recordLatency(System.nanoTime() - start);
+            return result;
+        }
+
+        Race<T> race = new Race<>();
+        try {
+            launch(call, race, false);
+        } catch (RejectedExecutionException e) {
+            return call.get();
+        }
+
+        try {
+            return race.result.get(delayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (tryConsumeBudget()) {
+                hedge(call, race, hedgeReservation, delayMillis);
+            }
+            return await(race);
+        } catch (InterruptedException | ExecutionException e) {
+            return rethrow(e);
+        }
+    }
+
+    private <T> void hedge(Supplier<T> call, Race<T> race, Supplier<Runnable> hedgeReservation, long delayMillis) {
+        Runnable release = hedgeReservation.get();
+        if (release == null) {
+            refundBudget();
+            log.debug("Skipping LLM hedge: no per-key capacity available");
+            return;
+        }
+        if (!race.addAttempt()) {
+            release.run();
+            return;
+        }
+        try {
+            launch(() -> {
+                try {
+                    return call.get();
+                } finally {
+                    release.run();
+                }
+            }, race, true);
+            hedgesFired.increment();
+            log.debug("Hedging LLM request after {} ms", delayMillis);
+        } catch (RejectedExecutionException rejected) {
+            release.run();
+            race.attemptFailed(rejected);
+        }
+    }
+
+    private <T> void launch(Supplier<T> call, Race<T> race, boolean hedge) {
+        long start = System.nanoTime();
+        CompletableFuture.supplyAsync(call, executor).whenComplete((value, error) -> {
+            if (error == null) {
+                // 늦게 끝난 쪽 지연까지 넣으면 percentile 이 느린 쪽으로 치우침 - 이긴 시도만 기록
+                if (race.result.complete(value)) {
+                    recordLatency(System.nanoTime() - start);
+                    if (hedge) {
+                        hedgesWon.increment();
+                    }
+                }
+            } else {
+                race.attemptFailed(error);
+            }
+        });
+    }
+
+    private <T> T await(Race<T> race) {
+        try {
+            return race.result.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return rethrow(e);
+        }
+    }
+
+    private static <T> T rethrow(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for LLM response", e);
+        }
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    private synchronized boolean tryConsumeBudget() {
+        if (budgetTokens < 1.0) {
+            return false;
+        }
+        budgetTokens -= 1.0;
+        return true;
+    }
+
+    private synchronized void refundBudget() {
+        budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + 1.0);
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[latencyIndex] = TimeUnit.NANOSECONDS.toMillis(nanos);
+        latencyIndex = (latencyIndex + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+    }
+
+    /**
+     * 최근 지연의 percentile (ms) - 표본 부족 시 -1
+     */
+    synchronized long hedgeDelayMillis() {
+        if (latencyCount < MIN_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * latencyCount) - 1;
+        return Math.max(minDelayMillis, sorted[Math.max(0, rank)]);
+    }
+
+    /**
+     * 원 요청 + 헤지 요청 중 먼저 성공한 결과, 모두 실패하면 마지막 오류
+     */
+    private static final class Race<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        /**
+         * 아직 진행 중인 시도가 있을 때만 헤지 시도를 추가
+         */
+        boolean addAttempt() {
+            int current;
+            do {
+                current = pending.get();
+                if (current == 0 || result.isDone()) {
+                    return false;
+                }
+            } while (!pending.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void attemptFailed(Throwable error) {
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
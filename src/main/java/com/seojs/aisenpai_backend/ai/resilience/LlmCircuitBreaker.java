@@ -0,0 +1,169 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import com.seojs.aisenpai_backend.exception.AiUnavailableEx;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * LLM provider 장애 감지용 서킷 브레이커 (최근 N 회 호출 결과 기반)
+ *
+ * CLOSED: 최근 windowSize 회 중 minimumCalls 이상 기록되고 실패율이 threshold 이상이면 OPEN
+ * OPEN: openDuration 동안 호출 없이 즉시 AiUnavailableEx, 이후 HALF_OPEN
+ * HALF_OPEN: halfOpenProbes 개의 호출만 통과시켜 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * 실패는 타임아웃/연결 실패/5xx 만 센다 (LlmFailures.isOverload).
+ */
+@Slf4j
+@Component
+public class LlmCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+
+    // 최근 호출 결과 원형 버퍼 (true: 실패)
+    private final boolean[] window;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public LlmCircuitBreaker(MeterRegistry meterRegistry,
+            @Value("${app.ai.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${app.ai.circuit-breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${app.ai.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${app.ai.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds,
+            @Value("${app.ai.circuit-breaker.half-open-probes:1}") int halfOpenProbes) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = TimeUnit.SECONDS.toNanos(openDurationSeconds);
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.window = new boolean[this.windowSize];
+
+        Gauge.builder("ai.llm.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("LLM circuit breaker state (0: closed, 1: open, 2: half-open)")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        boolean probe = acquirePermission();
+        try {
+            T result = call.get();
+            onResult(probe, false);
+            return result;
+        } catch (RuntimeException e) {
+            if (LlmFailures.isOverload(e)) {
+                onResult(probe, true);
+            } else {
+                onIgnored(probe);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 지금 새 작업을 보내도 되는지 (상태를 바꾸거나 probe 슬롯을 차지하지 않음)
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openedAt >= openDurationNanos;
+            case HALF_OPEN -> probesInFlight < halfOpenProbes;
+        };
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 호출 허용 여부 확인 - 반환값은 half-open probe 호출인지 여부
+     */
+    private synchronized boolean acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDurationNanos) {
+                throw new AiUnavailableEx("LLM provider circuit is open");
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                throw new AiUnavailableEx("LLM provider circuit is half-open, probe in progress");
+            }
+            probesInFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void onResult(boolean probe, boolean failed) {
+        if (probe) {
+            probesInFlight--;
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            if (failed) {
+                transitionTo(State.OPEN);
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recorded == windowSize && window[windowIndex]) {
+            failures--;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+        recorded = Math.min(recorded + 1, windowSize);
+
+        if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private synchronized void onIgnored(boolean probe) {
+        if (probe) {
+            probesInFlight--;
+        }
+    }
+
+    private void transitionTo(State next) {
+        if (state == next) {
+            return;
+        }
+        log.warn("LLM circuit breaker {} -> {} (failures {}/{})", state, next, failures, recorded);
+        state = next;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next == State.CLOSED) {
+            windowIndex = 0;
+            recorded = 0;
+            failures = 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import com.seojs.aisenpai_backend.exception.OpenAiRateLimitEx;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+
+/**
+ * LLM 호출 오류 분류
+ */
+public final class LlmFailures {
+
+    private LlmFailures() {
+    }
+
+    /**
+     * provider 장애/혼잡을 나타내는 오류인지 (타임아웃, 연결 실패, 5xx)
+     * 429(키별 제한)와 4xx 는 provider 상태와 무관하므로 제외
+     */
+    public static boolean isOverload(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OpenAiRateLimitEx) {
+                return false;
+            }
+            if (t instanceof TransientAiException || t instanceof ResourceAccessException
+                    || t instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,29 +1,148 @@
 package com.seojs.aisenpai_backend.ai.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojs.aisenpai_backend.ai.resilience.AdaptiveConcurrencyLimiter;
+import com.seojs.aisenpai_backend.ai.resilience.ApiKeyRateLimiter;
+import com.seojs.aisenpai_backend.ai.resilience.HedgedRequestExecutor;
+import com.seojs.aisenpai_backend.ai.resilience.LlmCircuitBreaker;
+import com.seojs.aisenpai_backend.ai.stream.StreamingReviewParser;
+import com.seojs.aisenpai_backend.exception.AiUnavailableEx;
+import com.seojs.aisenpai_backend.exception.OpenAiRateLimitEx;
+import com.seojs.aisenpai_backend.github.dto.ReviewCommentDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class AiService {
 
+    private final TokenEstimationService tokenEstimationService;
+    private final ApiKeyRateLimiter apiKeyRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final ObjectMapper objectMapper;
+
+    // 청크 사이 무응답 한도 (동기 호출의 read timeout 과 동일)
+    private static final Duration STREAM_IDLE_TIMEOUT = Duration.ofSeconds(120);
+
     public String callAiChat(String apiKey, String systemPrompt, String userPrompt, String model, Double temperature) {
         String actualModel = (model != null) ? model : "gpt-4o-mini";
         double actualTemp = (temperature != null) ? temperature : 0.7;
 
         log.info("AI review started with model: {}", actualModel);
 
+        ChatClient customClient = buildClient(apiKey, actualModel, actualTemp);
+
+        // 서킷이 열려 있으면 대기 없이 즉시 실패 (AiUnavailableEx)
+        // 키별 RPM/TPM 제한에 맞춰 대기 후 호출, 429 는 백오프 재시도
+        // 응답이 늦으면 (opt-in) 같은 요청을 한 번 더 보내 먼저 온 응답 사용
+        // - 헤지 요청도 같은 키의 슬롯/RPM/TPM 을 따로 차지하며, 대기 없이 얻을 수 없으면 헤징하지 않음
+        // 실제 요청은 전역 적응형 동시성 한도 안에서만 실행 (키별 대기 중에는 슬롯을 점유하지 않음)
+        int estimatedTokens = tokenEstimationService.countChatTokens(systemPrompt, userPrompt, actualModel);
+        ChatResponse response = circuitBreaker.execute(() -> apiKeyRateLimiter.execute(apiKey, estimatedTokens,
+                () -> hedgedRequestExecutor.execute(() -> concurrencyLimiter.execute(() -> customClient.prompt()
+                        .system(systemPrompt)
+                        .user(userPrompt)
+                        .call()
+                        .chatResponse()),
+                        () -> apiKeyRateLimiter.tryReserve(apiKey, estimatedTokens))));
+
+        log.info("AI review completed");
+        return response == null || response.getResult() == null ? null : response.getResult().getOutput().getText();
+    }
+
+    /**
+     * 스트리밍 모드 리뷰 호출 - comments 배열의 코멘트가 완성될 때마다 onComment 로 전달하고 전체 응답 텍스트를 반환
+     * 같은 요청을 중복 전송하면 코멘트가 두 번 전달되므로 헤징은 적용하지 않는다
+     */
+    public String streamAiChat(String apiKey, String systemPrompt, String userPrompt, String model,
+            Double temperature, Consumer<ReviewCommentDto> onComment) {
+        String actualModel = (model != null) ? model : "gpt-4o-mini";
+        double actualTemp = (temperature != null) ? temperature : 0.7;
+
+        log.info("AI review stream started with model: {}", actualModel);
+
+        ChatClient customClient = buildClient(apiKey, actualModel, actualTemp);
+
+        int estimatedTokens = tokenEstimationService.countChatTokens(systemPrompt, userPrompt, actualModel);
+        AtomicReference<StreamingReviewParser> lastAttempt = new AtomicReference<>();
+        circuitBreaker.execute(() -> apiKeyRateLimiter.execute(apiKey, estimatedTokens,
+                () -> concurrencyLimiter.execute(() -> {
+                    StreamingReviewParser parser = new StreamingReviewParser(objectMapper, onComment);
+                    lastAttempt.set(parser);
+                    return customClient.prompt()
+                            .system(systemPrompt)
+                            .user(userPrompt)
+                            .stream()
+                            .chatResponse()
+                            .timeout(STREAM_IDLE_TIMEOUT)
+                            .doOnNext(chunk -> parser.feed(textOf(chunk)))
+                            .onErrorMap(AiService::translateStreamError)
+                            .blockLast();
+                })));
+
+        StreamingReviewParser parser = lastAttempt.get();
+        log.info("AI review stream completed ({} comments streamed)", parser.getEmitted());
+        return parser.getText();
+    }
+
+    public boolean validateApiKey(String apiKey) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return false;
+        }
+        try {
+            // 최소 토큰으로 API 호출 시도 - 서킷/동시성/키별 한도를 거치지 않음 (서킷이 열렸다고 유효한 키를 거절하지 않도록)
+            buildClient(apiKey, "gpt-4o-mini", 0.1).prompt()
+                    .system("Validation")
+                    .user("ping")
+                    .call()
+                    .chatResponse();
+            return true;
+        } catch (OpenAiRateLimitEx e) {
+            // 인증은 통과한 키
+            return true;
+        } catch (TransientAiException | ResourceAccessException e) {
+            throw new AiUnavailableEx("Could not validate the OpenAI API key: " + e.getMessage(), e);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private ChatClient buildClient(String apiKey, String model, double temperature) {
         SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
         requestFactory.setReadTimeout(120 * 1000);
-        requestFactory.setConnectTimeout(60 * 1000);
+        requestFactory.setConnectTimeout(10 * 1000);
 
         RestClient.Builder restClientBuilder = RestClient
                 .builder()
@@ -32,40 +151,103 @@ public class AiService {
         OpenAiApi userApi = OpenAiApi.builder()
                 .apiKey(apiKey)
                 .restClientBuilder(restClientBuilder)
+                .responseErrorHandler(RATE_LIMIT_AWARE_ERROR_HANDLER)
                 .build();
 
         OpenAiChatOptions options = OpenAiChatOptions.builder()
-                .model(actualModel)
-                .temperature(actualTemp)
+                .model(model)
+                .temperature(temperature)
                 .build();
 
         OpenAiChatModel customModel = OpenAiChatModel.builder()
                 .openAiApi(userApi)
                 .defaultOptions(options)
+                .retryTemplate(TRANSIENT_RETRY_TEMPLATE)
                 .build();
 
-        ChatClient customClient = ChatClient.builder(customModel).build();
+        return ChatClient.builder(customModel).build();
+    }
 
-        String result = customClient.prompt()
-                .system(systemPrompt)
-                .user(userPrompt)
-                .call()
-                .content();
+    private static String textOf(ChatResponse chunk) {
+        if (chunk == null || chunk.getResult() == null || chunk.getResult().getOutput() == null) {
+            return null;
+        }
+        return chunk.getResult().getOutput().getText();
+    }
 
-        log.info("AI review completed");
-        return result;
+    /**
+     * 스트리밍은 WebClient 경로라 RATE_LIMIT_AWARE_ERROR_HANDLER 가 적용되지 않으므로 같은 규칙으로 변환
+     * (429: OpenAiRateLimitEx, 쿼터 소진/4xx: NonTransient, 5xx/연결 오류/무응답: Transient)
+     */
+    private static Throwable translateStreamError(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            String message = e.getStatusCode().value() + " - " + e.getResponseBodyAsString();
+            if (e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                if (message.contains("insufficient_quota")) {
+                    return new NonTransientAiException(message);
+                }
+                return new OpenAiRateLimitEx(message, parseRetryAfter(e.getHeaders()));
+            }
+            return e.getStatusCode().is4xxClientError()
+                    ? new NonTransientAiException(message)
+                    : new TransientAiException(message);
+        }
+        if (error instanceof WebClientRequestException || error instanceof TimeoutException) {
+            return new TransientAiException("LLM stream failed: " + error.getMessage());
+        }
+        return error;
     }
 
-    public boolean validateApiKey(String apiKey) {
-        if (apiKey == null || apiKey.isBlank()) {
-            return false;
+    /**
+     * 5xx/연결 오류 재시도는 1회만 (기본값은 최대 10회, 수 분간 워커를 붙잡음)
+     * 장애가 지속되면 서킷 브레이커가 열리고 리뷰는 재시도 대기 상태로 전환된다
+     */
+    private static final RetryTemplate TRANSIENT_RETRY_TEMPLATE = RetryTemplate.builder()
+            .maxAttempts(2)
+            .fixedBackoff(1000)
+            .retryOn(TransientAiException.class)
+            .retryOn(ResourceAccessException.class)
+            .build();
+
+    /**
+     * 429 는 재시도 가능한 OpenAiRateLimitEx 로 변환 (쿼터 소진은 재시도해도 소용없으므로 제외)
+     * 그 외 오류는 Spring AI 기본 처리(4xx: NonTransient, 5xx: Transient)를 따름
+     */
+    private static final ResponseErrorHandler RATE_LIMIT_AWARE_ERROR_HANDLER = new ResponseErrorHandler() {
+        @Override
+        public boolean hasError(ClientHttpResponse response) throws IOException {
+            return response.getStatusCode().isError();
         }
+
+        @Override
+        public void handleError(URI url, HttpMethod method, ClientHttpResponse response) throws IOException {
+            if (response.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER.handleError(url, method, response);
+                return;
+            }
+
+            String body = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+            String message = "429 - " + body;
+            if (body.contains("insufficient_quota")) {
+                throw new NonTransientAiException(message);
+            }
+            throw new OpenAiRateLimitEx(message, parseRetryAfter(response.getHeaders()));
+        }
+    };
+
+    private static Duration parseRetryAfter(HttpHeaders headers) {
         try {
-            // 최소 토큰으로 API 호출 시도
-            callAiChat(apiKey, "Validation", "ping", "gpt-4o-mini", 0.1);
-            return true;
-        } catch (Exception e) {
-            return false;
+            String millis = headers.getFirst("retry-after-ms");
+            if (millis != null) {
+                return Duration.ofMillis((long) Double.parseDouble(millis.trim()));
+            }
+            String seconds = headers.getFirst("retry-after");
+            if (seconds != null) {
+                return Duration.ofMillis((long) (Double.parseDouble(seconds.trim()) * 1000));
+            }
+        } catch (NumberFormatException e) {
+            // HTTP-date 형식 등은 무시하고 지수 백오프 사용
         }
+        return null;
     }
 }
@@ -0,0 +1,88 @@
+package com.seojs.aisenpai_backend.ai.service;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * 로컬 토크나이저(jtokkit) 기반 프롬프트 토큰 추정 및 모델별 컨텍스트 한도 조회
+ */
+@Service
+public class TokenEstimationService {
+
+    public static final String DEFAULT_MODEL = "gpt-4o-mini";
+
+    // chat 포맷 오버헤드 (메시지당 역할/구분자 + 응답 프라이밍)
+    private static final int TOKENS_PER_MESSAGE = 4;
+    private static final int REPLY_PRIMING_TOKENS = 3;
+    private static final int DEFAULT_CONTEXT_WINDOW = 128_000;
+
+    private final EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+
+    @Value("${app.review.reserved-output-tokens:8000}")
+    private int reservedOutputTokens;
+
+    public int countTokens(String text, String model) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return encodingFor(model).countTokensOrdinary(text);
+    }
+
+    /**
+     * system + user 두 메시지로 구성된 chat 요청의 입력 토큰 수
+     */
+    public int countChatTokens(String systemPrompt, String userPrompt, String model) {
+        return countTokens(systemPrompt, model) + countTokens(userPrompt, model)
+                + 2 * TOKENS_PER_MESSAGE + REPLY_PRIMING_TOKENS;
+    }
+
+    /**
+     * 응답용 토큰을 제외하고 입력에 쓸 수 있는 토큰 수
+     */
+    public int inputBudget(String model) {
+        return Math.max(0, contextWindow(model) - reservedOutputTokens);
+    }
+
+    public int contextWindow(String model) {
+        String name = normalize(model);
+        if (name.startsWith("gpt-4.1")) {
+            return 1_047_576;
+        }
+        if (name.startsWith("gpt-5")) {
+            return 400_000;
+        }
+        if (name.startsWith("o1") || name.startsWith("o3") || name.startsWith("o4")) {
+            return 200_000;
+        }
+        if (name.startsWith("gpt-4o") || name.startsWith("gpt-4-turbo")) {
+            return 128_000;
+        }
+        if (name.startsWith("gpt-4-32k")) {
+            return 32_768;
+        }
+        if (name.startsWith("gpt-4")) {
+            return 8_192;
+        }
+        if (name.startsWith("gpt-3.5")) {
+            return 16_385;
+        }
+        return DEFAULT_CONTEXT_WINDOW;
+    }
+
+    private Encoding encodingFor(String model) {
+        String name = normalize(model);
+        boolean legacy = name.startsWith("gpt-3.5")
+                || (name.startsWith("gpt-4") && !name.startsWith("gpt-4o") && !name.startsWith("gpt-4.1"));
+        return registry.getEncoding(legacy ? EncodingType.CL100K_BASE : EncodingType.O200K_BASE);
+    }
+
+    private String normalize(String model) {
+        return (model == null || model.isBlank() ? DEFAULT_MODEL : model).toLowerCase(Locale.ROOT);
+    }
+}
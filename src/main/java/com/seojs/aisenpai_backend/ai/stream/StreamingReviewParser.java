@@ -0,0 +1,126 @@
+package com.seojs.aisenpai_backend.ai.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojs.aisenpai_backend.github.dto.ReviewCommentDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍 응답용 증분 JSON 파서
+ *
+ * 청크를 이어 붙이면서 문자열/이스케이프/중첩 깊이만 추적하고, 최상위 "comments" 배열의 원소 객체가
+ * 닫히는 즉시 그 구간만 ReviewCommentDto 로 역직렬화해 전달한다. (이미 스캔한 문자는 다시 보지 않음)
+ * JSON 앞뒤의 마크다운 코드 블록 등 구조 밖 문자는 무시하며, 전체 응답 검증은 스트림 종료 후 기존 파싱이 담당한다.
+ */
+@Slf4j
+public final class StreamingReviewParser {
+
+    private static final String COMMENTS_KEY = "comments";
+    // 최상위 문자열은 키 판별용으로만 보관 (긴 generalReview 값은 복사하지 않음)
+    private static final int MAX_KEY_LENGTH = 32;
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<ReviewCommentDto> onComment;
+    private final StringBuilder text = new StringBuilder();
+
+    private int scanned;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private int stringStart;
+    private String lastTopLevelString;
+    private boolean inComments;
+    private int objectStart = -1;
+    private int emitted;
+
+    public StreamingReviewParser(ObjectMapper objectMapper, Consumer<ReviewCommentDto> onComment) {
+        this.objectMapper = objectMapper;
+        this.onComment = onComment;
+    }
+
+    public void feed(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        text.append(chunk);
+
+        for (; scanned < text.length(); scanned++) {
+            char c = text.charAt(scanned);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 1) {
+                        int length = scanned - stringStart - 1;
+                        lastTopLevelString = length <= MAX_KEY_LENGTH
+                                ? text.substring(stringStart + 1, scanned)
+                                : null;
+                    }
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    stringStart = scanned;
+                }
+                case '[' -> {
+                    if (depth == 1 && COMMENTS_KEY.equals(lastTopLevelString)) {
+                        inComments = true;
+                    }
+                    depth++;
+                }
+                case '{' -> {
+                    depth++;
+                    if (inComments && depth == 3) {
+                        objectStart = scanned;
+                    }
+                }
+                case '}' -> {
+                    if (inComments && depth == 3 && objectStart >= 0) {
+                        emit(text.substring(objectStart, scanned + 1));
+                        objectStart = -1;
+                    }
+                    depth = Math.max(0, depth - 1);
+                }
+                case ']' -> {
+                    if (inComments && depth == 2) {
+                        inComments = false;
+                    }
+                    depth = Math.max(0, depth - 1);
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * 지금까지 받은 전체 응답 텍스트
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    public int getEmitted() {
+        return emitted;
+    }
+
+    private void emit(String json) {
+        ReviewCommentDto comment;
+        try {
+            comment = objectMapper.readValue(json, ReviewCommentDto.class);
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping malformed streamed comment: {}", e.getOriginalMessage());
+            return;
+        }
+        emitted++;
+        onComment.accept(comment);
+    }
+}
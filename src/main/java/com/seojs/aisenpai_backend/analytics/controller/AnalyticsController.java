@@ -1,13 +1,28 @@
 package com.seojs.aisenpai_backend.analytics.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojs.aisenpai_backend.analytics.dto.AnalyticsReportDto;
+import com.seojs.aisenpai_backend.analytics.dto.DailyVisitDto;
+import com.seojs.aisenpai_backend.analytics.dto.PageViewBatchDto;
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+import com.seojs.aisenpai_backend.analytics.dto.RankedCountDto;
+import com.seojs.aisenpai_backend.analytics.service.AnalyticsQueryService;
+import com.seojs.aisenpai_backend.analytics.service.PageViewRollupService;
+import com.seojs.aisenpai_backend.analytics.service.PageViewRollupService.Granularity;
 import com.seojs.aisenpai_backend.analytics.service.PageViewService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +34,9 @@ public class AnalyticsController {
     private static final int COOKIE_MAX_AGE = 60 * 60 * 24;
 
     private final PageViewService pageViewService;
+    private final PageViewRollupService pageViewRollupService;
+    private final AnalyticsQueryService analyticsQueryService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/pageview")
     public void recordPageView(
@@ -30,7 +48,71 @@ public class AnalyticsController {
         String ipAddress = getClientIp(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
 
-        pageViewService.recordPageView(sessionId, request.path(), ipAddress, userAgent);
+        pageViewService.recordPageView(sessionId, request.path(), request.referrer(), ipAddress, userAgent);
+    }
+
+    /**
+     * 페이지뷰 묶음 기록 (navigator.sendBeacon) - 쿠키/IP 처리는 묶음당 한 번
+     * sendBeacon 은 문자열 본문을 text/plain 으로 보내므로 (CORS preflight 없음) 본문을 직접 JSON 으로 읽는다.
+     */
+    @PostMapping(value = "/pageviews/batch",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE })
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void recordPageViewBatch(
+            @RequestBody String body,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+
+        PageViewBatchDto batch;
+        try {
+            batch = objectMapper.readValue(body, PageViewBatchDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid page view batch: " + e.getOriginalMessage());
+        }
+
+        String sessionId = getOrCreateSessionId(httpRequest, httpResponse);
+        String ipAddress = getClientIp(httpRequest);
+        String userAgent = httpRequest.getHeader("User-Agent");
+
+        pageViewService.recordPageViewBatch(sessionId, batch, ipAddress, userAgent);
+    }
+
+    /**
+     * 페이지뷰 시계열 (롤업 테이블 조회) - path 를 생략하면 전체 경로 합계
+     */
+    @GetMapping("/pageviews")
+    public List<PageViewSeriesDto> getPageViews(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") Granularity granularity,
+            @RequestParam(required = false) String path) {
+        return pageViewRollupService.getSeries(granularity, from, to, path);
+    }
+
+    /**
+     * 일별 PV/UV
+     */
+    @GetMapping("/visits")
+    public AnalyticsReportDto<DailyVisitDto> getDailyVisits(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyticsQueryService.getDailyVisits(from, to);
+    }
+
+    @GetMapping("/top-paths")
+    public AnalyticsReportDto<RankedCountDto> getTopPaths(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return analyticsQueryService.getTopPaths(from, to, limit);
+    }
+
+    @GetMapping("/top-referrers")
+    public AnalyticsReportDto<RankedCountDto> getTopReferrers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return analyticsQueryService.getTopReferrers(from, to, limit);
     }
 
     private String getOrCreateSessionId(HttpServletRequest request, HttpServletResponse response) {
@@ -61,6 +143,7 @@ public class AnalyticsController {
         return request.getRemoteAddr();
     }
 
-    public record PageViewRequest(String path) {
+    // referrer: 클라이언트의 document.referrer (랜딩 시에만 전송)
+    public record PageViewRequest(String path, String referrer) {
     }
 }
@@ -0,0 +1,21 @@
+package com.seojs.aisenpai_backend.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 분석 조회 결과 - finalized 면 기간 전체가 더 이상 바뀌지 않는 확정 데이터 (캐시 TTL 도 이 값으로 결정)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsReportDto<T> {
+    private LocalDate from;
+    private LocalDate to;
+    private boolean finalized;
+    private List<T> items;
+}
@@ -0,0 +1,19 @@
+package com.seojs.aisenpai_backend.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 PV / UV
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyVisitDto {
+    private LocalDate date;
+    private Long pageViews;
+    private Long uniqueVisitors;
+}
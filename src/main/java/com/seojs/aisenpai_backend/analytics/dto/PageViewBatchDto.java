@@ -0,0 +1,28 @@
+package com.seojs.aisenpai_backend.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 클라이언트가 모아서 보내는 페이지뷰 묶음 (navigator.sendBeacon 용)
+ * 시각은 모두 클라이언트 시계 기준 epoch millis - sentAt 과 서버 수신 시각의 차이로 시계 오차를 보정한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageViewBatchDto {
+    private Long sentAt;
+    private List<Event> events;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Event {
+        private String path;
+        private String referrer;
+        private Long timestamp;
+    }
+}
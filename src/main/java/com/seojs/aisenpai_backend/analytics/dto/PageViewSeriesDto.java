@@ -0,0 +1,18 @@
+package com.seojs.aisenpai_backend.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시계열 한 구간 (bucket: 시간 단위면 정각, 일 단위면 자정)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageViewSeriesDto {
+    private LocalDateTime bucket;
+    private Long pageViews;
+}
@@ -0,0 +1,16 @@
+package com.seojs.aisenpai_backend.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상위 N 보고서 한 줄 (key: 경로 또는 유입 도메인)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedCountDto {
+    private String key;
+    private Long pageViews;
+}
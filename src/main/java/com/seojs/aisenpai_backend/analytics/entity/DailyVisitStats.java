@@ -7,6 +7,7 @@ import java.time.LocalDate;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_visit_stats_stat_date", columnNames = "stat_date"))
 public class DailyVisitStats {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
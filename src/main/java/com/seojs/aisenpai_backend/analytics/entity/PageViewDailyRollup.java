@@ -0,0 +1,35 @@
+package com.seojs.aisenpai_backend.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * 일자 x 경로별 페이지뷰 집계
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_page_view_daily_rollup_date_path",
+        columnNames = { "stat_date", "path" }))
+public class PageViewDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false, length = 500)
+    private String path;
+
+    @Column(nullable = false)
+    private Long pageViews;
+
+    @Builder
+    public PageViewDailyRollup(LocalDate statDate, String path, Long pageViews) {
+        this.statDate = statDate;
+        this.path = path;
+        this.pageViews = pageViews;
+    }
+}
@@ -0,0 +1,35 @@
+package com.seojs.aisenpai_backend.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 시간(정각 시작) x 경로별 페이지뷰 집계
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_page_view_hourly_rollup_bucket_path",
+        columnNames = { "bucket_start", "path" }))
+public class PageViewHourlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, length = 500)
+    private String path;
+
+    @Column(nullable = false)
+    private Long pageViews;
+
+    @Builder
+    public PageViewHourlyRollup(LocalDateTime bucketStart, String path, Long pageViews) {
+        this.bucketStart = bucketStart;
+        this.path = path;
+        this.pageViews = pageViews;
+    }
+}
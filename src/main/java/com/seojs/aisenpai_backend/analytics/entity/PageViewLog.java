@@ -7,9 +7,15 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_page_view_log_viewed_at", columnList = "viewed_at, session_id"))
 public class PageViewLog {
+    // pooled 시퀀스 (JDBC 대량 적재도 같은 규칙으로 id 를 할당함)
+    public static final String ID_SEQUENCE = "page_view_log_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -28,10 +34,10 @@ public class PageViewLog {
     private String userAgent;
 
     @Builder
-    public PageViewLog(String sessionId, String path, String ipAddress, String userAgent) {
+    public PageViewLog(String sessionId, String path, LocalDateTime viewedAt, String ipAddress, String userAgent) {
         this.sessionId = sessionId;
         this.path = path;
-        this.viewedAt = LocalDateTime.now();
+        this.viewedAt = viewedAt != null ? viewedAt : LocalDateTime.now();
         this.ipAddress = ipAddress;
         this.userAgent = userAgent;
     }
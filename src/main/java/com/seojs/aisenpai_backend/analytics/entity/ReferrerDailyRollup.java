@@ -0,0 +1,35 @@
+package com.seojs.aisenpai_backend.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * 일자 x 유입 도메인(referrer host)별 페이지뷰 집계
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_referrer_daily_rollup_date_host",
+        columnNames = { "stat_date", "host" }))
+public class ReferrerDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false, length = 255)
+    private String host;
+
+    @Column(nullable = false)
+    private Long pageViews;
+
+    @Builder
+    public ReferrerDailyRollup(LocalDate statDate, String host, Long pageViews) {
+        this.statDate = statDate;
+        this.host = host;
+        this.pageViews = pageViews;
+    }
+}
@@ -0,0 +1,56 @@
+package com.seojs.aisenpai_backend.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일자(및 경로)별 고유 방문자 HyperLogLog 스케치
+ * pathKey 가 ALL_PATHS 면 사이트 전체
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_unique_visitor_sketch_date_path",
+        columnNames = { "stat_date", "path_key" }))
+public class UniqueVisitorSketch {
+    public static final String ALL_PATHS = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false, length = 500)
+    private String pathKey;
+
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(nullable = false, length = 16384)
+    private byte[] registers;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 여러 인스턴스가 같은 스케치를 동시에 병합할 때 덮어쓰기 방지
+    @Version
+    private Long version;
+
+    @Builder
+    public UniqueVisitorSketch(LocalDate statDate, String pathKey, byte[] registers) {
+        this.statDate = statDate;
+        this.pathKey = pathKey;
+        this.registers = registers;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void updateRegisters(byte[] registers) {
+        this.registers = registers;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
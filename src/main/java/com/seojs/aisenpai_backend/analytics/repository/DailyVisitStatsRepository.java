@@ -4,8 +4,13 @@ import com.seojs.aisenpai_backend.analytics.entity.DailyVisitStats;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface DailyVisitStatsRepository extends JpaRepository<DailyVisitStats, Long> {
     Optional<DailyVisitStats> findByStatDate(LocalDate statDate);
+
+    List<DailyVisitStats> findByStatDateBetween(LocalDate from, LocalDate to);
+
+    long countByStatDateBetween(LocalDate from, LocalDate to);
 }
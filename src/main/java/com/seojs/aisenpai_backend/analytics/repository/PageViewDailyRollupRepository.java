@@ -0,0 +1,8 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.entity.PageViewDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PageViewDailyRollupRepository extends JpaRepository<PageViewDailyRollup, Long>,
+        PageViewDailyRollupRepositoryCustom {
+}
@@ -0,0 +1,15 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+import com.seojs.aisenpai_backend.analytics.dto.RankedCountDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PageViewDailyRollupRepositoryCustom {
+    long addPageViews(LocalDate statDate, String path, long delta);
+
+    List<PageViewSeriesDto> findSeries(LocalDate from, LocalDate to, String path);
+
+    List<RankedCountDto> findTopPaths(LocalDate from, LocalDate to, int limit);
+}
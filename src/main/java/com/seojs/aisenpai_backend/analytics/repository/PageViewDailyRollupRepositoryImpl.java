@@ -0,0 +1,71 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+import com.seojs.aisenpai_backend.analytics.dto.RankedCountDto;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.seojs.aisenpai_backend.analytics.entity.QPageViewDailyRollup.pageViewDailyRollup;
+
+@RequiredArgsConstructor
+public class PageViewDailyRollupRepositoryImpl implements PageViewDailyRollupRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public long addPageViews(LocalDate statDate, String path, long delta) {
+        return queryFactory.update(pageViewDailyRollup)
+                .set(pageViewDailyRollup.pageViews, pageViewDailyRollup.pageViews.add(delta))
+                .where(
+                        pageViewDailyRollup.statDate.eq(statDate),
+                        pageViewDailyRollup.path.eq(path))
+                .execute();
+    }
+
+    /**
+     * [from, to] 구간 일별 페이지뷰 (path 가 null 이면 전체 경로 합계)
+     */
+    @Override
+    public List<PageViewSeriesDto> findSeries(LocalDate from, LocalDate to, String path) {
+        List<Tuple> rows = queryFactory
+                .select(pageViewDailyRollup.statDate, pageViewDailyRollup.pageViews.sum())
+                .from(pageViewDailyRollup)
+                .where(
+                        pageViewDailyRollup.statDate.goe(from),
+                        pageViewDailyRollup.statDate.loe(to),
+                        path != null ? pageViewDailyRollup.path.eq(path) : null)
+                .groupBy(pageViewDailyRollup.statDate)
+                .orderBy(pageViewDailyRollup.statDate.asc())
+                .fetch();
+
+        return rows.stream()
+                .map(row -> new PageViewSeriesDto(row.get(pageViewDailyRollup.statDate).atStartOfDay(),
+                        row.get(pageViewDailyRollup.pageViews.sum())))
+                .toList();
+    }
+
+    /**
+     * [from, to] 구간 경로별 페이지뷰 상위 limit 개
+     */
+    @Override
+    public List<RankedCountDto> findTopPaths(LocalDate from, LocalDate to, int limit) {
+        List<Tuple> rows = queryFactory
+                .select(pageViewDailyRollup.path, pageViewDailyRollup.pageViews.sum())
+                .from(pageViewDailyRollup)
+                .where(
+                        pageViewDailyRollup.statDate.goe(from),
+                        pageViewDailyRollup.statDate.loe(to))
+                .groupBy(pageViewDailyRollup.path)
+                .orderBy(pageViewDailyRollup.pageViews.sum().desc(), pageViewDailyRollup.path.asc())
+                .limit(limit)
+                .fetch();
+
+        return rows.stream()
+                .map(row -> new RankedCountDto(row.get(pageViewDailyRollup.path),
+                        row.get(pageViewDailyRollup.pageViews.sum())))
+                .toList();
+    }
+}
@@ -0,0 +1,8 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.entity.PageViewHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PageViewHourlyRollupRepository extends JpaRepository<PageViewHourlyRollup, Long>,
+        PageViewHourlyRollupRepositoryCustom {
+}
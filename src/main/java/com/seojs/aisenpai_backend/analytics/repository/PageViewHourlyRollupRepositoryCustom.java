@@ -0,0 +1,12 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PageViewHourlyRollupRepositoryCustom {
+    long addPageViews(LocalDateTime bucketStart, String path, long delta);
+
+    List<PageViewSeriesDto> findSeries(LocalDateTime from, LocalDateTime to, String path);
+}
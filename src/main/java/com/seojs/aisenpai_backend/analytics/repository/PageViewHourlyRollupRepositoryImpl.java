@@ -0,0 +1,48 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.seojs.aisenpai_backend.analytics.entity.QPageViewHourlyRollup.pageViewHourlyRollup;
+
+@RequiredArgsConstructor
+public class PageViewHourlyRollupRepositoryImpl implements PageViewHourlyRollupRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public long addPageViews(LocalDateTime bucketStart, String path, long delta) {
+        return queryFactory.update(pageViewHourlyRollup)
+                .set(pageViewHourlyRollup.pageViews, pageViewHourlyRollup.pageViews.add(delta))
+                .where(
+                        pageViewHourlyRollup.bucketStart.eq(bucketStart),
+                        pageViewHourlyRollup.path.eq(path))
+                .execute();
+    }
+
+    /**
+     * [from, to) 구간 시간별 페이지뷰 (path 가 null 이면 전체 경로 합계)
+     */
+    @Override
+    public List<PageViewSeriesDto> findSeries(LocalDateTime from, LocalDateTime to, String path) {
+        List<Tuple> rows = queryFactory
+                .select(pageViewHourlyRollup.bucketStart, pageViewHourlyRollup.pageViews.sum())
+                .from(pageViewHourlyRollup)
+                .where(
+                        pageViewHourlyRollup.bucketStart.goe(from),
+                        pageViewHourlyRollup.bucketStart.lt(to),
+                        path != null ? pageViewHourlyRollup.path.eq(path) : null)
+                .groupBy(pageViewHourlyRollup.bucketStart)
+                .orderBy(pageViewHourlyRollup.bucketStart.asc())
+                .fetch();
+
+        return rows.stream()
+                .map(row -> new PageViewSeriesDto(row.get(pageViewHourlyRollup.bucketStart),
+                        row.get(pageViewHourlyRollup.pageViews.sum())))
+                .toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.entity.PageViewLog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * page_view_log 대량 적재용 JDBC 저장소 (엔티티 단건 save 대신 한 번의 batch insert)
+ *
+ * id 는 Hibernate pooled 최적화와 같은 규칙으로 할당한다.
+ * 시퀀스 값 v 하나가 (v - ID_ALLOCATION_SIZE, v] 구간을 예약하므로 50 건당 시퀀스 조회 1회면 된다.
+ */
+@Repository
+public class PageViewLogJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO page_view_log "
+            + "(id, session_id, path, viewed_at, ip_address, user_agent) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+
+    // 현재 예약 구간에서 다음에 줄 id 와 구간 상한 (nextId > maxId 면 새 구간 필요)
+    private long nextId = 1;
+    private long maxId = 0;
+
+    public PageViewLogJdbcRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(PageViewLog.ID_SEQUENCE);
+    }
+
+    public void batchInsert(List<PageViewLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+
+        long[] ids = allocateIds(logs.size());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PageViewLog log = logs.get(i);
+                ps.setLong(1, ids[i]);
+                ps.setString(2, log.getSessionId());
+                ps.setString(3, log.getPath());
+                ps.setTimestamp(4, Timestamp.valueOf(log.getViewedAt()));
+                ps.setString(5, log.getIpAddress());
+                ps.setString(6, log.getUserAgent());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return logs.size();
+            }
+        });
+    }
+
+    private synchronized long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (nextId > maxId) {
+                long value = nextSequenceValue();
+                if (value < PageViewLog.ID_ALLOCATION_SIZE) {
+                    // 시퀀스 최초 값 - Hibernate 와 같이 한 번 더 조회해 [최초 값, 다음 값] 구간 사용
+                    nextId = value;
+                    maxId = nextSequenceValue();
+                } else {
+                    nextId = value - PageViewLog.ID_ALLOCATION_SIZE + 1;
+                    maxId = value;
+                }
+            }
+            ids[i] = nextId++;
+        }
+        return ids;
+    }
+
+    private long nextSequenceValue() {
+        Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        if (value == null) {
+            throw new IllegalStateException("Sequence " + PageViewLog.ID_SEQUENCE + " returned no value");
+        }
+        return value;
+    }
+}
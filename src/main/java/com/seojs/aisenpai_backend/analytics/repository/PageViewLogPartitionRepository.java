@@ -0,0 +1,170 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * page_view_log 파티션 관리용 JDBC 저장소
+ *
+ * Postgres 에서 db/postgres/004 스크립트로 viewed_at 범위 파티션 테이블로 전환된 경우에만 파티션 기능을 쓰고,
+ * 그 외(H2, 전환 전 Postgres)에는 일반 테이블로 보고 행 단위 삭제만 사용한다.
+ */
+@Repository
+public class PageViewLogPartitionRepository {
+
+    public static final String TABLE = "page_view_log";
+    public static final String DEFAULT_PARTITION = TABLE + "_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String PARTITIONED_SQL = "SELECT COUNT(*) FROM pg_partitioned_table p "
+            + "JOIN pg_class c ON c.oid = p.partrelid "
+            + "WHERE c.relname = '" + TABLE + "' AND c.relnamespace = current_schema()::regnamespace";
+    private static final String PARTITIONS_SQL = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) "
+            + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = (current_schema() || '." + TABLE + "')::regclass";
+    private static final String DEFAULT_DATES_SQL = "SELECT DISTINCT CAST(viewed_at AS date) FROM "
+            + DEFAULT_PARTITION + " ORDER BY 1";
+    private static final String OLDEST_VIEWED_AT_SQL = "SELECT MIN(viewed_at) FROM " + TABLE;
+    private static final String DELETE_CHUNK_SQL = "DELETE FROM " + TABLE + " WHERE id IN "
+            + "(SELECT id FROM " + TABLE + " WHERE viewed_at < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean partitioned;
+
+    public PageViewLogPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 이름과 상한(미포함)이 있는 범위 파티션 - DEFAULT 파티션은 포함하지 않음
+     */
+    public record Partition(String name, LocalDateTime upperBound) {
+    }
+
+    public boolean isPartitioned() {
+        Boolean cached = partitioned;
+        if (cached == null) {
+            cached = detectPartitioned();
+            partitioned = cached;
+        }
+        return cached;
+    }
+
+    public static String partitionName(LocalDate date) {
+        return TABLE + "_p" + date.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * [date, date + 1일) 파티션 생성 - 이미 있으면 무시
+     */
+    public void createDailyPartition(LocalDate date) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(date)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + date.atStartOfDay().format(BOUND_FORMAT) + "')"
+                + " TO ('" + date.plusDays(1).atStartOfDay().format(BOUND_FORMAT) + "')");
+    }
+
+    /**
+     * DEFAULT 파티션에 들어간 행의 날짜 (해당 일자 파티션이 없을 때 적재된 행)
+     */
+    public List<LocalDate> findDefaultPartitionDates() {
+        return jdbcTemplate.queryForList(DEFAULT_DATES_SQL, LocalDate.class);
+    }
+
+    /**
+     * DEFAULT 파티션의 date 행을 새 일자 파티션으로 옮기고 옮긴 행 수 반환 - 호출자 트랜잭션 안에서 실행해야 함
+     *
+     * DEFAULT 에 해당 범위 행이 있으면 파티션을 만들 수 없으므로, 독립 테이블을 만들어 행을 옮긴 뒤 파티션으로 붙인다.
+     * 옮기는 동안 DEFAULT 로의 적재는 잠시 대기한다. (일자 파티션으로 가는 적재는 영향 없음)
+     */
+    public int moveDefaultRowsToDailyPartition(LocalDate date) {
+        String partition = partitionName(date);
+        Timestamp from = Timestamp.valueOf(date.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN SHARE ROW EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+        int moved = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION
+                + " WHERE viewed_at >= ? AND viewed_at < ?", from, to);
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE viewed_at >= ? AND viewed_at < ?", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + date.atStartOfDay().format(BOUND_FORMAT) + "')"
+                + " TO ('" + date.plusDays(1).atStartOfDay().format(BOUND_FORMAT) + "')");
+        return moved;
+    }
+
+    public List<Partition> findRangePartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+                    LocalDateTime upperBound = parseUpperBound(rs.getString(2));
+                    return upperBound == null ? null : new Partition(rs.getString(1), upperBound);
+                }).stream()
+                .filter(partition -> partition != null)
+                .toList();
+    }
+
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + quote(name));
+    }
+
+    /**
+     * 파티션을 떼어 내 독립 테이블로 보관 (이후 덤프/이관은 운영에서 처리)
+     */
+    public void detachPartition(String name) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + quote(name));
+    }
+
+    /**
+     * 남아 있는 가장 오래된 로그의 날짜 (DEFAULT 파티션 포함) - 로그가 없으면 null
+     */
+    public LocalDate findOldestDate() {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_VIEWED_AT_SQL, Timestamp.class);
+        return oldest == null ? null : oldest.toLocalDateTime().toLocalDate();
+    }
+
+    /**
+     * 파티션이 아닌 경우의 보존 정리 - cutoff 이전 행을 최대 limit 개 삭제하고 삭제 수 반환
+     */
+    public int deleteChunkBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_CHUNK_SQL, Timestamp.valueOf(cutoff), limit);
+    }
+
+    static LocalDateTime parseUpperBound(String boundExpression) {
+        if (boundExpression == null) {
+            return null;
+        }
+        Matcher matcher = UPPER_BOUND.matcher(boundExpression);
+        if (!matcher.find()) {
+            // DEFAULT 파티션 또는 MAXVALUE 상한
+            return null;
+        }
+        String value = matcher.group(1);
+        return LocalDateTime.parse(value.length() > 19 ? value.substring(0, 19) : value, BOUND_FORMAT);
+    }
+
+    private boolean detectPartitioned() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(PARTITIONED_SQL, Integer.class);
+        return count != null && count > 0;
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,12 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.dto.RankedCountDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReferrerDailyRollupRepositoryCustom {
+    long addPageViews(LocalDate statDate, String host, long delta);
+
+    List<RankedCountDto> findTopHosts(LocalDate from, LocalDate to, int limit);
+}
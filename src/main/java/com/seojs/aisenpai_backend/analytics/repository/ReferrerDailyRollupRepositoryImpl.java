@@ -0,0 +1,48 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.seojs.aisenpai_backend.analytics.dto.RankedCountDto;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.seojs.aisenpai_backend.analytics.entity.QReferrerDailyRollup.referrerDailyRollup;
+
+@RequiredArgsConstructor
+public class ReferrerDailyRollupRepositoryImpl implements ReferrerDailyRollupRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public long addPageViews(LocalDate statDate, String host, long delta) {
+        return queryFactory.update(referrerDailyRollup)
+                .set(referrerDailyRollup.pageViews, referrerDailyRollup.pageViews.add(delta))
+                .where(
+                        referrerDailyRollup.statDate.eq(statDate),
+                        referrerDailyRollup.host.eq(host))
+                .execute();
+    }
+
+    /**
+     * [from, to] 구간 유입 도메인별 페이지뷰 상위 limit 개
+     */
+    @Override
+    public List<RankedCountDto> findTopHosts(LocalDate from, LocalDate to, int limit) {
+        List<Tuple> rows = queryFactory
+                .select(referrerDailyRollup.host, referrerDailyRollup.pageViews.sum())
+                .from(referrerDailyRollup)
+                .where(
+                        referrerDailyRollup.statDate.goe(from),
+                        referrerDailyRollup.statDate.loe(to))
+                .groupBy(referrerDailyRollup.host)
+                .orderBy(referrerDailyRollup.pageViews.sum().desc(), referrerDailyRollup.host.asc())
+                .limit(limit)
+                .fetch();
+
+        return rows.stream()
+                .map(row -> new RankedCountDto(row.get(referrerDailyRollup.host),
+                        row.get(referrerDailyRollup.pageViews.sum())))
+                .toList();
+    }
+}
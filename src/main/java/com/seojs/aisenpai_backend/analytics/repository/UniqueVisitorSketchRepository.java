@@ -0,0 +1,14 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import com.seojs.aisenpai_backend.analytics.entity.UniqueVisitorSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface UniqueVisitorSketchRepository extends JpaRepository<UniqueVisitorSketch, Long> {
+    Optional<UniqueVisitorSketch> findByStatDateAndPathKey(LocalDate statDate, String pathKey);
+
+    List<UniqueVisitorSketch> findByPathKeyAndStatDateBetween(String pathKey, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,126 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.dto.AnalyticsReportDto;
+import com.seojs.aisenpai_backend.analytics.dto.DailyVisitDto;
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+import com.seojs.aisenpai_backend.analytics.dto.RankedCountDto;
+import com.seojs.aisenpai_backend.analytics.entity.DailyVisitStats;
+import com.seojs.aisenpai_backend.analytics.repository.DailyVisitStatsRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewDailyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.repository.ReferrerDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 분석 조회 (일별 PV/UV, 상위 경로, 상위 유입 도메인) - 롤업/집계 테이블만 읽음
+ *
+ * 결과는 "analyticsReports" 캐시에 저장되며, 기간 끝이 확정된 날짜이고 기간의 모든 날짜에 일별 집계가 저장돼 있으면(finalized)
+ * 만료 없이, 아직 바뀔 수 있는 날짜(오늘, 늦게 도착하는 beacon 이벤트를 받는 어제, 집계/복구 전인 날짜)를 포함하면
+ * 짧은 TTL 로 유지된다. (CacheConfig)
+ * PV 는 늦은 이벤트까지 반영되는 일 롤업을, UV 는 일별 집계(없으면 HyperLogLog 스케치)를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsQueryService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int MAX_LIMIT = 100;
+
+    private final DailyVisitStatsRepository dailyVisitStatsRepository;
+    private final PageViewDailyRollupRepository pageViewDailyRollupRepository;
+    private final ReferrerDailyRollupRepository referrerDailyRollupRepository;
+    private final UniqueVisitorService uniqueVisitorService;
+
+    // 하루가 끝난 뒤 이 시간이 지나야 확정 (beacon 최대 지연 + 롤업 주기 여유)
+    @Value("${app.analytics.query.finality-delay-ms:22200000}")
+    private long finalityDelayMillis;
+
+    @Cacheable(value = "analyticsReports", key = "'visits:' + #from + ':' + #to")
+    public AnalyticsReportDto<DailyVisitDto> getDailyVisits(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        Map<LocalDate, DailyVisitStats> stats = dailyVisitStatsRepository.findByStatDateBetween(from, to).stream()
+                .collect(Collectors.toMap(DailyVisitStats::getStatDate, Function.identity(), (a, b) -> a));
+        Map<LocalDate, Long> rollupPv = pageViewDailyRollupRepository.findSeries(from, to, null).stream()
+                .collect(Collectors.toMap(series -> series.getBucket().toLocalDate(), PageViewSeriesDto::getPageViews));
+
+        // 아직 집계되지 않은 날짜만 스케치로 UV 추정
+        LocalDate firstUnaggregated = null;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!stats.containsKey(date)) {
+                firstUnaggregated = date;
+                break;
+            }
+        }
+        Map<LocalDate, Long> sketchUv = firstUnaggregated == null
+                ? Collections.emptyMap()
+                : uniqueVisitorService.estimateDailyUniqueVisitors(firstUnaggregated, to);
+
+        List<DailyVisitDto> items = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DailyVisitStats stat = stats.get(date);
+            Long pv = rollupPv.get(date);
+            if (pv == null) {
+                pv = stat != null ? stat.getPageViews() : 0L;
+            }
+            Long uv = stat != null ? stat.getUniqueVisitors() : sketchUv.getOrDefault(date, 0L);
+            items.add(new DailyVisitDto(date, pv, uv));
+        }
+        return new AnalyticsReportDto<>(from, to, isFinalized(from, to, stats.size()), items);
+    }
+
+    @Cacheable(value = "analyticsReports", key = "'top-paths:' + #from + ':' + #to + ':' + #limit")
+    public AnalyticsReportDto<RankedCountDto> getTopPaths(LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        List<RankedCountDto> items = pageViewDailyRollupRepository.findTopPaths(from, to, validateLimit(limit));
+        return new AnalyticsReportDto<>(from, to, isFinalized(from, to), items);
+    }
+
+    @Cacheable(value = "analyticsReports", key = "'top-referrers:' + #from + ':' + #to + ':' + #limit")
+    public AnalyticsReportDto<RankedCountDto> getTopReferrers(LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        List<RankedCountDto> items = referrerDailyRollupRepository.findTopHosts(from, to, validateLimit(limit));
+        return new AnalyticsReportDto<>(from, to, isFinalized(from, to), items);
+    }
+
+    private boolean isFinalized(LocalDate from, LocalDate to) {
+        return isFinalized(from, to, dailyVisitStatsRepository.countByStatDateBetween(from, to));
+    }
+
+    /**
+     * 기간의 모든 날짜가 더 이상 바뀌지 않는지 여부
+     * 확정 시각이 지났어도 일별 집계가 없는 날짜(자정 집계 누락 - 복구 전)가 있으면 아직 확정이 아님
+     */
+    boolean isFinalized(LocalDate from, LocalDate to, long aggregatedDays) {
+        LocalDate finalizedBefore = LocalDateTime.now().minus(finalityDelayMillis, ChronoUnit.MILLIS).toLocalDate();
+        return to.isBefore(finalizedBefore) && aggregatedDays >= ChronoUnit.DAYS.between(from, to) + 1;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid range: from=" + from + ", to=" + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static int validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
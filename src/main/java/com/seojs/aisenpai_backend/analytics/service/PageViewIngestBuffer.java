@@ -0,0 +1,85 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.entity.PageViewLog;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewLogJdbcRepository;
+import com.seojs.aisenpai_backend.common.BatchingWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 페이지뷰 적재 버퍼
+ *
+ * 요청 스레드는 고정 크기 버퍼에 넣기만 하고, 전용 flusher 스레드 하나가 (BatchingWriter)
+ * batchSize 개가 모이거나 flushInterval 이 지나면 JDBC batch insert 로 기록한다. (공용 @Async 풀 미사용)
+ * 버퍼가 sampleThreshold 이상 차면 sampleRate 비율만 받고, 가득 차면 버린다. (요청 스레드는 대기하지 않음)
+ * 따라서 부하 중 page_view_log 는 표본이며 PV/UV 집계에 쓰지 않는다.
+ * (PV 는 롤업, UV 는 스케치가 버퍼에 넣기 전에 센다 - PageViewService, StatsAggregationService)
+ * 종료 시 남은 항목을 모두 기록한다.
+ */
+@Component
+public class PageViewIngestBuffer {
+
+    // 페이지뷰는 유실 허용 - 실패한 묶음은 재시도하지 않음
+    private static final int MAX_WRITE_ATTEMPTS = 1;
+
+    private final BatchingWriter<PageViewLog> writer;
+    private final int sampleThreshold;
+    private final double sampleRate;
+    private final Counter sampledOut;
+
+    public PageViewIngestBuffer(PageViewLogJdbcRepository pageViewLogJdbcRepository, MeterRegistry meterRegistry,
+            @Value("${app.analytics.ingest.capacity:10000}") int capacity,
+            @Value("${app.analytics.ingest.batch-size:500}") int batchSize,
+            @Value("${app.analytics.ingest.flush-interval-ms:1000}") long flushIntervalMillis,
+            @Value("${app.analytics.ingest.sample-threshold:0.8}") double sampleThreshold,
+            @Value("${app.analytics.ingest.sample-rate:0.1}") double sampleRate) {
+        capacity = Math.max(1, capacity);
+        this.writer = new BatchingWriter<>("pageview-flusher", pageViewLogJdbcRepository::batchInsert, meterRegistry,
+                "analytics.pageview", capacity, batchSize, flushIntervalMillis, MAX_WRITE_ATTEMPTS, 0);
+        this.sampleThreshold = (int) (capacity * Math.min(1.0, Math.max(0.0, sampleThreshold)));
+        this.sampleRate = sampleRate;
+
+        this.sampledOut = Counter.builder("analytics.pageview.sampled-out")
+                .description("Page views not written to page_view_log by load-shedding sampling (still counted in rollups)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.stop();
+    }
+
+    /**
+     * 버퍼에 추가 - 기록 대상에서 제외되면 false
+     */
+    public boolean offer(PageViewLog pageView) {
+        if (writer.size() >= sampleThreshold && writer.remainingCapacity() > 0
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return false;
+        }
+        return writer.offer(pageView);
+    }
+
+    public int size() {
+        return writer.size();
+    }
+
+    /**
+     * 지금 버퍼에 있는 항목을 최대 batchSize 개 기록하고 기록 시도한 개수 반환
+     */
+    int drain() {
+        return writer.drain();
+    }
+}
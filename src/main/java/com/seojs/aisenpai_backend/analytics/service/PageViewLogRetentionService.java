@@ -0,0 +1,219 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.entity.DailyVisitStats;
+import com.seojs.aisenpai_backend.analytics.repository.DailyVisitStatsRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewLogPartitionRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewLogPartitionRepository.Partition;
+import com.seojs.aisenpai_backend.scheduler.service.ClusterJobRunner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * page_view_log 파티션 유지 및 보존 기간 정리
+ *
+ * 파티션 테이블(Postgres)이면 오늘부터 premakeDays 일 앞까지 일자 파티션을 미리 만들고,
+ * 보존 기간이 지났고 일별 집계까지 끝난 파티션을 통째로 drop(또는 detach 해 보관)한다.
+ * 파티션이 없어 DEFAULT 파티션에 쌓인 행은 먼저 해당 일자 파티션으로 옮긴다. (그대로 두면 그 날짜 파티션을 영영 만들 수 없음)
+ * 파티션 생성/이동 실패는 analytics.pageview.partition.failed 카운터와 error 로그로 알린다.
+ * 일반 테이블(H2 등)이면 같은 기준으로 오래된 행을 나눠서 삭제한다.
+ * 집계가 끝나지 않은 날짜의 로그는 보존 기간이 지나도 지우지 않는다.
+ */
+@Slf4j
+@Service
+public class PageViewLogRetentionService {
+
+    private static final String ENSURE_PARTITIONS_JOB = "page-view-log.ensure-partitions";
+    private static final String RETENTION_JOB = "page-view-log.retention";
+
+    private final PageViewLogPartitionRepository pageViewLogPartitionRepository;
+    private final DailyVisitStatsRepository dailyVisitStatsRepository;
+    private final ClusterJobRunner clusterJobRunner;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter partitionFailed;
+
+    @Value("${app.analytics.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${app.analytics.retention.mode:drop}")
+    private String mode;
+
+    @Value("${app.analytics.retention.delete-batch-size:5000}")
+    private int deleteBatchSize;
+
+    @Value("${app.analytics.partition.premake-days:7}")
+    private int premakeDays;
+
+    public PageViewLogRetentionService(PageViewLogPartitionRepository pageViewLogPartitionRepository,
+            DailyVisitStatsRepository dailyVisitStatsRepository,
+            ClusterJobRunner clusterJobRunner,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.pageViewLogPartitionRepository = pageViewLogPartitionRepository;
+        this.dailyVisitStatsRepository = dailyVisitStatsRepository;
+        this.clusterJobRunner = clusterJobRunner;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionFailed = Counter.builder("analytics.pageview.partition.failed")
+                .description("page_view_log partitions that could not be created or filled from the default partition")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기동 직후 및 주기적으로 앞으로 쓸 일자 파티션 확보
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.partition.maintain-interval-ms:3600000}")
+    public void ensurePartitions() {
+        if (!pageViewLogPartitionRepository.isPartitioned()) {
+            return;
+        }
+        clusterJobRunner.runExclusively(ENSURE_PARTITIONS_JOB, this::createUpcomingPartitions);
+    }
+
+    @Scheduled(cron = "${app.analytics.retention.cron:0 30 0 * * *}")
+    public void applyRetention() {
+        clusterJobRunner.runExclusively(RETENTION_JOB, this::removeExpired);
+    }
+
+    private void createUpcomingPartitions() {
+        relocateDefaultRows();
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i <= premakeDays; i++) {
+            LocalDate date = today.plusDays(i);
+            try {
+                pageViewLogPartitionRepository.createDailyPartition(date);
+            } catch (DataAccessException e) {
+                partitionFailed.increment();
+                log.error("Failed to create page_view_log partition for {}: {}", date, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * DEFAULT 파티션에 쌓인 날짜마다 일자 파티션을 만들어 행을 옮김 (날짜별 개별 트랜잭션)
+     */
+    private void relocateDefaultRows() {
+        List<LocalDate> dates;
+        try {
+            dates = pageViewLogPartitionRepository.findDefaultPartitionDates();
+        } catch (DataAccessException e) {
+            partitionFailed.increment();
+            log.error("Failed to scan page_view_log default partition: {}", e.getMessage());
+            return;
+        }
+
+        for (LocalDate date : dates) {
+            try {
+                Integer moved = transactionTemplate.execute(status ->
+                        pageViewLogPartitionRepository.moveDefaultRowsToDailyPartition(date));
+                log.info("Moved {} page_view_log row(s) for {} from the default partition into {}", moved, date,
+                        PageViewLogPartitionRepository.partitionName(date));
+            } catch (DataAccessException e) {
+                partitionFailed.increment();
+                log.error("Failed to move page_view_log default partition rows for {}: {}", date, e.getMessage());
+            }
+        }
+    }
+
+    private void removeExpired() {
+        LocalDateTime cutoff = retentionCutoff();
+        if (cutoff == null) {
+            log.info("No aggregated page_view_log past retention, skipping");
+            return;
+        }
+
+        if (pageViewLogPartitionRepository.isPartitioned()) {
+            removeExpiredPartitions(cutoff);
+        } else {
+            deleteExpiredRows(cutoff);
+        }
+    }
+
+    /**
+     * min(오늘 - 보존 기간, 남은 로그 중 집계가 없는 첫 날짜 0시) - 지울 로그가 없으면 null
+     * 마지막 집계일만 보면 그 이전에 집계를 놓친 날짜의 로그가 집계 없이 지워지므로 빈 날짜마다 확인한다.
+     */
+    LocalDateTime retentionCutoff() {
+        LocalDate expiry = LocalDate.now().minusDays(Math.max(1, retentionDays));
+        LocalDate oldest = pageViewLogPartitionRepository.findOldestDate();
+        if (oldest == null || !oldest.isBefore(expiry)) {
+            return null;
+        }
+
+        LocalDate firstUnaggregated = firstUnaggregatedDate(oldest, expiry.minusDays(1));
+        if (firstUnaggregated == null) {
+            return expiry.atStartOfDay();
+        }
+        if (!firstUnaggregated.isAfter(oldest)) {
+            log.warn("page_view_log for {} is past retention but not aggregated, keeping it until it is", oldest);
+            return null;
+        }
+        log.warn("page_view_log for {} is past retention but not aggregated, keeping logs from that day on",
+                firstUnaggregated);
+        return firstUnaggregated.atStartOfDay();
+    }
+
+    /**
+     * 기간(양 끝 포함) 중 일별 집계가 없는 첫 날짜 - 모두 집계됐으면 null
+     */
+    private LocalDate firstUnaggregatedDate(LocalDate from, LocalDate to) {
+        Set<LocalDate> aggregated = dailyVisitStatsRepository.findByStatDateBetween(from, to).stream()
+                .map(DailyVisitStats::getStatDate)
+                .collect(Collectors.toSet());
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!aggregated.contains(date)) {
+                return date;
+            }
+        }
+        return null;
+    }
+
+    private void removeExpiredPartitions(LocalDateTime cutoff) {
+        boolean detach = "detach".equalsIgnoreCase(mode);
+        List<Partition> expired = pageViewLogPartitionRepository.findRangePartitions().stream()
+                .filter(partition -> !partition.upperBound().isAfter(cutoff))
+                .sorted(Comparator.comparing(Partition::upperBound))
+                .toList();
+
+        for (Partition partition : expired) {
+            try {
+                if (detach) {
+                    pageViewLogPartitionRepository.detachPartition(partition.name());
+                } else {
+                    pageViewLogPartitionRepository.dropPartition(partition.name());
+                }
+                log.info("{} page_view_log partition {} (< {})",
+                        detach ? "Detached" : "Dropped", partition.name(), partition.upperBound());
+            } catch (DataAccessException e) {
+                log.warn("Failed to remove page_view_log partition {}: {}", partition.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void deleteExpiredRows(LocalDateTime cutoff) {
+        int batchSize = Math.max(1, deleteBatchSize);
+        long total = 0;
+        int deleted;
+        // 한 번에 지우면 긴 트랜잭션/락이 생기므로 나눠서 삭제 (각 호출이 개별 트랜잭션)
+        do {
+            deleted = pageViewLogPartitionRepository.deleteChunkBefore(cutoff, batchSize);
+            total += deleted;
+        } while (deleted >= batchSize);
+
+        if (total > 0) {
+            log.info("Deleted {} page_view_log row(s) before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+import com.seojs.aisenpai_backend.analytics.entity.PageViewDailyRollup;
+import com.seojs.aisenpai_backend.analytics.entity.PageViewHourlyRollup;
+import com.seojs.aisenpai_backend.analytics.entity.ReferrerDailyRollup;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewDailyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewHourlyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.repository.ReferrerDailyRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로별 페이지뷰 분 단위 카운터 + 시간/일 롤업
+ *
+ * 요청 스레드는 (분, 경로) 키의 카운터만 증가시키고 (ConcurrentHashMap.compute - 키 단위 잠금),
+ * 롤업 작업이 지난 분의 카운터를 떼어 내(remove) 시간/일 단위로 합친 뒤 롤업 테이블에 더한다.
+ * 증가는 compute 안에서 하므로 떼어 낸 뒤의 카운터에 더해져 유실되는 일이 없다.
+ * 조회 API 는 롤업 테이블만 읽으므로 page_view_log 를 스캔하지 않는다.
+ * 추적 키가 maxTrackedKeys 를 넘으면 새 경로는 OTHER_PATH 로 합산한다.
+ * 유입 도메인(referrer host)도 같은 방식으로 분 단위로 세어 일 단위 롤업에 더한다. (내부 도메인은 제외)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PageViewRollupService {
+
+    public static final String OTHER_PATH = "(other)";
+
+    private static final int MAX_PATH_LENGTH = 500;
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(31);
+
+    private final PageViewHourlyRollupRepository pageViewHourlyRollupRepository;
+    private final PageViewDailyRollupRepository pageViewDailyRollupRepository;
+    private final ReferrerDailyRollupRepository referrerDailyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<MinuteKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<MinuteKey, LongAdder> referrerCounters = new ConcurrentHashMap<>();
+
+    @Value("${app.analytics.rollup.max-tracked-keys:20000}")
+    private int maxTrackedKeys;
+
+    @Value("${app.frontend-url}")
+    private String frontendUrl;
+
+    @Value("${app.analytics.referrer.internal-hosts:}")
+    private List<String> internalHosts;
+
+    private volatile Set<String> resolvedInternalHosts;
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    public void increment(String path, String referrer, LocalDateTime viewedAt) {
+        String normalized = normalizePath(path);
+        if (normalized == null) {
+            return;
+        }
+        long minute = viewedAt.toEpochSecond(ZoneOffset.UTC) / 60;
+        count(counters, new MinuteKey(minute, normalized));
+
+        String host = referrerHost(referrer);
+        if (host != null && !internalHosts().contains(host)) {
+            count(referrerCounters, new MinuteKey(minute, host));
+        }
+    }
+
+    /**
+     * 지난 분(현재 분 제외)의 카운터를 롤업 테이블에 반영
+     */
+    @Scheduled(cron = "${app.analytics.rollup.cron:15 * * * * *}")
+    public void rollup() {
+        rollupBefore(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /**
+     * 종료 시 진행 중인 분까지 모두 반영
+     */
+    @PreDestroy
+    public void rollupOnShutdown() {
+        rollupBefore(Long.MAX_VALUE);
+    }
+
+    public List<PageViewSeriesDto> getSeries(Granularity granularity, LocalDate from, LocalDate to, String path) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid range: from=" + from + ", to=" + to);
+        }
+        String pathFilter = path == null || path.isBlank() ? null : normalizePath(path);
+
+        if (granularity == Granularity.HOUR) {
+            LocalDateTime start = from.atStartOfDay();
+            LocalDateTime end = to.plusDays(1).atStartOfDay();
+            if (Duration.between(start, end).compareTo(MAX_HOURLY_RANGE) > 0) {
+                throw new IllegalArgumentException("Hourly range must not exceed " + MAX_HOURLY_RANGE.toDays() + " days");
+            }
+            return pageViewHourlyRollupRepository.findSeries(start, end, pathFilter);
+        }
+        return pageViewDailyRollupRepository.findSeries(from, to, pathFilter);
+    }
+
+    /**
+     * beforeMinute 이전 분의 카운터를 떼어 내 시간/일 단위로 합산 후 기록 - 실패하면 메모리로 되돌림
+     */
+    void rollupBefore(long beforeMinute) {
+        Map<MinuteKey, Long> taken = takeBefore(counters, beforeMinute);
+        Map<MinuteKey, Long> takenReferrers = takeBefore(referrerCounters, beforeMinute);
+        if (taken.isEmpty() && takenReferrers.isEmpty()) {
+            return;
+        }
+
+        Map<HourKey, Long> hourly = aggregateHourly(taken);
+        Map<DayKey, Long> daily = new HashMap<>();
+        hourly.forEach((key, count) ->
+                daily.merge(new DayKey(key.bucketStart().toLocalDate(), key.path()), count, Long::sum));
+        Map<DayKey, Long> referrerDaily = new HashMap<>();
+        aggregateHourly(takenReferrers).forEach((key, count) ->
+                referrerDaily.merge(new DayKey(key.bucketStart().toLocalDate(), key.path()), count, Long::sum));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                hourly.forEach(this::addHourly);
+                daily.forEach(this::addDaily);
+                referrerDaily.forEach(this::addReferrerDaily);
+            });
+            log.debug("Rolled up {} minute counter(s) into {} hourly / {} daily / {} referrer row(s)",
+                    taken.size() + takenReferrers.size(), hourly.size(), daily.size(), referrerDaily.size());
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 반영
+            restore(counters, taken);
+            restore(referrerCounters, takenReferrers);
+            log.warn("Failed to roll up page view counters: {}", e.getMessage());
+        }
+    }
+
+    static Map<HourKey, Long> aggregateHourly(Map<MinuteKey, Long> minuteCounts) {
+        Map<HourKey, Long> hourly = new HashMap<>();
+        minuteCounts.forEach((key, count) -> {
+            if (count <= 0) {
+                return;
+            }
+            LocalDateTime bucketStart = LocalDateTime.ofEpochSecond(key.minute() / 60 * 3600, 0, ZoneOffset.UTC);
+            hourly.merge(new HourKey(bucketStart, key.path()), count, Long::sum);
+        });
+        return hourly;
+    }
+
+    /**
+     * 쿼리스트링/프래그먼트 제거 후 최대 길이로 자름 - 비어 있으면 null
+     */
+    static String normalizePath(String path) {
+        if (path == null) {
+            return null;
+        }
+        int cut = path.length();
+        int query = path.indexOf('?');
+        int fragment = path.indexOf('#');
+        if (query >= 0) {
+            cut = query;
+        }
+        if (fragment >= 0 && fragment < cut) {
+            cut = fragment;
+        }
+        String normalized = path.substring(0, Math.min(cut, MAX_PATH_LENGTH)).trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * referrer URL 의 호스트 (소문자, www. 제거) - URL 이 아니면 null
+     */
+    static String referrerHost(String referrer) {
+        if (referrer == null || referrer.isBlank()) {
+            return null;
+        }
+        try {
+            String host = URI.create(referrer.trim()).getHost();
+            if (host == null || host.isBlank()) {
+                return null;
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 조회와 증가를 compute 안에서 함께 처리 - 조회 직후 takeBefore 가 카운터를 떼어 가면
+     * 떼어 간 카운터에 더해져 유실되므로 (늦게 도착한 beacon 은 이미 닫힌 분에 자주 더해짐)
+     */
+    private void count(Map<MinuteKey, LongAdder> target, MinuteKey key) {
+        if (!target.containsKey(key) && target.size() >= maxTrackedKeys) {
+            key = new MinuteKey(key.minute(), OTHER_PATH);
+        }
+        target.compute(key, (k, counter) -> {
+            LongAdder current = counter != null ? counter : new LongAdder();
+            current.increment();
+            return current;
+        });
+    }
+
+    private static Map<MinuteKey, Long> takeBefore(Map<MinuteKey, LongAdder> source, long beforeMinute) {
+        Map<MinuteKey, Long> taken = new HashMap<>();
+        for (MinuteKey key : source.keySet()) {
+            if (key.minute() < beforeMinute) {
+                LongAdder counter = source.remove(key);
+                if (counter != null) {
+                    taken.merge(key, counter.sum(), Long::sum);
+                }
+            }
+        }
+        return taken;
+    }
+
+    private static void restore(Map<MinuteKey, LongAdder> target, Map<MinuteKey, Long> taken) {
+        taken.forEach((key, count) -> target.compute(key, (k, counter) -> {
+            LongAdder current = counter != null ? counter : new LongAdder();
+            current.add(count);
+            return current;
+        }));
+    }
+
+    private Set<String> internalHosts() {
+        Set<String> hosts = resolvedInternalHosts;
+        if (hosts == null) {
+            hosts = new HashSet<>();
+            String frontendHost = referrerHost(frontendUrl);
+            if (frontendHost != null) {
+                hosts.add(frontendHost);
+            }
+            if (internalHosts != null) {
+                for (String host : internalHosts) {
+                    String normalized = referrerHost(host.contains("://") ? host : "https://" + host);
+                    if (normalized != null) {
+                        hosts.add(normalized);
+                    }
+                }
+            }
+            resolvedInternalHosts = hosts;
+        }
+        return hosts;
+    }
+
+    private void addHourly(HourKey key, Long count) {
+        if (pageViewHourlyRollupRepository.addPageViews(key.bucketStart(), key.path(), count) == 0) {
+            pageViewHourlyRollupRepository.save(PageViewHourlyRollup.builder()
+                    .bucketStart(key.bucketStart())
+                    .path(key.path())
+                    .pageViews(count)
+                    .build());
+        }
+    }
+
+    private void addDaily(DayKey key, Long count) {
+        if (pageViewDailyRollupRepository.addPageViews(key.date(), key.path(), count) == 0) {
+            pageViewDailyRollupRepository.save(PageViewDailyRollup.builder()
+                    .statDate(key.date())
+                    .path(key.path())
+                    .pageViews(count)
+                    .build());
+        }
+    }
+
+    private void addReferrerDaily(DayKey key, Long count) {
+        if (referrerDailyRollupRepository.addPageViews(key.date(), key.path(), count) == 0) {
+            referrerDailyRollupRepository.save(ReferrerDailyRollup.builder()
+                    .statDate(key.date())
+                    .host(key.path())
+                    .pageViews(count)
+                    .build());
+        }
+    }
+
+    // 분 = 서버 로컬 시각 기준 epoch minute (viewedAt 이 LocalDateTime 이므로 UTC 오프셋으로 단순 환산)
+    record MinuteKey(long minute, String path) {
+    }
+
+    record HourKey(LocalDateTime bucketStart, String path) {
+    }
+
+    private record DayKey(LocalDate date, String path) {
+    }
+}
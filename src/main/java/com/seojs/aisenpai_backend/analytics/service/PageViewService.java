@@ -1,28 +1,90 @@
 package com.seojs.aisenpai_backend.analytics.service;
 
+import com.seojs.aisenpai_backend.analytics.dto.PageViewBatchDto;
 import com.seojs.aisenpai_backend.analytics.entity.PageViewLog;
-import com.seojs.aisenpai_backend.analytics.repository.PageViewLogRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class PageViewService {
 
-    private final PageViewLogRepository pageViewLogRepository;
+    private final PageViewIngestBuffer pageViewIngestBuffer;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final PageViewRollupService pageViewRollupService;
+
+    @Value("${app.analytics.beacon.max-events:200}")
+    private int maxBatchEvents;
+
+    @Value("${app.analytics.beacon.max-event-age-ms:21600000}")
+    private long maxEventAgeMillis;
+
+    /**
+     * 페이지뷰 기록 - UV 스케치/분 단위 카운터 갱신 후 적재 버퍼에 넣고 바로 반환 (DB 기록은 flusher 가 batch 로 수행)
+     */
+    public void recordPageView(String sessionId, String path, String referrer, String ipAddress, String userAgent) {
+        record(sessionId, path, referrer, null, ipAddress, userAgent);
+    }
+
+    /**
+     * 묶음 페이지뷰 기록 - 시계 오차를 보정한 클라이언트 시각으로 기록하고 받아들인 개수 반환
+     * maxBatchEvents 를 넘는 이벤트와 maxEventAge 보다 오래된 이벤트는 버리고, 미래 시각은 수신 시각으로 맞춘다.
+     */
+    public int recordPageViewBatch(String sessionId, PageViewBatchDto batch, String ipAddress, String userAgent) {
+        List<PageViewBatchDto.Event> events = batch.getEvents();
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        long receivedAt = System.currentTimeMillis();
+        int accepted = 0;
+        for (PageViewBatchDto.Event event : events.subList(0, Math.min(events.size(), maxBatchEvents))) {
+            if (event == null || event.getPath() == null || event.getPath().isBlank()) {
+                continue;
+            }
+            Long viewedAtMillis = resolveViewedAt(event.getTimestamp(), batch.getSentAt(), receivedAt,
+                    maxEventAgeMillis);
+            if (viewedAtMillis == null) {
+                continue;
+            }
+
+            LocalDateTime viewedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(viewedAtMillis), ZoneId.systemDefault());
+            record(sessionId, event.getPath(), event.getReferrer(), viewedAt, ipAddress, userAgent);
+            accepted++;
+        }
+        return accepted;
+    }
+
+    /**
+     * 클라이언트 시각을 서버 시각으로 환산 (timestamp + (receivedAt - sentAt)) - 너무 오래됐으면 null
+     */
+    static Long resolveViewedAt(Long timestamp, Long sentAt, long receivedAt, long maxAgeMillis) {
+        if (timestamp == null) {
+            return receivedAt;
+        }
+        long skew = sentAt != null ? receivedAt - sentAt : 0L;
+        long viewedAt = Math.min(timestamp + skew, receivedAt);
+        return receivedAt - viewedAt > maxAgeMillis ? null : viewedAt;
+    }
 
-    @Async
-    @Transactional
-    public void recordPageView(String sessionId, String path, String ipAddress, String userAgent) {
+    private void record(String sessionId, String path, String referrer, LocalDateTime viewedAt, String ipAddress,
+            String userAgent) {
         PageViewLog log = PageViewLog.builder()
                 .sessionId(sessionId)
                 .path(path)
+                .viewedAt(viewedAt)
                 .ipAddress(ipAddress)
                 .userAgent(userAgent)
                 .build();
 
-        pageViewLogRepository.save(log);
+        uniqueVisitorService.record(sessionId, path, log.getViewedAt());
+        pageViewRollupService.increment(path, referrer, log.getViewedAt());
+        pageViewIngestBuffer.offer(log);
     }
 }
@@ -1,52 +1,115 @@
 package com.seojs.aisenpai_backend.analytics.service;
 
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
 import com.seojs.aisenpai_backend.analytics.entity.DailyVisitStats;
 import com.seojs.aisenpai_backend.analytics.repository.DailyVisitStatsRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewDailyRollupRepository;
 import com.seojs.aisenpai_backend.analytics.repository.PageViewLogRepository;
+import com.seojs.aisenpai_backend.scheduler.service.ClusterJobRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatsAggregationService {
 
+    // 일별 집계와 누락 복구(StatsBackfillService)가 같은 날짜를 동시에 저장하지 않도록 임대를 공유
+    static final String DAILY_STATS_JOB = "stats.daily";
+
     private final PageViewLogRepository pageViewLogRepository;
     private final DailyVisitStatsRepository dailyVisitStatsRepository;
+    private final PageViewDailyRollupRepository pageViewDailyRollupRepository;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final ClusterJobRunner clusterJobRunner;
+    private final TransactionTemplate transactionTemplate;
 
-    @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
+    // 하루가 끝난 뒤 이 시간이 지나야 그날 로그/스케치가 더 바뀌지 않음 (beacon 최대 지연 + 롤업/스케치 flush 여유)
+    // 조회 쪽 확정 기준(AnalyticsQueryService)과 같은 값을 사용
+    @Value("${app.analytics.query.finality-delay-ms:22200000}")
+    private long finalityDelayMillis;
+
+    /**
+     * 클러스터에서 한 인스턴스만 실행 - 임대 획득 후 별도 트랜잭션에서 집계하고 커밋 뒤 임대 반납
+     * 누락 복구가 임대를 보유 중이면 건너뛰고, 놓친 날짜는 다음 복구 주기에 채워진다.
+     * 늦게 도착한 beacon(최대 app.analytics.beacon.max-event-age-ms)이 UV 스케치/롤업에 반영된 뒤
+     * 저장해야 하므로 확정 시각(finality-delay) 이후에 실행하고, 확정된 마지막 날짜만 집계한다. (기본 06:15)
+     */
+    @Scheduled(cron = "${app.analytics.aggregate.cron:0 15 6 * * *}")
     public void aggregateYesterdayStats() {
-        LocalDate yesterday = LocalDate.now().minusDays(1);
-        aggregateStatsForDate(yesterday);
+        LocalDate lastFinal = lastFinalDate();
+        clusterJobRunner.runExclusively(DAILY_STATS_JOB,
+                () -> transactionTemplate.executeWithoutResult(status -> aggregateStatsForDate(lastFinal)));
+    }
+
+    /**
+     * 더 이상 로그가 들어오지 않는 마지막 날짜 - 이보다 늦은 날짜는 집계하지 않음
+     */
+    public LocalDate lastFinalDate() {
+        return LocalDateTime.now().minus(finalityDelayMillis, ChronoUnit.MILLIS).toLocalDate().minusDays(1);
     }
 
     @Transactional
     public void aggregateStatsForDate(LocalDate date) {
-        if (dailyVisitStatsRepository.findByStatDate(date).isPresent()) {
+        if (aggregateRange(date, date) == 0) {
             log.info("Stats for {} already exists, skipping", date);
-            return;
         }
+    }
+
+    /**
+     * 기간(양 끝 포함) 중 집계가 없는 날짜를 집계하고 저장한 날짜 수 반환
+     * PV 는 일별 롤업(page_view_daily_rollup) 합계, UV 는 일자별 HyperLogLog 스케치에서 계산하고
+     * 롤업/스케치가 없는 날짜(도입 이전)만 해당 날짜의 원본 로그를 조회한다.
+     */
+    @Transactional
+    public int aggregateRange(LocalDate from, LocalDate to) {
+        Set<LocalDate> existing = dailyVisitStatsRepository.findByStatDateBetween(from, to).stream()
+                .map(DailyVisitStats::getStatDate)
+                .collect(Collectors.toSet());
 
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.plusDays(1).atStartOfDay();
+        Map<LocalDate, Long> rollupPv = pageViewDailyRollupRepository.findSeries(from, to, null).stream()
+                .collect(Collectors.toMap(row -> row.getBucket().toLocalDate(), PageViewSeriesDto::getPageViews));
+        Map<LocalDate, Long> sketchUv = uniqueVisitorService.estimateDailyUniqueVisitors(from, to);
 
-        Long pv = pageViewLogRepository.countByViewedAtBetween(start, end);
-        Long uv = pageViewLogRepository.countDistinctSessionIdByViewedAtBetween(start, end);
+        int saved = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (existing.contains(date)) {
+                continue;
+            }
 
-        DailyVisitStats stats = DailyVisitStats.builder()
-                .statDate(date)
-                .pageViews(pv)
-                .uniqueVisitors(uv)
-                .build();
+            LocalDateTime start = date.atStartOfDay();
+            LocalDateTime end = date.plusDays(1).atStartOfDay();
+            Long pv = rollupPv.get(date);
+            if (pv == null) {
+                pv = pageViewLogRepository.countByViewedAtBetween(start, end);
+            }
+            Long uv = sketchUv.get(date);
+            if (uv == null) {
+                uv = pageViewLogRepository.countDistinctSessionIdByViewedAtBetween(start, end);
+            }
 
-        dailyVisitStatsRepository.save(stats);
-        log.info("Aggregated stats for {}: PV={}, UV={}", date, pv, uv);
+            DailyVisitStats stats = DailyVisitStats.builder()
+                    .statDate(date)
+                    .pageViews(pv)
+                    .uniqueVisitors(uv)
+                    .build();
+
+            dailyVisitStatsRepository.save(stats);
+            saved++;
+            log.info("Aggregated stats for {}: PV={}, UV={}", date, pv, uv);
+        }
+        return saved;
     }
 }
@@ -0,0 +1,145 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.entity.DailyVisitStats;
+import com.seojs.aisenpai_backend.analytics.repository.DailyVisitStatsRepository;
+import com.seojs.aisenpai_backend.scheduler.service.ClusterJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * 일별 통계(DailyVisitStats) 누락 날짜 복구
+ *
+ * 자정 집계를 놓친 날짜(배포/장애 등)를 찾아 연속 구간으로 묶고, 구간마다 StatsAggregationService.aggregateRange
+ * (롤업/스케치 구간 조회 + 구간 단위 트랜잭션)를 statsBackfillExecutor 에서 병렬로 실행한다.
+ * 실행기 스레드 수가 동시에 쓰는 DB 커넥션 수의 상한이다.
+ * 기동 직후와 매일 lookbackDays 일 전 ~ 확정된 마지막 날짜(lastFinalDate) 구간을 클러스터에서 한 인스턴스만 검사한다. (보존 기간이 지난 날짜는 원본 로그가 없으므로 대상 아님)
+ * 자정 집계와 같은 임대를 쓰므로 둘이 같은 날짜를 동시에 저장하지 않는다. (stat_date 유일 제약이 최종 방어선)
+ */
+@Slf4j
+@Service
+public class StatsBackfillService {
+
+    private final StatsAggregationService statsAggregationService;
+    private final DailyVisitStatsRepository dailyVisitStatsRepository;
+    private final Executor statsBackfillExecutor;
+    private final ClusterJobRunner clusterJobRunner;
+
+    @Value("${app.analytics.backfill.lookback-days:31}")
+    private int lookbackDays;
+
+    @Value("${app.analytics.backfill.chunk-days:7}")
+    private int chunkDays;
+
+    public StatsBackfillService(StatsAggregationService statsAggregationService,
+            DailyVisitStatsRepository dailyVisitStatsRepository,
+            @Qualifier("statsBackfillExecutor") Executor statsBackfillExecutor,
+            ClusterJobRunner clusterJobRunner) {
+        this.statsAggregationService = statsAggregationService;
+        this.dailyVisitStatsRepository = dailyVisitStatsRepository;
+        this.statsBackfillExecutor = statsBackfillExecutor;
+        this.clusterJobRunner = clusterJobRunner;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        repairGaps();
+    }
+
+    @Scheduled(cron = "${app.analytics.backfill.cron:0 10 0 * * *}")
+    public void repairGaps() {
+        LocalDate lastFinal = statsAggregationService.lastFinalDate();
+        try {
+            clusterJobRunner.runExclusively(StatsAggregationService.DAILY_STATS_JOB,
+                    () -> backfill(lastFinal.minusDays(Math.max(0, lookbackDays - 1)), lastFinal));
+        } catch (RuntimeException e) {
+            log.warn("Daily stats gap repair failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 기간(양 끝 포함) 중 누락 날짜를 병렬 집계하고 저장한 날짜 수 반환
+     * 아직 늦은 beacon 이 들어올 수 있는 날짜(확정 전)는 제외 - 미리 저장하면 그 뒤 UV/PV 가 반영되지 않음
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        LocalDate lastFinal = statsAggregationService.lastFinalDate();
+        if (to.isAfter(lastFinal)) {
+            to = lastFinal;
+        }
+        if (from.isAfter(to)) {
+            return 0;
+        }
+
+        List<DateRange> ranges = findMissingRanges(from, to);
+        if (ranges.isEmpty()) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        List<CompletableFuture<Integer>> futures = ranges.stream()
+                .map(range -> CompletableFuture.supplyAsync(
+                        () -> statsAggregationService.aggregateRange(range.from(), range.to()),
+                        statsBackfillExecutor))
+                .toList();
+
+        int saved = futures.stream()
+                .mapToInt(CompletableFuture::join)
+                .sum();
+        log.info("Backfilled {} day(s) of stats in {} range(s) between {} and {} ({} ms)",
+                saved, ranges.size(), from, to, (System.nanoTime() - started) / 1_000_000);
+        return saved;
+    }
+
+    /**
+     * 누락 날짜를 연속 구간으로 묶고 chunkDays 일 단위로 자름
+     */
+    List<DateRange> findMissingRanges(LocalDate from, LocalDate to) {
+        Set<LocalDate> existing = dailyVisitStatsRepository.findByStatDateBetween(from, to).stream()
+                .map(DailyVisitStats::getStatDate)
+                .collect(Collectors.toSet());
+        return splitMissing(from, to, existing, Math.max(1, chunkDays));
+    }
+
+    static List<DateRange> splitMissing(LocalDate from, LocalDate to, Set<LocalDate> existing, int chunkDays) {
+        List<DateRange> ranges = new ArrayList<>();
+        LocalDate start = null;
+        LocalDate end = null;
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (existing.contains(date)) {
+                if (start != null) {
+                    ranges.add(new DateRange(start, end));
+                    start = null;
+                }
+                continue;
+            }
+            if (start != null && start.plusDays(chunkDays - 1).isBefore(date)) {
+                ranges.add(new DateRange(start, end));
+                start = null;
+            }
+            if (start == null) {
+                start = date;
+            }
+            end = date;
+        }
+        if (start != null) {
+            ranges.add(new DateRange(start, end));
+        }
+        return ranges;
+    }
+
+    record DateRange(LocalDate from, LocalDate to) {
+    }
+}
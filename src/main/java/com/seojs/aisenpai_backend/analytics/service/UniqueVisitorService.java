@@ -0,0 +1,228 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.entity.UniqueVisitorSketch;
+import com.seojs.aisenpai_backend.analytics.repository.UniqueVisitorSketchRepository;
+import com.seojs.aisenpai_backend.analytics.sketch.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.seojs.aisenpai_backend.analytics.entity.UniqueVisitorSketch.ALL_PATHS;
+
+/**
+ * HyperLogLog 기반 고유 방문자(UV) 집계
+ *
+ * 적재 시점에 일자별(옵션: 경로별) 메모리 스케치를 갱신하고, 주기적으로 DB 스케치에 병합 저장한다.
+ * 병합은 레지스터별 max 라 반복/중복 병합해도 안전하며, 기간 UV 는 일자별 스케치를 병합해 계산한다.
+ * (원본 page_view_log 를 스캔하지 않으므로 로그 보존 기간과 무관)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniqueVisitorService {
+
+    private static final int MAX_PATH_LENGTH = 500;
+
+    private final UniqueVisitorSketchRepository uniqueVisitorSketchRepository;
+
+    // 오늘/어제 스케치 (저장 후에도 유지하다가 지난 날짜는 정리)
+    private final Map<SketchKey, LiveSketch> liveSketches = new ConcurrentHashMap<>();
+    private final AtomicInteger pathSketchCount = new AtomicInteger();
+
+    @Value("${app.analytics.uv.per-path:false}")
+    private boolean perPath;
+
+    @Value("${app.analytics.uv.max-path-sketches:1000}")
+    private int maxPathSketches;
+
+    public void record(String sessionId, String path, LocalDateTime viewedAt) {
+        if (sessionId == null) {
+            return;
+        }
+        LocalDate date = viewedAt.toLocalDate();
+        offer(new SketchKey(date, ALL_PATHS), sessionId);
+
+        if (perPath && path != null && !path.isBlank()) {
+            String pathKey = path.length() > MAX_PATH_LENGTH ? path.substring(0, MAX_PATH_LENGTH) : path;
+            offer(new SketchKey(date, pathKey), sessionId);
+        }
+    }
+
+    /**
+     * 기간(양 끝 포함) 사이트 전체 UV 추정치 - 스케치가 하나도 없으면 null
+     */
+    public Long estimateUniqueVisitors(LocalDate from, LocalDate to) {
+        return estimateUniqueVisitors(from, to, ALL_PATHS);
+    }
+
+    /**
+     * 기간(양 끝 포함) 경로별 UV 추정치 - 스케치가 하나도 없으면 null
+     */
+    public Long estimateUniqueVisitors(LocalDate from, LocalDate to, String pathKey) {
+        HyperLogLog merged = null;
+
+        List<UniqueVisitorSketch> stored = uniqueVisitorSketchRepository
+                .findByPathKeyAndStatDateBetween(pathKey, from, to);
+        for (UniqueVisitorSketch sketch : stored) {
+            merged = mergeInto(merged, HyperLogLog.fromBytes(sketch.getRegisters()));
+        }
+
+        // 아직 저장되지 않은 변경분 포함
+        for (Map.Entry<SketchKey, LiveSketch> entry : liveSketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            if (key.pathKey().equals(pathKey) && !key.date().isBefore(from) && !key.date().isAfter(to)) {
+                merged = mergeInto(merged, entry.getValue().snapshot());
+            }
+        }
+        return merged == null ? null : merged.estimate();
+    }
+
+    /**
+     * 기간(양 끝 포함) 일자별 사이트 전체 UV 추정치 - 스케치가 있는 날짜만 포함
+     */
+    public Map<LocalDate, Long> estimateDailyUniqueVisitors(LocalDate from, LocalDate to) {
+        Map<LocalDate, HyperLogLog> daily = new HashMap<>();
+
+        List<UniqueVisitorSketch> stored = uniqueVisitorSketchRepository
+                .findByPathKeyAndStatDateBetween(ALL_PATHS, from, to);
+        for (UniqueVisitorSketch sketch : stored) {
+            daily.merge(sketch.getStatDate(), HyperLogLog.fromBytes(sketch.getRegisters()),
+                    UniqueVisitorService::mergeInto);
+        }
+
+        for (Map.Entry<SketchKey, LiveSketch> entry : liveSketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            if (ALL_PATHS.equals(key.pathKey()) && !key.date().isBefore(from) && !key.date().isAfter(to)) {
+                daily.merge(key.date(), entry.getValue().snapshot(), UniqueVisitorService::mergeInto);
+            }
+        }
+
+        Map<LocalDate, Long> estimates = new HashMap<>();
+        daily.forEach((date, sketch) -> estimates.put(date, sketch.estimate()));
+        return estimates;
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.uv.flush-interval-ms:60000}")
+    public void flush() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        for (Map.Entry<SketchKey, LiveSketch> entry : liveSketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            LiveSketch live = entry.getValue();
+
+            byte[] registers = live.takeDirtySnapshot();
+            if (registers != null) {
+                try {
+                    persist(key, registers);
+                } catch (DataAccessException e) {
+                    // 다른 인스턴스와 동시 병합 등 - 다음 주기에 다시 병합
+                    live.markDirty();
+                    log.warn("Failed to persist UV sketch {} {}: {}", key.date(), key.pathKey(), e.getMessage());
+                    continue;
+                }
+            }
+
+            if (key.date().isBefore(yesterday) && !live.isDirty() && liveSketches.remove(key, live)
+                    && !ALL_PATHS.equals(key.pathKey())) {
+                pathSketchCount.decrementAndGet();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void offer(SketchKey key, String sessionId) {
+        LiveSketch live = liveSketches.get(key);
+        if (live == null) {
+            if (!ALL_PATHS.equals(key.pathKey()) && pathSketchCount.get() >= maxPathSketches) {
+                return;
+            }
+            live = liveSketches.computeIfAbsent(key, k -> {
+                if (!ALL_PATHS.equals(k.pathKey())) {
+                    pathSketchCount.incrementAndGet();
+                }
+                return new LiveSketch();
+            });
+        }
+        live.offer(sessionId);
+    }
+
+    private void persist(SketchKey key, byte[] registers) {
+        UniqueVisitorSketch stored = uniqueVisitorSketchRepository
+                .findByStatDateAndPathKey(key.date(), key.pathKey())
+                .orElse(null);
+        if (stored == null) {
+            uniqueVisitorSketchRepository.save(UniqueVisitorSketch.builder()
+                    .statDate(key.date())
+                    .pathKey(key.pathKey())
+                    .registers(registers)
+                    .build());
+            return;
+        }
+
+        HyperLogLog merged = HyperLogLog.fromBytes(stored.getRegisters());
+        merged.merge(HyperLogLog.fromBytes(registers));
+        stored.updateRegisters(merged.toBytes());
+        uniqueVisitorSketchRepository.save(stored);
+    }
+
+    private static HyperLogLog mergeInto(HyperLogLog target, HyperLogLog source) {
+        if (target == null) {
+            return source;
+        }
+        target.merge(source);
+        return target;
+    }
+
+    private record SketchKey(LocalDate date, String pathKey) {
+    }
+
+    /**
+     * 메모리 스케치 + 마지막 저장 이후 변경 여부
+     */
+    private static final class LiveSketch {
+        private final HyperLogLog sketch = new HyperLogLog();
+        private boolean dirty;
+
+        synchronized void offer(String value) {
+            if (sketch.offer(value)) {
+                dirty = true;
+            }
+        }
+
+        synchronized HyperLogLog snapshot() {
+            return HyperLogLog.fromBytes(sketch.toBytes());
+        }
+
+        synchronized byte[] takeDirtySnapshot() {
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            return sketch.toBytes();
+        }
+
+        synchronized void markDirty() {
+            dirty = true;
+        }
+
+        synchronized boolean isDirty() {
+            return dirty;
+        }
+    }
+}
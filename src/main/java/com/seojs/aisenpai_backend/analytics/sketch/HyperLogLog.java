@@ -0,0 +1,99 @@
+package com.seojs.aisenpai_backend.analytics.sketch;
+
+/**
+ * 고유 방문자 수 추정용 HyperLogLog (precision 14: 레지스터 16384개, 16KB, 표준 오차 약 0.8%)
+ *
+ * 레지스터별 최댓값만 보관하므로 병합(merge)은 레지스터별 max 이며, 같은 스케치를 여러 번 병합해도 결과가 같다.
+ * 스레드 안전하지 않으므로 공유 시 호출자가 동기화한다.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 14;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTER_COUNT) {
+            throw new IllegalArgumentException("Invalid HyperLogLog register size: "
+                    + (bytes == null ? null : bytes.length));
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    /**
+     * 값 추가 - 레지스터가 바뀌었으면 true
+     */
+    public boolean offer(String value) {
+        return offerHash(hash64(value));
+    }
+
+    boolean offerHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        long remaining = hash << PRECISION;
+        int rank = Math.min(Long.numberOfLeadingZeros(remaining), 64 - PRECISION) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+            return true;
+        }
+        return false;
+    }
+
+    public void merge(HyperLogLog other) {
+        byte[] otherRegisters = other.registers;
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (otherRegisters[i] > registers[i]) {
+                registers[i] = otherRegisters[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        // 작은 카디널리티는 linear counting 으로 보정 (64비트 해시라 큰 범위 보정은 불필요)
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * FNV-1a 64 + murmur3 fmix64 (UUID 세션 ID 처럼 짧은 문자열의 비트 분산용)
+     */
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,186 @@
+package com.seojs.aisenpai_backend.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 고정 크기 버퍼 + 전용 writer 스레드 하나로 묶음 기록하는 비동기 writer (PageViewIngestBuffer, LoginHistoryService)
+ *
+ * 요청 스레드는 offer 로 넣기만 하고 (가득 차면 대기 없이 버림), writer 스레드가 첫 항목 이후 flushInterval 안에서
+ * batchSize 개까지 모아 sink 에 넘긴다. sink 가 실패하면 같은 묶음을 maxWriteAttempts 번까지 다시 넘긴다.
+ * (sink 는 호출마다 새 엔티티를 만드는 등 재호출에 안전해야 함)
+ * stop() 은 writer 가 들고 있던 묶음과 버퍼에 남은 항목을 모두 기록한다.
+ * 지표: {metricPrefix}.dropped / {metricPrefix}.write-failed 카운터, {metricPrefix}.buffered 게이지
+ */
+@Slf4j
+public class BatchingWriter<T> {
+
+    private final String name;
+    private final Consumer<List<T>> sink;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxWriteAttempts;
+    private final long retryDelayMillis;
+    private final Counter dropped;
+    private final Counter writeFailed;
+
+    // writer 가 종료될 때 들고 있던 미기록 묶음 (stop() 에서 기록)
+    private final List<T> unwritten = new ArrayList<>();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public BatchingWriter(String name, Consumer<List<T>> sink, MeterRegistry meterRegistry, String metricPrefix,
+            int capacity, int batchSize, long flushIntervalMillis, int maxWriteAttempts, long retryDelayMillis) {
+        this.name = name;
+        this.sink = sink;
+        capacity = Math.max(1, capacity);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, capacity));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.maxWriteAttempts = Math.max(1, maxWriteAttempts);
+        this.retryDelayMillis = Math.max(0, retryDelayMillis);
+
+        this.dropped = Counter.builder(metricPrefix + ".dropped")
+                .description("Records dropped because the " + name + " buffer was full")
+                .register(meterRegistry);
+        this.writeFailed = Counter.builder(metricPrefix + ".write-failed")
+                .description("Records lost after all " + name + " write attempts failed")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".buffered", queue, BlockingQueue::size)
+                .description("Records waiting in the " + name + " buffer")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriteLoop, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5_000);
+        }
+        // writer 종료 후 남은 항목 기록
+        List<T> remaining;
+        synchronized (unwritten) {
+            remaining = new ArrayList<>(unwritten);
+            unwritten.clear();
+        }
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            writeWithRetry(remaining.subList(i, Math.min(i + batchSize, remaining.size())), false);
+        }
+    }
+
+    /**
+     * 버퍼에 추가 - 가득 차면 false (호출 스레드는 대기하지 않음)
+     */
+    public boolean offer(T item) {
+        if (!queue.offer(item)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    /**
+     * 지금 버퍼에 있는 항목을 최대 batchSize 개 기록하고 기록 시도한 개수 반환 (재시도 없이 한 번)
+     */
+    public int drain() {
+        List<T> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            try {
+                writeWithRetry(batch, false);
+            } catch (InterruptedException e) {
+                // interruptible=false 이면 대기하지 않으므로 발생하지 않음
+                Thread.currentThread().interrupt();
+            }
+        }
+        return batch.size();
+    }
+
+    private void runWriteLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                T first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 항목 이후 flushInterval 안에서 batchSize 까지 모음
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeWithRetry(batch, true);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // 종료 중 - 들고 있던 묶음은 stop() 에서 기록
+                synchronized (unwritten) {
+                    unwritten.addAll(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 묶음 기록 - 실패하면 retryDelay 후 같은 묶음으로 재시도, 모두 실패하면 버리고 write-failed 에 반영
+     * interruptible 이 false 면 (종료 중) 재시도 사이에 대기하지 않음
+     */
+    private void writeWithRetry(List<T> batch, boolean interruptible) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.accept(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxWriteAttempts) {
+                    writeFailed.increment(batch.size());
+                    log.warn("{} failed to write {} record(s) after {} attempt(s): {}", name, batch.size(), attempt,
+                            e.getMessage());
+                    return;
+                }
+                log.debug("{} write attempt {} failed: {}", name, attempt, e.getMessage());
+                if (interruptible) {
+                    Thread.sleep(retryDelayMillis);
+                }
+            }
+        }
+    }
+}
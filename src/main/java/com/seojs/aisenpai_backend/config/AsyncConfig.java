@@ -1,5 +1,6 @@
 package com.seojs.aisenpai_backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -38,4 +39,32 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * LLM 헤징용 실행기 - 원 요청/헤지 요청을 호출 스레드 밖에서 실행 (대기열 없이 필요한 만큼 생성)
+     */
+    @Bean(name = "llmHedgeExecutor")
+    public Executor llmHedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(0);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("llm-hedge-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 일별 통계 백필용 실행기 - 동시에 쓰는 DB 커넥션 수를 concurrency 로 제한
+     */
+    @Bean(name = "statsBackfillExecutor")
+    public Executor statsBackfillExecutor(@Value("${app.analytics.backfill.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, concurrency));
+        executor.setMaxPoolSize(Math.max(1, concurrency));
+        executor.setThreadNamePrefix("stats-backfill-");
+        executor.initialize();
+        return executor;
+    }
 }
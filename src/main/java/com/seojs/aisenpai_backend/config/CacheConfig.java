@@ -1,6 +1,9 @@
 package com.seojs.aisenpai_backend.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.seojs.aisenpai_backend.analytics.dto.AnalyticsReportDto;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -14,11 +17,45 @@ import java.util.concurrent.TimeUnit;
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(@Value("${app.analytics.query.live-ttl-ms:60000}") long analyticsLiveTtlMillis) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager("repositories");
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(5, TimeUnit.MINUTES)
                 .maximumSize(100)); // Limit to 100 entries globally to save memory
+
+        // 컴파일된 무시 패턴 / 규칙 매처는 변경 시 evict 되므로 오래 유지
+        cacheManager.registerCustomCache("ignoreMatchers", Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .maximumSize(1000)
+                .build());
+        cacheManager.registerCustomCache("ruleMatchers", Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .maximumSize(1000)
+                .build());
+
+        // 분석 조회 결과 - 확정된 기간은 만료 없이, 바뀔 수 있는 기간은 짧게 유지
+        long liveTtlNanos = TimeUnit.MILLISECONDS.toNanos(analyticsLiveTtlMillis);
+        cacheManager.registerCustomCache("analyticsReports", Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfter(new Expiry<Object, Object>() {
+                    @Override
+                    public long expireAfterCreate(Object key, Object value, long currentTime) {
+                        return value instanceof AnalyticsReportDto<?> report && report.isFinalized()
+                                ? Long.MAX_VALUE
+                                : liveTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build());
         return cacheManager;
     }
 }
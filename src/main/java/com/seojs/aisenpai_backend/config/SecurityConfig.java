@@ -1,6 +1,7 @@
 package com.seojs.aisenpai_backend.config;
 
 import com.seojs.aisenpai_backend.github.service.CustomOAuth2UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +37,8 @@ public class SecurityConfig {
                                 .addFilterAfter(new GitHubTokenValidationFilter(authorizedClientService),
                                                 BasicAuthenticationFilter.class)
                                 .authorizeHttpRequests(authorize -> authorize
+                                                // SSE 응답 완료 시의 async dispatch 는 최초 요청에서 이미 인가됨
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                                 .requestMatchers("/api/github/status", "/oauth2/**").permitAll()
                                                 .requestMatchers("/api/github/webhook/**").permitAll()
                                                 .requestMatchers("/css/**", "/js/**", "/images/**", "/static/**",
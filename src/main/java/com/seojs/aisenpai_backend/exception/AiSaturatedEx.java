@@ -0,0 +1,24 @@
+package com.seojs.aisenpai_backend.exception;
+
+public class AiSaturatedEx extends RuntimeException {
+
+    public AiSaturatedEx() {
+        super();
+    }
+
+    public AiSaturatedEx(String message) {
+        super(message);
+    }
+
+    public AiSaturatedEx(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public AiSaturatedEx(Throwable cause) {
+        super(cause);
+    }
+
+    protected AiSaturatedEx(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,24 @@
+package com.seojs.aisenpai_backend.exception;
+
+public class AiUnavailableEx extends RuntimeException {
+
+    public AiUnavailableEx() {
+        super();
+    }
+
+    public AiUnavailableEx(String message) {
+        super(message);
+    }
+
+    public AiUnavailableEx(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public AiUnavailableEx(Throwable cause) {
+        super(cause);
+    }
+
+    protected AiUnavailableEx(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -46,6 +46,15 @@ public class ExceptionRestControllerAdvice {
         return new ErrorDto(errorCode, message);
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidFilePatternEx.class)
+    public ErrorDto invalidFilePattern(InvalidFilePatternEx e) {
+        String errorCode = "INVALID_FILE_PATTERN";
+        String message = e.getMessage();
+        log.error("{} : {}", errorCode, message);
+        return new ErrorDto(errorCode, message);
+    }
+
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     @ExceptionHandler(SecurityException.class)
     public ErrorDto securityException(SecurityException e) {
@@ -108,4 +117,31 @@ public class ExceptionRestControllerAdvice {
         log.error("{} : {}", errorCode, message);
         return new ErrorDto(errorCode, message);
     }
+
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    @ExceptionHandler(PromptTooLargeEx.class)
+    public ErrorDto promptTooLarge(PromptTooLargeEx e) {
+        String errorCode = "PROMPT_TOO_LARGE";
+        String message = e.getMessage();
+        log.error("{} : {}", errorCode, message);
+        return new ErrorDto(errorCode, message);
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(AiSaturatedEx.class)
+    public ErrorDto aiSaturated(AiSaturatedEx e) {
+        String errorCode = "AI_SATURATED";
+        String message = e.getMessage();
+        log.warn("{} : {}", errorCode, message);
+        return new ErrorDto(errorCode, message);
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(AiUnavailableEx.class)
+    public ErrorDto aiUnavailable(AiUnavailableEx e) {
+        String errorCode = "AI_UNAVAILABLE";
+        String message = e.getMessage();
+        log.warn("{} : {}", errorCode, message);
+        return new ErrorDto(errorCode, message);
+    }
 }
@@ -0,0 +1,24 @@
+package com.seojs.aisenpai_backend.exception;
+
+public class InvalidFilePatternEx extends RuntimeException {
+
+    public InvalidFilePatternEx() {
+        super();
+    }
+
+    public InvalidFilePatternEx(String message) {
+        super(message);
+    }
+
+    public InvalidFilePatternEx(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidFilePatternEx(Throwable cause) {
+        super(cause);
+    }
+
+    protected InvalidFilePatternEx(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,22 @@
+package com.seojs.aisenpai_backend.exception;
+
+import java.time.Duration;
+
+public class OpenAiRateLimitEx extends RuntimeException {
+
+    // 응답의 Retry-After 헤더 값 (없으면 null)
+    private final Duration retryAfter;
+
+    public OpenAiRateLimitEx(String message) {
+        this(message, null);
+    }
+
+    public OpenAiRateLimitEx(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
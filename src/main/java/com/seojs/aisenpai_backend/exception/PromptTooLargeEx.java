@@ -0,0 +1,24 @@
+package com.seojs.aisenpai_backend.exception;
+
+public class PromptTooLargeEx extends RuntimeException {
+
+    public PromptTooLargeEx() {
+        super();
+    }
+
+    public PromptTooLargeEx(String message) {
+        super(message);
+    }
+
+    public PromptTooLargeEx(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PromptTooLargeEx(Throwable cause) {
+        super(cause);
+    }
+
+    protected PromptTooLargeEx(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -1,6 +1,7 @@
 package com.seojs.aisenpai_backend.github.controller;
 
 import com.seojs.aisenpai_backend.github.dto.GitRepositoryWithWebhookResponseDto;
+import com.seojs.aisenpai_backend.github.dto.ModelRoutingDto;
 import com.seojs.aisenpai_backend.github.dto.OpenAiKeyDto;
 import com.seojs.aisenpai_backend.github.dto.ReviewSettingsDto;
 import com.seojs.aisenpai_backend.github.service.GithubService;
@@ -89,6 +90,19 @@ public class GithubApiController {
         return githubService.updateReviewSettings(owner, dto);
     }
 
+    @GetMapping("/model-routing")
+    public ModelRoutingDto getModelRouting(@AuthenticationPrincipal OAuth2User principal) {
+        String owner = principal.getAttribute("login");
+        return githubService.getModelRouting(owner);
+    }
+
+    @PatchMapping("/model-routing")
+    public Long updateModelRouting(@AuthenticationPrincipal OAuth2User principal,
+            @RequestBody ModelRoutingDto dto) {
+        String owner = principal.getAttribute("login");
+        return githubService.updateModelRouting(owner, dto);
+    }
+
     @GetMapping("/ignore")
     public List<String> getIgnorePatterns(@AuthenticationPrincipal OAuth2User principal) {
         String owner = principal.getAttribute("login");
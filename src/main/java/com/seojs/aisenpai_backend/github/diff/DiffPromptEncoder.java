@@ -0,0 +1,84 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+
+import java.util.List;
+
+/**
+ * LLM user 프롬프트용 변경 파일 인코더
+ *
+ * JSON 직렬화 대신 파일명/상태/증감 헤더 + 이스케이프되지 않은 hunk 본문만 텍스트로 출력한다.
+ * (blobUrl, rawUrl, contentsUrl, sha 등 모델에 불필요한 필드 제외)
+ *
+ * <pre>
+ * ### src/main/java/Example.java (modified, +3 -1)
+ * &#64;&#64; -10,4 +10,6 &#64;&#64;
+ *  context
+ * +added
+ * </pre>
+ */
+public final class DiffPromptEncoder {
+
+    // 스레드별 재사용 버퍼 - 비정상적으로 커진 버퍼는 유지하지 않음
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    private DiffPromptEncoder() {
+    }
+
+    public static String encode(List<ChangedFileDto> changedFiles) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        try {
+            encodeTo(changedFiles, buffer);
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+                BUFFER.remove();
+            } else {
+                buffer.setLength(0);
+            }
+        }
+    }
+
+    public static void encodeTo(List<ChangedFileDto> changedFiles, StringBuilder out) {
+        if (changedFiles == null) {
+            return;
+        }
+
+        for (ChangedFileDto file : changedFiles) {
+            appendFile(file, out);
+        }
+    }
+
+    /**
+     * 파일 하나의 인코딩 결과 (토큰 추정용)
+     */
+    public static String encodeFile(ChangedFileDto file) {
+        StringBuilder out = new StringBuilder();
+        appendFile(file, out);
+        return out.toString();
+    }
+
+    private static void appendFile(ChangedFileDto file, StringBuilder out) {
+        out.append("### ").append(file.getFilename())
+                .append(" (").append(file.getStatus())
+                .append(", +").append(file.getAdditions())
+                .append(" -").append(file.getDeletions())
+                .append(")\n");
+
+        String patch = file.getPatch();
+        if (patch == null || patch.isEmpty()) {
+            out.append("(diff 없음: 바이너리 또는 대용량 파일)\n\n");
+            return;
+        }
+
+        out.append(patch);
+        if (patch.charAt(patch.length() - 1) != '\n') {
+            out.append('\n');
+        }
+        out.append('\n');
+    }
+}
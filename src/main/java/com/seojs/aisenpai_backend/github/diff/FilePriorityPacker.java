@@ -0,0 +1,128 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+
+/**
+ * 토큰 예산 안에 들어가도록 변경 파일을 우선순위대로 채워 넣는 패커 (결정적)
+ *
+ * 우선순위: 소스 코드 > 테스트 > 설정/빌드 > 문서/기타, 같은 분류 안에서는 변경량이 큰 순, 파일명 순.
+ * 예산을 넘는 파일은 diff 를 요약 문구로 바꾸고, 요약조차 들어가지 않으면 제외한다.
+ * 결과 목록은 원래 파일 순서를 유지한다.
+ */
+public final class FilePriorityPacker {
+
+    public static final String OMITTED_PATCH = "(토큰 예산 초과로 diff 생략)";
+
+    private static final List<String> TEST_DIRS = List.of("/test/", "/tests/", "/__tests__/", "/spec/");
+    // 확장자를 뗀 파일명 기준 (FooTest, foo_test, foo.spec, test_foo)
+    private static final List<String> TEST_NAME_SUFFIXES = List.of("Test", "Tests", "IT", "Spec", "_test",
+            ".test", ".spec", "_spec");
+    private static final List<String> CONFIG_SUFFIXES = List.of(".yml", ".yaml", ".json", ".xml", ".toml",
+            ".properties", ".gradle", ".kts", ".ini", ".cfg", ".conf", ".lock", "dockerfile", "makefile");
+    private static final List<String> DOC_SUFFIXES = List.of(".md", ".txt", ".rst", ".adoc", ".csv", ".svg",
+            ".png", ".jpg", ".jpeg", ".gif", ".ico", ".pdf");
+
+    private FilePriorityPacker() {
+    }
+
+    /**
+     * files: 포함/요약된 파일 (원래 순서), tokens: 포함된 파일 토큰 합계
+     */
+    public record Packed(List<ChangedFileDto> files, int tokens, int summarized, int dropped) {
+    }
+
+    public static Packed pack(List<ChangedFileDto> files, ToIntFunction<String> tokenCounter, int budget) {
+        int size = files.size();
+        Integer[] order = new Integer[size];
+        int[] tiers = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            tiers[i] = tier(files.get(i).getFilename());
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> tiers[i])
+                .thenComparing(i -> -files.get(i).getChanges())
+                .thenComparing(i -> String.valueOf(files.get(i).getFilename())));
+
+        ChangedFileDto[] packed = new ChangedFileDto[size];
+        int remaining = budget;
+        int summarized = 0;
+        int dropped = 0;
+
+        for (int index : order) {
+            ChangedFileDto file = files.get(index);
+            int full = tokenCounter.applyAsInt(DiffPromptEncoder.encodeFile(file));
+            if (full <= remaining) {
+                packed[index] = file;
+                remaining -= full;
+                continue;
+            }
+
+            ChangedFileDto summary = file.withPatch(OMITTED_PATCH);
+            int summaryTokens = tokenCounter.applyAsInt(DiffPromptEncoder.encodeFile(summary));
+            if (summaryTokens <= remaining) {
+                packed[index] = summary;
+                remaining -= summaryTokens;
+                summarized++;
+            } else {
+                dropped++;
+            }
+        }
+
+        List<ChangedFileDto> result = new ArrayList<>(size - dropped);
+        for (ChangedFileDto file : packed) {
+            if (file != null) {
+                result.add(file);
+            }
+        }
+        return new Packed(result, budget - remaining, summarized, dropped);
+    }
+
+    /**
+     * 0: 소스, 1: 테스트, 2: 설정/빌드, 3: 문서/기타
+     */
+    static int tier(String filename) {
+        if (filename == null) {
+            return 3;
+        }
+        String path = "/" + filename.toLowerCase(Locale.ROOT);
+        String name = path.substring(path.lastIndexOf('/') + 1);
+
+        for (String suffix : DOC_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                return 3;
+            }
+        }
+        for (String suffix : CONFIG_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                return 2;
+            }
+        }
+        for (String dir : TEST_DIRS) {
+            if (path.contains(dir)) {
+                return 1;
+            }
+        }
+        String baseName = filename.substring(filename.lastIndexOf('/') + 1);
+        int dot = baseName.lastIndexOf('.');
+        if (dot < 0) {
+            return 3;
+        }
+        baseName = baseName.substring(0, dot);
+        if (baseName.startsWith("test_")) {
+            return 1;
+        }
+        for (String suffix : TEST_NAME_SUFFIXES) {
+            if (baseName.endsWith(suffix)) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,163 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 리뷰 가치가 없는 생성/압축(minified) 파일 판별
+ *
+ * 파일명(lockfile, *.min.js, source map), 파일 첫 주석의 생성 헤더, 추가 라인 길이, 문자 엔트로피를 본다.
+ */
+public final class GeneratedFileDetector {
+
+    private static final Set<String> LOCKFILE_NAMES = Set.of(
+            "package-lock.json", "yarn.lock", "pnpm-lock.yaml", "npm-shrinkwrap.json", "bun.lockb",
+            "gemfile.lock", "cargo.lock", "poetry.lock", "pipfile.lock", "composer.lock", "go.sum",
+            "gradle.lockfile", "flake.lock", "podfile.lock", "packages.lock.json");
+
+    private static final List<String> MINIFIED_SUFFIXES = List.of(".min.js", ".min.css", ".min.mjs", ".map",
+            ".bundle.js", ".chunk.js", ".pb.go", "_pb2.py", ".g.dart", ".designer.cs");
+
+    // 생성 도구들이 쓰는 관례적인 헤더만 인정 (@generated, Go 의 "Code generated ... DO NOT EDIT.", protoc, .NET)
+    // "id is auto-generated" 같은 일반 주석은 생성 파일로 보지 않음
+    private static final Pattern GENERATED_HEADER = Pattern.compile(
+            "@generated\\b|^code generated .+ do not edit\\.?$|generated by the protocol buffer compiler"
+                    + "|<auto-generated\\b");
+    private static final List<String> COMMENT_PREFIXES = List.of("//", "/*", "*", "#", "<!--", "--", ";");
+
+    // 헤더 마커는 파일 첫 줄부터 시작하는 헝크에서, 코드가 나오기 전 앞부분 주석 라인만 검사
+    private static final int MARKER_SCAN_LINES = 10;
+    private static final int MINIFIED_MAX_LINE = 500;
+    private static final int MINIFIED_AVG_LINE = 200;
+    private static final int HUGE_LINE = 5_000;
+    // base64/해시 덩어리 판별 (일반 소스 코드는 보통 4.0 ~ 5.0 bits/char)
+    private static final double BLOB_ENTROPY = 5.5;
+    private static final int ENTROPY_MIN_CHARS = 1_024;
+    private static final int ENTROPY_SAMPLE_CHARS = 64 * 1024;
+
+    private GeneratedFileDetector() {
+    }
+
+    /**
+     * 생성/압축 파일이면 사유를, 아니면 null 반환
+     */
+    public static String detect(ChangedFileDto file) {
+        String filename = file.getFilename();
+        if (filename != null) {
+            String name = filename.substring(filename.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+            if (LOCKFILE_NAMES.contains(name)) {
+                return "lockfile";
+            }
+            for (String suffix : MINIFIED_SUFFIXES) {
+                if (name.endsWith(suffix)) {
+                    return "generated file name";
+                }
+            }
+        }
+
+        String patch = file.getPatch();
+        if (patch == null || patch.isEmpty()) {
+            return null;
+        }
+
+        int firstLineEnd = patch.indexOf('\n');
+        String firstLine = firstLineEnd < 0 ? patch : patch.substring(0, firstLineEnd);
+        boolean inHeader = firstLine.contains(" +1,") || firstLine.contains(" +1 ");
+
+        int addedLines = 0;
+        long addedChars = 0;
+        int maxLine = 0;
+        int[] histogram = new int[128];
+        int otherChars = 0;
+        int sampled = 0;
+
+        int pos = 0;
+        int length = patch.length();
+        while (pos < length) {
+            int end = patch.indexOf('\n', pos);
+            if (end < 0) {
+                end = length;
+            }
+
+            if (patch.charAt(pos) == '+') {
+                int lineLength = end - pos - 1;
+                addedLines++;
+                addedChars += lineLength;
+                maxLine = Math.max(maxLine, lineLength);
+
+                if (inHeader && addedLines <= MARKER_SCAN_LINES) {
+                    String comment = headerComment(patch, pos + 1, end);
+                    if (comment == null) {
+                        inHeader = false;
+                    } else if (GENERATED_HEADER.matcher(comment).find()) {
+                        return "generated header marker";
+                    }
+                }
+
+                for (int i = pos + 1; i < end && sampled < ENTROPY_SAMPLE_CHARS; i++, sampled++) {
+                    char c = patch.charAt(i);
+                    if (c < 128) {
+                        histogram[c]++;
+                    } else {
+                        otherChars++;
+                    }
+                }
+            }
+            pos = end + 1;
+        }
+
+        if (addedLines == 0) {
+            return null;
+        }
+        if (maxLine > HUGE_LINE
+                || (maxLine >= MINIFIED_MAX_LINE && addedChars / addedLines >= MINIFIED_AVG_LINE)) {
+            return "minified content";
+        }
+        if (sampled >= ENTROPY_MIN_CHARS && entropy(histogram, otherChars, sampled) >= BLOB_ENTROPY) {
+            return "high entropy content";
+        }
+        return null;
+    }
+
+    /**
+     * 주석 라인이면 주석 기호를 뗀 소문자 본문, 빈 줄이면 "", 코드 라인이면 null
+     */
+    private static String headerComment(String patch, int start, int end) {
+        String line = patch.substring(start, Math.min(end, start + 200)).strip();
+        if (line.isEmpty()) {
+            return "";
+        }
+        for (String prefix : COMMENT_PREFIXES) {
+            if (line.startsWith(prefix)) {
+                String body = line.substring(prefix.length());
+                if (body.endsWith("*/") || body.endsWith("-->")) {
+                    body = body.substring(0, body.length() - (body.endsWith("*/") ? 2 : 3));
+                }
+                return body.strip().toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 문자 단위 Shannon 엔트로피 (bits/char) - 비 ASCII 문자는 한 버킷으로 취급
+     */
+    static double entropy(int[] histogram, int otherChars, int total) {
+        double entropy = 0.0;
+        for (int count : histogram) {
+            if (count > 0) {
+                double p = (double) count / total;
+                entropy -= p * (Math.log(p) / Math.log(2));
+            }
+        }
+        if (otherChars > 0) {
+            double p = (double) otherChars / total;
+            entropy -= p * (Math.log(p) / Math.log(2));
+        }
+        return entropy;
+    }
+}
@@ -0,0 +1,171 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * unified diff 의 변경되지 않은 컨텍스트 라인을 변경 라인 앞뒤 contextLines 줄까지만 남기고 잘라냄
+ * (diff -U N 과 동일하게 헝크를 분할하고 헤더를 다시 계산)
+ */
+public final class HunkContextTrimmer {
+
+    private HunkContextTrimmer() {
+    }
+
+    public static String trim(String patch, int contextLines) {
+        if (patch == null || patch.isEmpty() || contextLines < 0) {
+            return patch;
+        }
+
+        StringBuilder out = new StringBuilder(patch.length());
+        List<String> hunkLines = new ArrayList<>();
+        int oldStart = 0;
+        int newStart = 0;
+        String section = "";
+        boolean inHunk = false;
+
+        for (String line : patch.split("\n", -1)) {
+            if (line.startsWith("@@")) {
+                if (inHunk) {
+                    appendTrimmedHunk(out, hunkLines, oldStart, newStart, section, contextLines);
+                }
+                int[] header = parseHeader(line);
+                if (header == null) {
+                    // 헤더를 해석할 수 없으면 원본을 그대로 사용
+                    return patch;
+                }
+                // count 가 0 이면 start 는 "직전 라인" 이므로 다음 라인 번호로 보정
+                oldStart = header[1] == 0 ? header[0] + 1 : header[0];
+                newStart = header[3] == 0 ? header[2] + 1 : header[2];
+                int sectionStart = line.indexOf("@@", 2);
+                section = sectionStart < 0 ? "" : line.substring(sectionStart + 2);
+                hunkLines.clear();
+                inHunk = true;
+            } else if (inHunk) {
+                hunkLines.add(line);
+            } else if (!line.isEmpty()) {
+                return patch;
+            }
+        }
+        if (inHunk) {
+            appendTrimmedHunk(out, hunkLines, oldStart, newStart, section, contextLines);
+        }
+
+        if (out.length() >= patch.length()) {
+            return patch;
+        }
+        if (out.length() > 0 && out.charAt(out.length() - 1) == '\n' && !patch.endsWith("\n")) {
+            out.setLength(out.length() - 1);
+        }
+        return out.toString();
+    }
+
+    private static void appendTrimmedHunk(StringBuilder out, List<String> lines, int oldStart, int newStart,
+            String section, int contextLines) {
+        // split("\n", -1) 이 남긴 마지막 빈 문자열 제거
+        int size = lines.size();
+        while (size > 0 && lines.get(size - 1).isEmpty()) {
+            size--;
+        }
+
+        // 각 라인 시작 시점의 old/new 라인 번호
+        int[] oldNumbers = new int[size];
+        int[] newNumbers = new int[size];
+        boolean[] changed = new boolean[size];
+        int oldLine = oldStart;
+        int newLine = newStart;
+        for (int i = 0; i < size; i++) {
+            oldNumbers[i] = oldLine;
+            newNumbers[i] = newLine;
+            String line = lines.get(i);
+            char marker = line.isEmpty() ? ' ' : line.charAt(0);
+            if (marker == '+') {
+                changed[i] = true;
+                newLine++;
+            } else if (marker == '-') {
+                changed[i] = true;
+                oldLine++;
+            } else if (marker != '\\') {
+                oldLine++;
+                newLine++;
+            }
+        }
+
+        int i = 0;
+        while (i < size) {
+            if (!changed[i]) {
+                i++;
+                continue;
+            }
+
+            int from = Math.max(0, i - contextLines);
+            // 다음 변경까지의 컨텍스트가 2 * contextLines 이하면 같은 헝크로 합침
+            int lastChange = i;
+            int j = i + 1;
+            while (j < size) {
+                if (changed[j]) {
+                    lastChange = j;
+                } else if (j - lastChange > 2 * contextLines) {
+                    break;
+                }
+                j++;
+            }
+            int to = Math.min(size, lastChange + contextLines + 1);
+            // "\ No newline at end of file" 표시는 직전 라인과 함께 유지
+            while (to < size && lines.get(to).startsWith("\\")) {
+                to++;
+            }
+
+            // 함수명 등 섹션 헤더는 원래 헝크의 첫 조각에만 유지
+            appendHunk(out, lines, from, to, oldNumbers[from], newNumbers[from], section);
+            section = "";
+            i = to;
+        }
+    }
+
+    private static void appendHunk(StringBuilder out, List<String> lines, int from, int to, int oldStart,
+            int newStart, String section) {
+        int oldCount = 0;
+        int newCount = 0;
+        for (int k = from; k < to; k++) {
+            String line = lines.get(k);
+            char marker = line.isEmpty() ? ' ' : line.charAt(0);
+            if (marker == '+') {
+                newCount++;
+            } else if (marker == '-') {
+                oldCount++;
+            } else if (marker != '\\') {
+                oldCount++;
+                newCount++;
+            }
+        }
+
+        out.append("@@ -").append(oldCount == 0 ? oldStart - 1 : oldStart).append(',').append(oldCount)
+                .append(" +").append(newCount == 0 ? newStart - 1 : newStart).append(',').append(newCount)
+                .append(" @@").append(section).append('\n');
+        for (int k = from; k < to; k++) {
+            out.append(lines.get(k)).append('\n');
+        }
+    }
+
+    /**
+     * "@@ -a,b +c,d @@" 에서 [a, b, c, d] 추출 (count 생략 시 1) - 실패 시 null
+     */
+    private static int[] parseHeader(String line) {
+        try {
+            String[] parts = line.split("\\s+");
+            int[] old = parseRange(parts[1]);
+            int[] updated = parseRange(parts[2]);
+            return new int[] { old[0], old[1], updated[0], updated[1] };
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int[] parseRange(String range) {
+        String[] values = range.substring(1).split(",");
+        int start = Integer.parseInt(values[0]);
+        int count = values.length > 1 ? Integer.parseInt(values[1]) : 1;
+        return new int[] { start, count };
+    }
+}
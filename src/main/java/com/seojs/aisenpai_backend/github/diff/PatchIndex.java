@@ -0,0 +1,342 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파일 하나의 unified diff patch 를 한 번만 파싱해 둔 인덱스 (불변)
+ *
+ * 새 파일 기준(RIGHT) 라인들의 텍스트/라인 번호/추가 여부를 배열로 보관하고,
+ * 추가된 라인은 공백 정규화된 텍스트 -> 라인 번호 해시맵으로 바로 조회할 수 있다.
+ */
+public final class PatchIndex {
+
+    public static final PatchIndex EMPTY = new PatchIndex(List.of(), new String[0], new String[0], new int[0],
+            new boolean[0], new int[0], Map.of(), 0);
+
+    private final List<Hunk> hunks;
+    // RIGHT 사이드 라인 (컨텍스트 + 추가 라인), diff 순서대로
+    private final String[] rightLines;
+    private final String[] normalizedLines;
+    private final int[] rightLineNumbers;
+    private final boolean[] rightAdded;
+    // rightLines 중 추가된 라인의 위치
+    private final int[] addedPositions;
+    // 공백 정규화된 추가 라인 텍스트 -> 첫 번째 라인 번호
+    private final Map<String, Integer> addedLineIndex;
+    private final int malformedHunks;
+    // 퍼지 매칭 시에만 지연 생성되는 라인별 토큰 해시
+    private volatile int[][] rightTokens;
+
+    private PatchIndex(List<Hunk> hunks, String[] rightLines, String[] normalizedLines, int[] rightLineNumbers,
+            boolean[] rightAdded, int[] addedPositions, Map<String, Integer> addedLineIndex, int malformedHunks) {
+        this.hunks = hunks;
+        this.rightLines = rightLines;
+        this.normalizedLines = normalizedLines;
+        this.rightLineNumbers = rightLineNumbers;
+        this.rightAdded = rightAdded;
+        this.addedPositions = addedPositions;
+        this.addedLineIndex = addedLineIndex;
+        this.malformedHunks = malformedHunks;
+    }
+
+    /**
+     * 헝크 헤더 정보 (@@ -oldStart,oldCount +newStart,newCount @@)
+     * firstRight/endRight 는 이 헝크에 속한 RIGHT 사이드 라인의 [시작, 끝) 위치
+     */
+    public record Hunk(int oldStart, int oldCount, int newStart, int newCount, int firstRight, int endRight) {
+    }
+
+    public static PatchIndex parse(String patch) {
+        if (patch == null || patch.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Hunk> hunks = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        List<String> normalizedLines = new ArrayList<>();
+        IntList lineNumbers = new IntList();
+        IntList addedPositions = new IntList();
+        Map<String, Integer> index = new HashMap<>();
+        int malformed = 0;
+
+        int[] header = null;
+        int hunkStart = 0;
+        int currentLine = -1; // -1: 헝크 헤더 파싱 실패, 다음 헝크까지 무시
+
+        int length = patch.length();
+        int pos = 0;
+        while (pos < length) {
+            int end = patch.indexOf('\n', pos);
+            if (end < 0) {
+                end = length;
+            }
+            int lineEnd = (end > pos && patch.charAt(end - 1) == '\r') ? end - 1 : end;
+            String line = patch.substring(pos, lineEnd);
+            pos = end + 1;
+
+            if (line.startsWith("@@")) {
+                if (header != null) {
+                    hunks.add(new Hunk(header[0], header[1], header[2], header[3], hunkStart, lines.size()));
+                }
+                header = parseHunkHeader(line);
+                hunkStart = lines.size();
+                if (header == null) {
+                    malformed++;
+                    currentLine = -1;
+                } else {
+                    currentLine = header[2] - 1;
+                }
+                continue;
+            }
+
+            if (currentLine == -1 || line.isEmpty()) {
+                continue;
+            }
+
+            char marker = line.charAt(0);
+            if (marker == ' ' || marker == '+') {
+                currentLine++;
+                String content = line.substring(1);
+                String normalized = normalizeWhitespace(content);
+                if (marker == '+') {
+                    addedPositions.add(lines.size());
+                    index.putIfAbsent(normalized, currentLine);
+                }
+                lines.add(content);
+                normalizedLines.add(normalized);
+                lineNumbers.add(currentLine);
+            }
+        }
+        if (header != null) {
+            hunks.add(new Hunk(header[0], header[1], header[2], header[3], hunkStart, lines.size()));
+        }
+
+        int[] added = addedPositions.toArray();
+        boolean[] addedFlags = new boolean[lines.size()];
+        for (int position : added) {
+            addedFlags[position] = true;
+        }
+
+        return new PatchIndex(Collections.unmodifiableList(hunks), lines.toArray(new String[0]),
+                normalizedLines.toArray(new String[0]), lineNumbers.toArray(), addedFlags, added, index, malformed);
+    }
+
+    /**
+     * 추가된 라인 중 target(한 줄)과 일치하는 라인 번호 조회 (공백 정규화 후 비교)
+     * 정확히 일치하는 라인이 있으면 해시 조회, 없으면 포함(contains) 여부로 첫 라인을 찾음
+     */
+    public Integer findAddedLine(String target) {
+        String normalizedTarget = normalizeWhitespace(target);
+        if (normalizedTarget.isEmpty()) {
+            return null;
+        }
+
+        Integer exact = addedLineIndex.get(normalizedTarget);
+        if (exact != null) {
+            return exact;
+        }
+
+        for (int position : addedPositions) {
+            if (normalizedLines[position].contains(normalizedTarget)) {
+                return rightLineNumbers[position];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * target(한 줄)과 일치하거나 포함하는 추가 라인 위치를 모두 조회 (공백 정규화 후 비교, 최대 limit 개)
+     * 정확히 일치하는 라인을 포함만 하는 라인보다 앞에 두고, 각각은 diff 순서를 따름
+     */
+    public int[] findAddedPositions(String target, int limit) {
+        String normalizedTarget = normalizeWhitespace(target);
+        if (normalizedTarget.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        IntList exact = new IntList();
+        IntList contains = new IntList();
+        for (int position : addedPositions) {
+            String line = normalizedLines[position];
+            if (line.equals(normalizedTarget)) {
+                exact.add(position);
+                if (exact.size() >= limit) {
+                    break;
+                }
+            } else if (exact.size() + contains.size() < limit && line.contains(normalizedTarget)) {
+                contains.add(position);
+            }
+        }
+
+        int[] result = new int[Math.min(limit, exact.size() + contains.size())];
+        int[] exactPositions = exact.toArray();
+        int copied = Math.min(exactPositions.length, result.length);
+        System.arraycopy(exactPositions, 0, result, 0, copied);
+        System.arraycopy(contains.toArray(), 0, result, copied, result.length - copied);
+        return result;
+    }
+
+    /**
+     * 앞뒤 공백 제거 + 연속 공백(탭 포함)을 단일 공백으로 치환
+     */
+    public static String normalizeWhitespace(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        int length = text.length();
+        StringBuilder sb = null;
+        boolean pendingSpace = false;
+        int written = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = written > 0;
+                if (sb == null) {
+                    sb = new StringBuilder(length);
+                    sb.append(text, 0, i);
+                }
+                continue;
+            }
+            if (sb != null) {
+                if (pendingSpace) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+            }
+            pendingSpace = false;
+            written++;
+        }
+        return sb == null ? text : sb.toString();
+    }
+
+    public List<Hunk> getHunks() {
+        return hunks;
+    }
+
+    public int rightSize() {
+        return rightLines.length;
+    }
+
+    public String rightLine(int position) {
+        return rightLines[position];
+    }
+
+    public String normalizedLine(int position) {
+        return normalizedLines[position];
+    }
+
+    /**
+     * 라인별 토큰 해시 (정렬됨) - 최초 호출 시 한 번만 생성
+     */
+    public int[] rightTokens(int position) {
+        int[][] tokens = rightTokens;
+        if (tokens == null) {
+            tokens = new int[normalizedLines.length][];
+            for (int i = 0; i < normalizedLines.length; i++) {
+                tokens[i] = SnippetAnchorer.tokenize(normalizedLines[i]);
+            }
+            rightTokens = tokens;
+        }
+        return tokens[position];
+    }
+
+    public int rightLineNumber(int position) {
+        return rightLineNumbers[position];
+    }
+
+    public boolean isAdded(int position) {
+        return rightAdded[position];
+    }
+
+    public int addedCount() {
+        return addedPositions.length;
+    }
+
+    public int addedPosition(int i) {
+        return addedPositions[i];
+    }
+
+    public int getMalformedHunks() {
+        return malformedHunks;
+    }
+
+    /**
+     * "@@ -a,b +c,d @@" 헤더 파싱 - 실패 시 null
+     */
+    private static int[] parseHunkHeader(String line) {
+        int minus = line.indexOf('-', 2);
+        int plus = line.indexOf('+', 2);
+        if (minus < 0 || plus < 0) {
+            return null;
+        }
+
+        int[] old = parseRange(line, minus + 1);
+        int[] updated = parseRange(line, plus + 1);
+        if (old == null || updated == null) {
+            return null;
+        }
+        return new int[] { old[0], old[1], updated[0], updated[1] };
+    }
+
+    private static int[] parseRange(String line, int from) {
+        int i = from;
+        int start = 0;
+        int digits = 0;
+        while (i < line.length() && Character.isDigit(line.charAt(i))) {
+            start = start * 10 + (line.charAt(i) - '0');
+            i++;
+            digits++;
+        }
+        if (digits == 0) {
+            return null;
+        }
+
+        int count = 1;
+        if (i < line.length() && line.charAt(i) == ',') {
+            i++;
+            count = 0;
+            digits = 0;
+            while (i < line.length() && Character.isDigit(line.charAt(i))) {
+                count = count * 10 + (line.charAt(i) - '0');
+                i++;
+                digits++;
+            }
+            if (digits == 0) {
+                return null;
+            }
+        }
+        return new int[] { start, count };
+    }
+
+    /**
+     * 박싱 없는 int 가변 배열
+     */
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            int[] result = new int[size];
+            System.arraycopy(values, 0, result, 0, size);
+            return result;
+        }
+    }
+}
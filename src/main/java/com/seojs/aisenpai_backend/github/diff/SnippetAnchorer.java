@@ -0,0 +1,200 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import java.util.Arrays;
+
+/**
+ * LLM 이 돌려준 codeSnippet 을 patch 의 추가 라인에 점수 기반으로 매칭
+ *
+ * 1) 공백 정규화 후 첫 줄이 정확히 일치 / 포함 -> 후보가 하나(또는 한 줄 스니펫)면 점수 1.0,
+ *    여럿이면 나머지 줄까지 정렬해 가장 잘 맞는 후보
+ * 2) 토큰 유사도(Dice) + 여러 줄 스니펫은 연속된 RIGHT 라인과 정렬해 평균 점수 계산
+ * 스캔 라인 수, 스니펫 줄 수, 라인당 토큰 수에 상한을 두어 코멘트당 CPU 비용을 제한한다.
+ */
+public final class SnippetAnchorer {
+
+    public static final double MIN_SCORE = 0.6;
+
+    static final int MAX_SNIPPET_LINES = 5;
+    static final int MAX_SCANNED_LINES = 5_000;
+    static final int MAX_TOKENS_PER_LINE = 64;
+
+    private SnippetAnchorer() {
+    }
+
+    /**
+     * 매칭 결과 (line: GitHub 코멘트용 라인 번호, score: 0.0 ~ 1.0)
+     */
+    public record AnchorMatch(int line, double score) {
+    }
+
+    /**
+     * 가장 점수가 높은 추가 라인을 찾음 - MIN_SCORE 미만이면 null
+     */
+    public static AnchorMatch anchor(PatchIndex index, String codeSnippet) {
+        if (index == null || codeSnippet == null || index.addedCount() == 0) {
+            return null;
+        }
+
+        String[] snippetLines = codeSnippet.lines()
+                .map(PatchIndex::normalizeWhitespace)
+                .filter(line -> !line.isEmpty())
+                .limit(MAX_SNIPPET_LINES)
+                .toArray(String[]::new);
+        if (snippetLines.length == 0) {
+            return null;
+        }
+
+        // 첫 줄이 그대로 있는 라인 - 한 줄 스니펫이거나 후보가 하나면 바로 사용
+        int[] candidates = index.findAddedPositions(snippetLines[0], MAX_SCANNED_LINES);
+        if (candidates.length == 1 || (candidates.length > 1 && snippetLines.length == 1)) {
+            return new AnchorMatch(index.rightLineNumber(candidates[0]), 1.0);
+        }
+
+        int[][] snippetTokens = new int[snippetLines.length][];
+        for (int i = 0; i < snippetLines.length; i++) {
+            snippetTokens[i] = tokenize(snippetLines[i]);
+        }
+        if (candidates.length > 1) {
+            return bestCandidate(index, candidates, snippetTokens);
+        }
+        if (snippetTokens[0].length == 0) {
+            return null;
+        }
+
+        int bestLine = -1;
+        double bestScore = 0.0;
+        int scanned = Math.min(index.addedCount(), MAX_SCANNED_LINES);
+
+        for (int i = 0; i < scanned; i++) {
+            int position = index.addedPosition(i);
+            double score = alignmentScore(index, position, snippetTokens);
+            if (score > bestScore) {
+                bestScore = score;
+                bestLine = index.rightLineNumber(position);
+                if (score >= 1.0) {
+                    break;
+                }
+            }
+        }
+
+        if (bestLine < 0 || bestScore < MIN_SCORE) {
+            return null;
+        }
+        return new AnchorMatch(bestLine, bestScore);
+    }
+
+    /**
+     * 첫 줄이 일치하는 후보가 여럿이면 ("}", "return null;" 등) 나머지 줄까지 정렬해 가장 높은 후보 선택
+     * 첫 줄은 이미 일치했으므로 1.0 으로 두고, 동점이면 앞선 후보(정확히 일치 우선)를 사용
+     */
+    private static AnchorMatch bestCandidate(PatchIndex index, int[] candidates, int[][] snippetTokens) {
+        int bestPosition = candidates[0];
+        double bestScore = -1.0;
+        for (int position : candidates) {
+            double score = alignedRestScore(index, position, snippetTokens);
+            if (score > bestScore) {
+                bestScore = score;
+                bestPosition = position;
+                if (score >= 1.0) {
+                    break;
+                }
+            }
+        }
+        return new AnchorMatch(index.rightLineNumber(bestPosition), bestScore);
+    }
+
+    private static double alignedRestScore(PatchIndex index, int position, int[][] snippetTokens) {
+        double total = 1.0;
+        int aligned = 1;
+        for (int j = 1; j < snippetTokens.length && position + j < index.rightSize(); j++) {
+            total += dice(snippetTokens[j], index.rightTokens(position + j));
+            aligned++;
+        }
+        return total / Math.max(aligned, snippetTokens.length);
+    }
+
+    /**
+     * position 에서 시작하는 연속 RIGHT 라인들과 스니펫 각 줄의 유사도 평균
+     * 첫 줄 점수가 MIN_SCORE 의 절반도 안 되면 나머지 줄은 계산하지 않음
+     */
+    private static double alignmentScore(PatchIndex index, int position, int[][] snippetTokens) {
+        double first = dice(snippetTokens[0], index.rightTokens(position));
+        if (snippetTokens.length == 1 || first < MIN_SCORE / 2) {
+            return first;
+        }
+
+        double total = first;
+        int aligned = 1;
+        for (int j = 1; j < snippetTokens.length && position + j < index.rightSize(); j++) {
+            total += dice(snippetTokens[j], index.rightTokens(position + j));
+            aligned++;
+        }
+        // patch 끝에서 잘린 줄은 0점으로 처리
+        return total / Math.max(aligned, snippetTokens.length);
+    }
+
+    /**
+     * 두 정렬된 토큰 해시 배열의 Dice 계수 (중복 토큰은 multiset 으로 계산)
+     */
+    static double dice(int[] a, int[] b) {
+        if (a.length == 0 && b.length == 0) {
+            return 1.0;
+        }
+        if (a.length == 0 || b.length == 0) {
+            return 0.0;
+        }
+
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (2.0 * common) / (a.length + b.length);
+    }
+
+    /**
+     * 식별자/숫자 단위 + 단일 기호 단위로 토큰화한 뒤 해시 배열로 정렬
+     */
+    static int[] tokenize(String line) {
+        int[] tokens = new int[Math.min(line.length(), MAX_TOKENS_PER_LINE)];
+        int count = 0;
+        int i = 0;
+        int length = line.length();
+
+        while (i < length && count < tokens.length) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (Character.isLetterOrDigit(c) || c == '_' || c == '$') {
+                int hash = 0;
+                while (i < length) {
+                    char cc = line.charAt(i);
+                    if (!(Character.isLetterOrDigit(cc) || cc == '_' || cc == '$')) {
+                        break;
+                    }
+                    hash = 31 * hash + cc;
+                    i++;
+                }
+                tokens[count++] = hash;
+            } else {
+                tokens[count++] = -c - 1;
+                i++;
+            }
+        }
+
+        int[] result = count == tokens.length ? tokens : Arrays.copyOf(tokens, count);
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -17,4 +17,12 @@ public class ChangedFileDto {
     private String rawUrl;          // 파일의 raw URL
     private String contentsUrl;     // 파일의 contents URL
     private String patch;           // 파일의 patch 내용 (diff)
+
+    /**
+     * patch 만 교체한 사본 생성
+     */
+    public ChangedFileDto withPatch(String patch) {
+        return new ChangedFileDto(filename, status, additions, deletions, changes, lines, sha, blobUrl, rawUrl,
+                contentsUrl, patch);
+    }
 }
@@ -0,0 +1,16 @@
+package com.seojs.aisenpai_backend.github.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelRoutingDto {
+    private Boolean enabled;
+    private String fastModel;       // 작은 diff / 자동 리뷰용 모델
+    private String strongModel;     // 큰 diff / 수동 리뷰용 모델
+    private Integer smallDiffLines; // 이 값 이하 변경 라인은 fastModel
+    private Integer largeDiffLines; // 이 값 이상 변경 라인은 strongModel
+}
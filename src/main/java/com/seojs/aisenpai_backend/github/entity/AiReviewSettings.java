@@ -7,11 +7,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @NoArgsConstructor
 @Entity
 public class AiReviewSettings {
+    // 모든 계정/리뷰에서 동일한 고정 지시문 (프롬프트 맨 앞)
+    private static final String STATIC_INSTRUCTIONS = buildStaticInstructions();
+
+    // 톤/포커스/상세 수준 조합별 프롬프트 접두부 (조합 수가 enum 곱으로 고정되어 무효화 불필요)
+    private static final Map<PromptKey, String> PROMPT_PREFIXES = new ConcurrentHashMap<>();
+
     @Id
     private Long id;
 
@@ -50,6 +58,22 @@ public class AiReviewSettings {
     @Column(nullable = false)
     private String openaiModel = "gpt-4o-mini";
 
+    // 모델 라우팅 (변경 규모/요청 경로에 따라 빠른 모델과 고성능 모델 중 선택)
+    @Column(nullable = false)
+    private Boolean modelRoutingEnabled = false;
+
+    @Column(nullable = false)
+    private String fastModel = "gpt-4o-mini";
+
+    @Column(nullable = false)
+    private String strongModel = "gpt-4o";
+
+    @Column(nullable = false)
+    private Integer smallDiffLines = 50;
+
+    @Column(nullable = false)
+    private Integer largeDiffLines = 500;
+
     @Builder
     public AiReviewSettings(GithubAccount githubAccount) {
         this.githubAccount = githubAccount;
@@ -59,6 +83,11 @@ public class AiReviewSettings {
         this.autoReviewEnabled = false;
         this.autoPostToGithub = false;
         this.openaiModel = "gpt-4o-mini";
+        this.modelRoutingEnabled = false;
+        this.fastModel = "gpt-4o-mini";
+        this.strongModel = "gpt-4o";
+        this.smallDiffLines = 50;
+        this.largeDiffLines = 500;
         this.ignorePatterns = "package-lock.json, yarn.lock, *.lock, .env*, *.pem, *.key, .yml, .yaml";
     }
 
@@ -72,6 +101,40 @@ public class AiReviewSettings {
         this.openaiModel = openaiModel != null ? openaiModel : "gpt-4o-mini";
     }
 
+    public void updateModelRouting(Boolean enabled, String fastModel, String strongModel, Integer smallDiffLines,
+            Integer largeDiffLines) {
+        int small = smallDiffLines != null ? smallDiffLines : this.smallDiffLines;
+        int large = largeDiffLines != null ? largeDiffLines : this.largeDiffLines;
+        if (small < 0 || large < small) {
+            throw new IllegalArgumentException("Invalid diff thresholds: small=" + small + ", large=" + large);
+        }
+
+        this.modelRoutingEnabled = enabled != null ? enabled : false;
+        this.fastModel = (fastModel != null && !fastModel.isBlank()) ? fastModel : this.fastModel;
+        this.strongModel = (strongModel != null && !strongModel.isBlank()) ? strongModel : this.strongModel;
+        this.smallDiffLines = small;
+        this.largeDiffLines = large;
+    }
+
+    /**
+     * 변경 라인 수와 요청 경로로 리뷰 모델 결정
+     * - 라우팅 비활성: 설정된 기본 모델
+     * - smallDiffLines 이하: 빠른 모델, largeDiffLines 이상: 고성능 모델
+     * - 그 사이: 자동 리뷰는 빠른 모델, 수동 요청은 고성능 모델
+     */
+    public String routeModel(int changedLines, boolean autoReview) {
+        if (!Boolean.TRUE.equals(this.modelRoutingEnabled)) {
+            return this.openaiModel;
+        }
+        if (changedLines <= this.smallDiffLines) {
+            return this.fastModel;
+        }
+        if (changedLines >= this.largeDiffLines) {
+            return this.strongModel;
+        }
+        return autoReview ? this.fastModel : this.strongModel;
+    }
+
     public void updateIgnorePatterns(String ignorePatterns) {
         this.ignorePatterns = ignorePatterns;
     }
@@ -88,40 +151,50 @@ public class AiReviewSettings {
     }
 
     /**
-     * 설정된 옵션들을 조합하여 최종 시스템 프롬프트를 생성
+     * 설정된 옵션들과 변경 파일에 적용되는 규칙 라인만 조합하여 시스템 프롬프트를 생성
+     * 고정 지시문 + 톤/포커스/상세 수준은 메모이즈된 접두부를 재사용하고, 가변 영역인 규칙은 맨 뒤에 붙인다.
+     * (접두부가 리뷰마다 동일해야 provider 측 prompt caching 이 적용됨)
      */
-    public String buildSystemPrompt() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("당신은 시니어 코드 리뷰어입니다.\n\n");
-        sb.append("주어진 변경된 파일 목록을 바탕으로 코드 리뷰를 작성해 주세요.\n\n");
+    public String buildSystemPrompt(List<String> activeRules) {
+        String prefix = PROMPT_PREFIXES.computeIfAbsent(
+                new PromptKey(this.reviewTone, this.reviewFocus, this.detailLevel),
+                AiReviewSettings::buildPromptPrefix);
+        if (activeRules == null || activeRules.isEmpty()) {
+            return prefix;
+        }
+
+        StringBuilder sb = new StringBuilder(prefix.length() + 64 * activeRules.size() + 64);
+        sb.append(prefix);
+        sb.append("### 코드 리뷰 규칙\n");
+        sb.append("다음 규칙들을 엄격하게 준수하여 리뷰해 주세요:\n");
+        activeRules.forEach(rule -> sb.append(rule).append("\n"));
+        return sb.toString();
+    }
+
+    private record PromptKey(ReviewTone tone, ReviewFocus focus, DetailLevel detailLevel) {
+    }
+
+    private static String buildPromptPrefix(PromptKey key) {
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append(STATIC_INSTRUCTIONS);
 
         sb.append("### 리뷰 톤\n");
-        sb.append(this.reviewTone.getPrompt()).append("\n\n");
+        sb.append(key.tone().getPrompt()).append("\n\n");
 
         sb.append("### 리뷰 포커스\n");
-        sb.append(this.reviewFocus.getPrompt()).append("\n\n");
+        sb.append(key.focus().getPrompt()).append("\n\n");
 
         sb.append("### 상세 수준\n");
-        sb.append(this.detailLevel.getPrompt()).append("\n\n");
-
-        if (this.rules != null && !this.rules.isEmpty()) {
-            List<String> activeRules = this.rules.stream()
-                    .filter(Rule::isEnabled)
-                    .map(rule -> {
-                        String prefix = (rule.getTargetFilePattern() != null && !rule.getTargetFilePattern().isBlank())
-                                ? "[Target: " + rule.getTargetFilePattern() + "] "
-                                : "";
-                        return "- " + prefix + rule.getContent();
-                    })
-                    .toList();
-
-            if (!activeRules.isEmpty()) {
-                sb.append("### 코드 리뷰 규칙\n");
-                sb.append("다음 규칙들을 엄격하게 준수하여 리뷰해 주세요:\n");
-                activeRules.forEach(rule -> sb.append(rule).append("\n"));
-                sb.append("\n");
-            }
-        }
+        sb.append(key.detailLevel().getPrompt()).append("\n\n");
+
+        return sb.toString();
+    }
+
+    private static String buildStaticInstructions() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("당신은 시니어 코드 리뷰어입니다.\n\n");
+        sb.append("주어진 변경된 파일 목록을 바탕으로 코드 리뷰를 작성해 주세요.\n");
+        sb.append("각 파일은 '### 파일경로 (상태, +추가 -삭제)' 헤더 뒤에 unified diff 형식으로 제공됩니다.\n\n");
 
         sb.append("### 응답 형식 (매우 중요)\n");
         sb.append("반드시 아래 JSON 형식으로만 응답해 주세요. 마크다운 코드 블록(```json 등)도 포함하지 말고 오직 JSON 문자열만 반환하세요.\n");
@@ -138,7 +211,7 @@ public class AiReviewSettings {
         sb.append("      \"comment\": \"코멘트 내용 (한국어)\"\n");
         sb.append("    }\n");
         sb.append("  ]\n");
-        sb.append("}\n");
+        sb.append("}\n\n");
 
         return sb.toString();
     }
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 @Entity
 public class LoginHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "login_history_seq")
+    @SequenceGenerator(name = "login_history_seq", sequenceName = "login_history_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,9 +26,9 @@ public class LoginHistory {
     private String userAgent;
 
     @Builder
-    public LoginHistory(String loginId, String ipAddress, String userAgent) {
+    public LoginHistory(String loginId, LocalDateTime loginAt, String ipAddress, String userAgent) {
         this.loginId = loginId;
-        this.loginAt = LocalDateTime.now();
+        this.loginAt = loginAt != null ? loginAt : LocalDateTime.now();
         this.ipAddress = ipAddress;
         this.userAgent = userAgent;
     }
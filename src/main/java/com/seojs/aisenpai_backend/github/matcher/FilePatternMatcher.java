@@ -0,0 +1,312 @@
+package com.seojs.aisenpai_backend.github.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * gitignore 스타일 파일 패턴 묶음을 한 번에 컴파일한 매처 (불변, 스레드 안전)
+ *
+ * 단일 세그먼트 패턴은 리터럴 해시셋 / 접두사 / 접미사 인덱스로 처리하고,
+ * 나머지 패턴은 하나의 정규식으로 합쳐 경로당 한 번만 검사한다.
+ */
+public final class FilePatternMatcher {
+
+    public static final FilePatternMatcher EMPTY = new FilePatternMatcher(
+            Set.of(), Set.of(), new String[0], new String[0], new String[0], new String[0], null);
+
+    // 파일/디렉토리 어느 세그먼트든 일치하면 매칭 (예: "package-lock.json", "*.lock", ".env*")
+    private final Set<String> anySegmentLiterals;
+    // 마지막 세그먼트(파일명)를 제외한 디렉토리 세그먼트만 매칭 (예: "build/")
+    private final Set<String> dirSegmentLiterals;
+    private final String[] anySegmentSuffixes;
+    private final String[] anySegmentPrefixes;
+    private final String[] dirSegmentSuffixes;
+    private final String[] dirSegmentPrefixes;
+    private final Pattern combined;
+    // 리터럴 길이 비트마스크 - 길이가 다른 세그먼트는 해시 조회 없이 건너뜀
+    private final long anyLiteralLengths;
+    private final long dirLiteralLengths;
+
+    private FilePatternMatcher(Set<String> anySegmentLiterals, Set<String> dirSegmentLiterals,
+            String[] anySegmentSuffixes, String[] anySegmentPrefixes,
+            String[] dirSegmentSuffixes, String[] dirSegmentPrefixes, Pattern combined) {
+        this.anySegmentLiterals = anySegmentLiterals;
+        this.dirSegmentLiterals = dirSegmentLiterals;
+        this.anySegmentSuffixes = anySegmentSuffixes;
+        this.anySegmentPrefixes = anySegmentPrefixes;
+        this.dirSegmentSuffixes = dirSegmentSuffixes;
+        this.dirSegmentPrefixes = dirSegmentPrefixes;
+        this.combined = combined;
+        this.anyLiteralLengths = lengthMask(anySegmentLiterals);
+        this.dirLiteralLengths = lengthMask(dirSegmentLiterals);
+    }
+
+    /**
+     * 사용자 입력 패턴 목록을 컴파일
+     */
+    public static FilePatternMatcher compile(List<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return EMPTY;
+        }
+
+        Set<String> anyLiterals = new HashSet<>();
+        Set<String> dirLiterals = new HashSet<>();
+        List<String> anySuffixes = new ArrayList<>();
+        List<String> anyPrefixes = new ArrayList<>();
+        List<String> dirSuffixes = new ArrayList<>();
+        List<String> dirPrefixes = new ArrayList<>();
+        List<String> regexParts = new ArrayList<>();
+
+        for (String raw : patterns) {
+            if (raw == null || raw.isBlank()) {
+                continue;
+            }
+            String pattern = raw.trim();
+
+            boolean isDirectory = pattern.endsWith("/");
+            if (isDirectory) {
+                pattern = pattern.substring(0, pattern.length() - 1);
+            }
+            boolean isRooted = pattern.startsWith("/");
+            if (isRooted) {
+                pattern = pattern.substring(1);
+            }
+            if (pattern.isEmpty()) {
+                continue;
+            }
+
+            boolean segmentPattern = !isRooted && pattern.indexOf('/') < 0
+                    && pattern.indexOf('{') < 0 && !pattern.contains("**");
+
+            if (segmentPattern && !hasGlobMeta(pattern)) {
+                (isDirectory ? dirLiterals : anyLiterals).add(pattern);
+            } else if (segmentPattern && pattern.length() > 1 && pattern.charAt(0) == '*'
+                    && !hasGlobMeta(pattern.substring(1))) {
+                (isDirectory ? dirSuffixes : anySuffixes).add(pattern.substring(1));
+            } else if (segmentPattern && pattern.length() > 1 && pattern.charAt(pattern.length() - 1) == '*'
+                    && !hasGlobMeta(pattern.substring(0, pattern.length() - 1))) {
+                (isDirectory ? dirPrefixes : anyPrefixes).add(pattern.substring(0, pattern.length() - 1));
+            } else {
+                regexParts.add(toGlob(pattern, isRooted, isDirectory));
+            }
+        }
+
+        Pattern combined = null;
+        if (!regexParts.isEmpty()) {
+            StringBuilder regex = new StringBuilder();
+            for (String glob : regexParts) {
+                if (regex.length() > 0) {
+                    regex.append('|');
+                }
+                regex.append("(?:").append(globToRegex(glob)).append(')');
+            }
+            combined = Pattern.compile(regex.toString());
+        }
+
+        return new FilePatternMatcher(
+                anyLiterals.isEmpty() ? Collections.emptySet() : anyLiterals,
+                dirLiterals.isEmpty() ? Collections.emptySet() : dirLiterals,
+                anySuffixes.toArray(new String[0]), anyPrefixes.toArray(new String[0]),
+                dirSuffixes.toArray(new String[0]), dirPrefixes.toArray(new String[0]),
+                combined);
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * 경로가 하나 이상의 패턴과 일치하는지 확인
+     */
+    public boolean matches(String path) {
+        if (path == null || path.isEmpty() || isEmpty()) {
+            return false;
+        }
+
+        int length = path.length();
+        int start = 0;
+        while (start <= length) {
+            int end = path.indexOf('/', start);
+            boolean last = end < 0;
+            if (last) {
+                end = length;
+            }
+            if (end > start && matchesSegment(path, start, end, last)) {
+                return true;
+            }
+            if (last) {
+                break;
+            }
+            start = end + 1;
+        }
+
+        return combined != null && combined.matcher(path).matches();
+    }
+
+    private boolean matchesSegment(String path, int start, int end, boolean last) {
+        int segmentLength = end - start;
+
+        long lengthBit = segmentLength < 63 ? 1L << segmentLength : 1L << 63;
+        boolean checkAny = (anyLiteralLengths & lengthBit) != 0;
+        boolean checkDir = !last && (dirLiteralLengths & lengthBit) != 0;
+        if (checkAny || checkDir) {
+            String segment = path.substring(start, end);
+            if (checkAny && anySegmentLiterals.contains(segment)) {
+                return true;
+            }
+            if (checkDir && dirSegmentLiterals.contains(segment)) {
+                return true;
+            }
+        }
+
+        if (matchesAffix(path, start, end, segmentLength, anySegmentSuffixes, anySegmentPrefixes)) {
+            return true;
+        }
+        return !last && matchesAffix(path, start, end, segmentLength, dirSegmentSuffixes, dirSegmentPrefixes);
+    }
+
+    private static boolean matchesAffix(String path, int start, int end, int segmentLength,
+            String[] suffixes, String[] prefixes) {
+        for (String suffix : suffixes) {
+            int len = suffix.length();
+            if (len <= segmentLength && path.regionMatches(end - len, suffix, 0, len)) {
+                return true;
+            }
+        }
+        for (String prefix : prefixes) {
+            int len = prefix.length();
+            if (len <= segmentLength && path.regionMatches(start, prefix, 0, len)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long lengthMask(Set<String> literals) {
+        long mask = 0L;
+        for (String literal : literals) {
+            mask |= literal.length() < 63 ? 1L << literal.length() : 1L << 63;
+        }
+        return mask;
+    }
+
+    private static boolean hasGlobMeta(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 사용자 입력 패턴을 Glob 패턴으로 변환 (gitignore 스타일 지원)
+     */
+    private static String toGlob(String pattern, boolean isRooted, boolean isDirectory) {
+        StringBuilder glob = new StringBuilder();
+
+        if (!isRooted && pattern.indexOf('/') < 0) {
+            glob.append("{**/,}");
+        }
+
+        glob.append(pattern);
+
+        if (isDirectory) {
+            glob.append("/**");
+        } else {
+            glob.append("{,/**}");
+        }
+
+        return glob.toString();
+    }
+
+    /**
+     * Glob 패턴을 정규식으로 변환 (java.nio PathMatcher "glob:" 문법과 동일)
+     */
+    static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean inGroup = false;
+        int i = 0;
+
+        while (i < glob.length()) {
+            char c = glob.charAt(i++);
+            switch (c) {
+                case '\\' -> {
+                    if (i == glob.length()) {
+                        throw new IllegalArgumentException("No character to escape: " + glob);
+                    }
+                    appendLiteral(regex, glob.charAt(i++));
+                }
+                case '*' -> {
+                    if (i < glob.length() && glob.charAt(i) == '*') {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                }
+                case '?' -> regex.append("[^/]");
+                case '[' -> {
+                    regex.append("[[^/]&&[");
+                    if (i < glob.length() && (glob.charAt(i) == '!' || glob.charAt(i) == '^')) {
+                        regex.append('^');
+                        i++;
+                    }
+                    boolean closed = false;
+                    while (i < glob.length()) {
+                        char cc = glob.charAt(i++);
+                        if (cc == ']') {
+                            closed = true;
+                            break;
+                        }
+                        if (cc == '/') {
+                            throw new IllegalArgumentException("Explicit 'name separator' in class: " + glob);
+                        }
+                        if (cc == '\\' || cc == '[' || cc == '&' || cc == '^') {
+                            regex.append('\\');
+                        }
+                        regex.append(cc);
+                    }
+                    if (!closed) {
+                        throw new IllegalArgumentException("Missing ']': " + glob);
+                    }
+                    regex.append("]]");
+                }
+                case '{' -> {
+                    if (inGroup) {
+                        throw new IllegalArgumentException("Cannot nest groups: " + glob);
+                    }
+                    regex.append("(?:");
+                    inGroup = true;
+                }
+                case '}' -> {
+                    if (inGroup) {
+                        regex.append(')');
+                        inGroup = false;
+                    } else {
+                        regex.append("\\}");
+                    }
+                }
+                case ',' -> regex.append(inGroup ? "|" : ",");
+                default -> appendLiteral(regex, c);
+            }
+        }
+
+        if (inGroup) {
+            throw new IllegalArgumentException("Missing '}': " + glob);
+        }
+        return regex.toString();
+    }
+
+    private static void appendLiteral(StringBuilder regex, char c) {
+        if (".^$+{[]|()\\*?".indexOf(c) >= 0) {
+            regex.append('\\');
+        }
+        regex.append(c);
+    }
+}
@@ -0,0 +1,99 @@
+package com.seojs.aisenpai_backend.github.matcher;
+
+import com.seojs.aisenpai_backend.github.entity.Rule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 활성화된 규칙들의 targetFilePattern 을 미리 컴파일해 두고,
+ * PR 의 변경 파일 목록에 실제로 적용되는 규칙만 골라내는 매처 (불변, 엔티티 참조 없음)
+ */
+@Slf4j
+public final class RuleMatcher {
+
+    // 적용 파일이 이보다 많으면 파일 목록 없이 규칙만 표기
+    private static final int MAX_LISTED_FILES = 10;
+
+    private final List<CompiledRule> rules;
+
+    private RuleMatcher(List<CompiledRule> rules) {
+        this.rules = rules;
+    }
+
+    public static RuleMatcher compile(List<Rule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return new RuleMatcher(List.of());
+        }
+
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (!rule.isEnabled()) {
+                continue;
+            }
+            String pattern = rule.getTargetFilePattern();
+            FilePatternMatcher matcher;
+            try {
+                matcher = compilePattern(pattern);
+            } catch (IllegalArgumentException e) {
+                // 잘못된 패턴 하나 때문에 리뷰 전체가 실패하지 않도록 모든 파일에 적용
+                log.warn("Invalid target file pattern '{}' for rule {}, applying to all files: {}",
+                        pattern, rule.getId(), e.getMessage());
+                matcher = null;
+            }
+            compiled.add(new CompiledRule(rule.getContent(), matcher == null ? null : pattern, matcher));
+        }
+        return new RuleMatcher(List.copyOf(compiled));
+    }
+
+    /**
+     * 쉼표로 구분된 targetFilePattern 컴파일 - 비어 있으면 null, 문법이 잘못되면 IllegalArgumentException
+     */
+    public static FilePatternMatcher compilePattern(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            return null;
+        }
+        return FilePatternMatcher.compile(Arrays.asList(pattern.trim().split("\\s*,\\s*")));
+    }
+
+    /**
+     * 변경 파일 목록에 적용되는 규칙만 프롬프트 라인으로 반환
+     * 패턴이 없는 규칙은 항상 포함, 패턴이 일부 파일에만 일치하면 해당 파일 목록을 함께 표기
+     */
+    public List<String> selectPromptLines(List<String> filenames) {
+        List<String> lines = new ArrayList<>();
+        for (CompiledRule rule : rules) {
+            if (rule.matcher() == null) {
+                lines.add("- " + rule.content());
+                continue;
+            }
+
+            List<String> matchedFiles = new ArrayList<>();
+            for (String filename : filenames) {
+                if (rule.matcher().matches(filename)) {
+                    matchedFiles.add(filename);
+                }
+            }
+            if (matchedFiles.isEmpty()) {
+                continue;
+            }
+
+            StringBuilder line = new StringBuilder("- [Target: ").append(rule.pattern()).append("] ")
+                    .append(rule.content());
+            if (matchedFiles.size() < filenames.size() && matchedFiles.size() <= MAX_LISTED_FILES) {
+                line.append(" (적용 파일: ").append(String.join(", ", matchedFiles)).append(")");
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    private record CompiledRule(String content, String pattern, FilePatternMatcher matcher) {
+    }
+}
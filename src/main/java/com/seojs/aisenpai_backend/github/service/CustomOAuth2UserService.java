@@ -66,6 +66,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             userAgent = request.getHeader("User-Agent");
         }
 
+        // 버퍼에 넣고 바로 반환 - 기록은 로그인 트랜잭션과 분리되어 writer 스레드가 batch 로 수행
         loginHistoryService.recordLogin(loginId, ipAddress, userAgent);
     }
 
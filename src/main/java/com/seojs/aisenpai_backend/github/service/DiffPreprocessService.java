@@ -0,0 +1,57 @@
+package com.seojs.aisenpai_backend.github.service;
+
+import com.seojs.aisenpai_backend.github.diff.GeneratedFileDetector;
+import com.seojs.aisenpai_backend.github.diff.HunkContextTrimmer;
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class DiffPreprocessService {
+
+    @Value("${app.review.context-lines:2}")
+    private int contextLines;
+
+    /**
+     * 프롬프트 전 변경 파일 정리 (무시 패턴 적용 이후 단계)
+     * - 내용 변경 없는 rename 제외
+     * - 생성/압축 파일 제외
+     * - 변경 라인 주변 컨텍스트를 contextLines 줄로 축소
+     */
+    public List<ChangedFileDto> prepare(List<ChangedFileDto> changedFiles) {
+        List<ChangedFileDto> prepared = new ArrayList<>(changedFiles.size());
+        int skipped = 0;
+
+        for (ChangedFileDto file : changedFiles) {
+            if (isPureRename(file)) {
+                skipped++;
+                continue;
+            }
+
+            String reason = GeneratedFileDetector.detect(file);
+            if (reason != null) {
+                log.debug("Skipping {} from review prompt: {}", file.getFilename(), reason);
+                skipped++;
+                continue;
+            }
+
+            String trimmed = HunkContextTrimmer.trim(file.getPatch(), contextLines);
+            prepared.add(trimmed == file.getPatch() ? file : file.withPatch(trimmed));
+        }
+
+        if (skipped > 0) {
+            log.info("Skipped {} renamed/generated file(s) before prompting", skipped);
+        }
+        return prepared;
+    }
+
+    private boolean isPureRename(ChangedFileDto file) {
+        return "renamed".equals(file.getStatus()) && file.getChanges() == 0
+                && (file.getPatch() == null || file.getPatch().isEmpty());
+    }
+}
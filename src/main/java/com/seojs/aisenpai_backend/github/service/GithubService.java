@@ -1,6 +1,7 @@
 package com.seojs.aisenpai_backend.github.service;
 
 import com.seojs.aisenpai_backend.ai.service.AiService;
+import com.seojs.aisenpai_backend.common.TransactionCallbacks;
 import com.seojs.aisenpai_backend.exception.GitHubApiEx;
 import com.seojs.aisenpai_backend.exception.GithubAccountNotFoundEx;
 import com.seojs.aisenpai_backend.exception.WebhookRegistrationEx;
@@ -38,6 +39,7 @@ public class GithubService {
     private final TokenEncryptionService tokenEncryptionService;
     private final PullRequestRepository pullRequestRepository;
     private final AiService aiService;
+    private final IgnorePatternService ignorePatternService;
     @Qualifier("githubApiExecutor")
     private final Executor githubApiExecutor;
 
@@ -179,6 +181,20 @@ public class GithubService {
                 settings.getOpenaiModel());
     }
 
+    /**
+     * 모델 라우팅 설정 조회
+     */
+    @Transactional(readOnly = true)
+    public ModelRoutingDto getModelRouting(String loginId) {
+        AiReviewSettings settings = findByLoginIdOrThrow(loginId).getAiSettings();
+        return new ModelRoutingDto(
+                settings.getModelRoutingEnabled(),
+                settings.getFastModel(),
+                settings.getStrongModel(),
+                settings.getSmallDiffLines(),
+                settings.getLargeDiffLines());
+    }
+
     /**
      * 무시 패턴 조회
      */
@@ -226,16 +242,33 @@ public class GithubService {
     }
 
     /**
-     * 무시 패턴 업데이트
+     * 모델 라우팅 설정 업데이트
+     */
+    @Transactional
+    public Long updateModelRouting(String loginId, ModelRoutingDto dto) {
+        GithubAccount account = findByLoginIdOrThrow(loginId);
+        account.getAiSettings().updateModelRouting(dto.getEnabled(), dto.getFastModel(), dto.getStrongModel(),
+                dto.getSmallDiffLines(), dto.getLargeDiffLines());
+        return account.getId();
+    }
+
+    /**
+     * 무시 패턴 업데이트 (settings id == account id)
+     * 매처 캐시는 커밋 후 무효화 - 커밋 전에 지우면 그 사이 다른 요청이 이전 패턴을 다시 캐싱할 수 있음
      */
     @Transactional
     public Long updateIgnorePatterns(String loginId, List<String> patterns) {
         GithubAccount account = findByLoginIdOrThrow(loginId);
         String patternsString = patterns == null ? "" : String.join(",", patterns);
         account.getAiSettings().updateIgnorePatterns(patternsString);
+        evictIgnoreMatcherAfterCommit(account.getId());
         return account.getId();
     }
 
+    private void evictIgnoreMatcherAfterCommit(Long settingsId) {
+        TransactionCallbacks.runAfterCommit(() -> ignorePatternService.evictIgnoreMatcher(settingsId));
+    }
+
     /**
      * openai api key 업데이트
      */
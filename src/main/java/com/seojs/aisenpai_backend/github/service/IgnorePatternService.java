@@ -0,0 +1,30 @@
+package com.seojs.aisenpai_backend.github.service;
+
+import com.seojs.aisenpai_backend.github.entity.AiReviewSettings;
+import com.seojs.aisenpai_backend.github.matcher.FilePatternMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class IgnorePatternService {
+
+    /**
+     * 계정별 무시 패턴 매처 조회 (컴파일 결과 캐싱, updateIgnorePatterns 시 무효화)
+     */
+    @Cacheable(value = "ignoreMatchers", key = "#settings.id", condition = "#settings.id != null")
+    public FilePatternMatcher getIgnoreMatcher(AiReviewSettings settings) {
+        log.debug("Compiling ignore patterns for settings: {}", settings.getId());
+        return FilePatternMatcher.compile(settings.getIgnorePatternsAsList());
+    }
+
+    /**
+     * 무시 패턴 매처 캐시 무효화
+     */
+    @CacheEvict(value = "ignoreMatchers", key = "#settingsId")
+    public void evictIgnoreMatcher(Long settingsId) {
+        log.debug("Evicting ignore matcher cache for settings: {}", settingsId);
+    }
+}
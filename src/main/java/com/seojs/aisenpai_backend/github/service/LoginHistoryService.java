@@ -1,25 +1,96 @@
 package com.seojs.aisenpai_backend.github.service;
 
+import com.seojs.aisenpai_backend.common.BatchingWriter;
 import com.seojs.aisenpai_backend.github.entity.LoginHistory;
 import com.seojs.aisenpai_backend.github.repository.LoginHistoryRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 로그인 이력 기록 - 로그인 요청 스레드는 버퍼에 넣기만 하고 전용 writer 스레드가 batch insert (BatchingWriter)
+ *
+ * 로그인 트랜잭션과 분리되어 이력 테이블 상태가 로그인 지연에 영향을 주지 않는다.
+ * 기록 실패 시 같은 묶음을 maxWriteAttempts 번까지 재시도하고, 종료 시 버퍼에 남은 이력을 모두 기록한다. (at-least-once)
+ * 버퍼가 가득 차면 요청 스레드를 막지 않고 버린다.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class LoginHistoryService {
 
     private final LoginHistoryRepository loginHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchingWriter<LoginEvent> writer;
+
+    public LoginHistoryService(LoginHistoryRepository loginHistoryRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.login-history.capacity:5000}") int capacity,
+            @Value("${app.login-history.batch-size:50}") int batchSize,
+            @Value("${app.login-history.flush-interval-ms:500}") long flushIntervalMillis,
+            @Value("${app.login-history.max-write-attempts:3}") int maxWriteAttempts,
+            @Value("${app.login-history.retry-delay-ms:1000}") long retryDelayMillis) {
+        this.loginHistoryRepository = loginHistoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writer = new BatchingWriter<>("login-history-writer", this::write, meterRegistry, "login.history",
+                capacity, batchSize, flushIntervalMillis, maxWriteAttempts, retryDelayMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.stop();
+    }
 
-    @Transactional
-    public void recordLogin(String loginId, String ipAddress, String userAgent) {
-        LoginHistory history = LoginHistory.builder()
-                .loginId(loginId)
-                .ipAddress(ipAddress)
-                .userAgent(userAgent)
-                .build();
+    /**
+     * 로그인 이력 추가 - 버퍼가 가득 차면 false (요청 스레드는 대기하지 않음)
+     */
+    public boolean recordLogin(String loginId, String ipAddress, String userAgent) {
+        if (!writer.offer(new LoginEvent(loginId, LocalDateTime.now(), ipAddress, userAgent))) {
+            log.warn("Login history buffer full, dropping record for {}", loginId);
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return writer.size();
+    }
+
+    /**
+     * 묶음 기록 - 재시도마다 새 엔티티 사용 (실패한 트랜잭션의 엔티티는 id 가 할당된 채 남으므로 재사용하지 않음)
+     */
+    private void write(List<LoginEvent> batch) {
+        transactionTemplate.executeWithoutResult(status -> loginHistoryRepository.saveAll(toEntities(batch)));
+    }
+
+    private static List<LoginHistory> toEntities(List<LoginEvent> events) {
+        List<LoginHistory> histories = new ArrayList<>(events.size());
+        for (LoginEvent event : events) {
+            histories.add(LoginHistory.builder()
+                    .loginId(event.loginId())
+                    .loginAt(event.loginAt())
+                    .ipAddress(event.ipAddress())
+                    .userAgent(event.userAgent())
+                    .build());
+        }
+        return histories;
+    }
 
-        loginHistoryRepository.save(history);
+    private record LoginEvent(String loginId, LocalDateTime loginAt, String ipAddress, String userAgent) {
     }
 }
@@ -1,12 +1,59 @@
 package com.seojs.aisenpai_backend.github.service;
 
+import com.seojs.aisenpai_backend.github.diff.PatchIndex;
+import com.seojs.aisenpai_backend.github.diff.SnippetAnchorer;
+import com.seojs.aisenpai_backend.github.diff.SnippetAnchorer.AnchorMatch;
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+import com.seojs.aisenpai_backend.github.dto.ReviewCommentDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 public class ReviewAnchorService {
 
+    /**
+     * 변경 파일별 patch 인덱스 생성 (파일명 -> PatchIndex, 파일당 한 번만 파싱)
+     */
+    public Map<String, PatchIndex> indexPatches(List<ChangedFileDto> changedFiles) {
+        Map<String, PatchIndex> indexes = new HashMap<>();
+        if (changedFiles == null) {
+            return indexes;
+        }
+
+        for (ChangedFileDto file : changedFiles) {
+            if (file.getFilename() == null || indexes.containsKey(file.getFilename())) {
+                continue;
+            }
+            PatchIndex index = PatchIndex.parse(file.getPatch());
+            if (index.getMalformedHunks() > 0) {
+                log.warn("Failed to parse {} hunk header(s) in {}", index.getMalformedHunks(), file.getFilename());
+            }
+            indexes.put(file.getFilename(), index);
+        }
+        return indexes;
+    }
+
+    /**
+     * 코멘트의 codeSnippet 을 해당 파일 patch 에 앵커링한 코멘트 반환 (실패 시 line/side 가 null)
+     */
+    public ReviewCommentDto anchor(Map<String, PatchIndex> patchIndexes, ReviewCommentDto comment) {
+        PatchIndex patchIndex = comment.getPath() != null ? patchIndexes.get(comment.getPath()) : null;
+        Integer line = findLineNumber(patchIndex, comment.getCodeSnippet());
+
+        return ReviewCommentDto.builder()
+                .path(comment.getPath())
+                .codeSnippet(comment.getCodeSnippet())
+                .line(line)
+                .side(line != null ? "RIGHT" : null)
+                .body(comment.getBody())
+                .build();
+    }
+
     /**
      * Patch 내에서 codeSnippet이 위치한 라인의 GitHub 코멘트용 라인 번호 조회
      */
@@ -14,55 +61,26 @@ public class ReviewAnchorService {
         if (patch == null || codeSnippet == null || patch.isEmpty() || codeSnippet.isEmpty()) {
             return null;
         }
+        return findLineNumber(PatchIndex.parse(patch), codeSnippet);
+    }
 
-        // 코드가 너무 길면 첫 줄만 사용
-        String targetLine = codeSnippet.lines().findFirst().orElse("").trim();
-        if (targetLine.isEmpty()) {
+    /**
+     * 미리 파싱된 PatchIndex 에서 codeSnippet이 위치한 라인 번호 조회
+     * 정확히 일치하지 않으면 공백 정규화 + 토큰 유사도 점수로 가장 가까운 추가 라인을 찾음
+     */
+    public Integer findLineNumber(PatchIndex index, String codeSnippet) {
+        if (index == null || codeSnippet == null || codeSnippet.isBlank()) {
             return null;
         }
 
-        // Patch 파싱 및 검색
-        String[] patchLines = patch.split("\\R");
-        int currentLineInFile = 0;
-
-        for (String line : patchLines) {
-            String trimmedLine = line.trim();
-
-            if (trimmedLine.startsWith("@@")) {
-                try {
-                    String[] parts = trimmedLine.split("\\s+");
-                    if (parts.length >= 3) {
-                        String newInfo = parts[2];
-                        String cleanNewInfo = newInfo.startsWith("+") ? newInfo.substring(1) : newInfo;
-                        String startLineStr = cleanNewInfo.split(",")[0];
-
-                        currentLineInFile = Integer.parseInt(startLineStr) - 1; // 0-based context
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to parse hunk header: '{}'. Error: {}", line, e.getMessage());
-                    currentLineInFile = -1;
-                }
-                continue;
-            }
-
-            if (currentLineInFile == -1) {
-                continue;
-            }
-
-            if (line.startsWith(" ")) {
-                currentLineInFile++;
-            } else if (line.startsWith("+")) {
-                currentLineInFile++;
-                // 추가된 라인(변경분)이므로 검색 대상
-                String cleanLine = line.substring(1).trim();
-
-                // 검색어 포함 여부 확인
-                if (cleanLine.contains(targetLine)) {
-                    return currentLineInFile;
-                }
-            }
+        AnchorMatch match = SnippetAnchorer.anchor(index, codeSnippet);
+        if (match == null) {
+            return null;
         }
-
-        return null;
+        if (match.score() < 1.0) {
+            log.debug("Fuzzy anchored snippet to line {} (score: {})", match.line(),
+                    String.format("%.2f", match.score()));
+        }
+        return match.line();
     }
 }
@@ -0,0 +1,30 @@
+package com.seojs.aisenpai_backend.github.service;
+
+import com.seojs.aisenpai_backend.github.entity.AiReviewSettings;
+import com.seojs.aisenpai_backend.github.matcher.RuleMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class RuleMatchingService {
+
+    /**
+     * 계정별 규칙 매처 조회 (컴파일 결과 캐싱, 규칙 변경 시 무효화)
+     */
+    @Cacheable(value = "ruleMatchers", key = "#settings.id", condition = "#settings.id != null")
+    public RuleMatcher getRuleMatcher(AiReviewSettings settings) {
+        log.debug("Compiling rule patterns for settings: {}", settings.getId());
+        return RuleMatcher.compile(settings.getRules());
+    }
+
+    /**
+     * 규칙 매처 캐시 무효화
+     */
+    @CacheEvict(value = "ruleMatchers", key = "#settingsId")
+    public void evictRuleMatcher(Long settingsId) {
+        log.debug("Evicting rule matcher cache for settings: {}", settingsId);
+    }
+}
@@ -1,5 +1,7 @@
 package com.seojs.aisenpai_backend.github.service;
 
+import com.seojs.aisenpai_backend.common.TransactionCallbacks;
+import com.seojs.aisenpai_backend.exception.InvalidFilePatternEx;
 import com.seojs.aisenpai_backend.exception.RuleNotFoundEx;
 
 import com.seojs.aisenpai_backend.github.dto.RuleResponseDto;
@@ -7,6 +9,7 @@ import com.seojs.aisenpai_backend.github.dto.RuleSaveDto;
 import com.seojs.aisenpai_backend.github.entity.AiReviewSettings;
 import com.seojs.aisenpai_backend.github.entity.GithubAccount;
 import com.seojs.aisenpai_backend.github.entity.Rule;
+import com.seojs.aisenpai_backend.github.matcher.RuleMatcher;
 import com.seojs.aisenpai_backend.github.repository.RuleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,6 +24,7 @@ public class RuleService {
 
     private final RuleRepository ruleRepository;
     private final GithubService githubService;
+    private final RuleMatchingService ruleMatchingService;
 
     @Transactional(readOnly = true)
     public List<RuleResponseDto> getRules(String loginId) {
@@ -35,6 +39,7 @@ public class RuleService {
     public RuleResponseDto createRule(String loginId, RuleSaveDto request) {
         GithubAccount account = githubService.findByLoginIdOrThrow(loginId);
         AiReviewSettings settings = account.getAiSettings();
+        validateTargetFilePattern(request.getTargetFilePattern());
 
         Rule rule = Rule.builder()
                 .settings(settings)
@@ -43,21 +48,28 @@ public class RuleService {
                 .targetFilePattern(request.getTargetFilePattern())
                 .build();
 
-        return RuleResponseDto.from(ruleRepository.save(rule));
+        Rule saved = ruleRepository.save(rule);
+        evictRuleMatcherAfterCommit(settings.getId());
+        return RuleResponseDto.from(saved);
     }
 
     @Transactional
     public RuleResponseDto updateRule(Long ruleId, RuleSaveDto request) {
         Rule rule = ruleRepository.findById(ruleId)
                 .orElseThrow(() -> new RuleNotFoundEx("Rule not found with id: " + ruleId));
+        validateTargetFilePattern(request.getTargetFilePattern());
 
         rule.update(request.getContent(), rule.isEnabled(), request.getTargetFilePattern());
+        evictRuleMatcherAfterCommit(rule.getSettings().getId());
         return RuleResponseDto.from(rule);
     }
 
     @Transactional
     public void deleteRule(Long ruleId) {
-        ruleRepository.deleteById(ruleId);
+        ruleRepository.findById(ruleId).ifPresent(rule -> {
+            ruleRepository.delete(rule);
+            evictRuleMatcherAfterCommit(rule.getSettings().getId());
+        });
     }
 
     @Transactional
@@ -66,6 +78,22 @@ public class RuleService {
                 .orElseThrow(() -> new RuleNotFoundEx("Rule not found with id: " + ruleId));
 
         rule.toggle();
+        evictRuleMatcherAfterCommit(rule.getSettings().getId());
         return RuleResponseDto.from(rule);
     }
+
+    private void validateTargetFilePattern(String targetFilePattern) {
+        try {
+            RuleMatcher.compilePattern(targetFilePattern);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFilePatternEx("Invalid target file pattern: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 규칙 매처 캐시는 커밋 후 무효화 - 커밋 전에 지우면 그 사이 다른 요청이 이전 규칙을 다시 캐싱할 수 있음
+     */
+    private void evictRuleMatcherAfterCommit(Long settingsId) {
+        TransactionCallbacks.runAfterCommit(() -> ruleMatchingService.evictRuleMatcher(settingsId));
+    }
 }
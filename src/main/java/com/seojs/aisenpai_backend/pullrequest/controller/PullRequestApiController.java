@@ -3,12 +3,15 @@ package com.seojs.aisenpai_backend.pullrequest.controller;
 import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
 import com.seojs.aisenpai_backend.pullrequest.dto.PullRequestResponseDto;
 import com.seojs.aisenpai_backend.pullrequest.service.PullRequestService;
+import com.seojs.aisenpai_backend.pullrequest.service.ReviewProgressService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,6 +21,7 @@ import java.util.List;
 public class PullRequestApiController {
         private final PullRequestService pullRequestService;
         private final OAuth2AuthorizedClientService authorizedClientService;
+        private final ReviewProgressService reviewProgressService;
 
         @GetMapping
         public List<PullRequestResponseDto> getPullRequestList(
@@ -70,4 +74,22 @@ public class PullRequestApiController {
 
                 return pullRequestService.getAiReview(owner, repo, prNumber, accessToken);
         }
-}
\ No newline at end of file
+
+        /**
+         * 리뷰 진행 상황 구독 (SSE) - 폴링 대신 상태 전환과 스트리밍 코멘트를 push 로 수신
+         */
+        @GetMapping(value = "/{prNumber}/review/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter subscribeReviewProgress(
+                        @AuthenticationPrincipal OAuth2User principal,
+                        @PathVariable String owner,
+                        @PathVariable String repo,
+                        @PathVariable Integer prNumber) {
+                OAuth2AuthorizedClient authorizedClient = authorizedClientService.loadAuthorizedClient("github",
+                                principal.getName());
+                String accessToken = authorizedClient.getAccessToken().getTokenValue();
+
+                Long repositoryId = pullRequestService.getRepositoryId(owner, repo, accessToken);
+                return reviewProgressService.subscribe(repositoryId, prNumber,
+                                () -> pullRequestService.getReviewProgressSnapshot(repositoryId, prNumber));
+        }
+}
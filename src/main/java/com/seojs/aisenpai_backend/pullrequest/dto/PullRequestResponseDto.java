@@ -19,6 +19,7 @@ public class PullRequestResponseDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String aiReview;
+    private Integer promptTokens;
 
     public static PullRequestResponseDto fromEntity(PullRequest pullRequest) {
         return new PullRequestResponseDto(
@@ -28,6 +29,7 @@ public class PullRequestResponseDto {
                 pullRequest.getStatus(),
                 pullRequest.getCreatedAt(),
                 pullRequest.getUpdatedAt(),
-                pullRequest.getAiReview());
+                pullRequest.getAiReview(),
+                pullRequest.getPromptTokens());
     }
 }
@@ -0,0 +1,49 @@
+package com.seojs.aisenpai_backend.pullrequest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.seojs.aisenpai_backend.github.dto.ReviewCommentDto;
+import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest.ReviewStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 리뷰 진행 상황 이벤트 (SSE 로 구독자에게 전달)
+ * terminal 이벤트를 보낸 뒤에는 해당 PR 의 구독을 종료한다
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReviewProgressDto {
+    private Long repositoryId;
+    private Integer prNumber;
+    private Stage stage;
+    private ReviewStatus status;
+    private String message;
+    private ReviewCommentDto comment;
+    private Integer commentCount;
+    private boolean terminal;
+
+    public enum Stage {
+        SNAPSHOT, // 구독 시점의 현재 상태
+        FETCHING_DIFF, // GitHub 변경 파일 조회 중
+        QUEUED, // 프롬프트 준비 완료, LLM 호출 대기
+        PROMPTING, // LLM 호출 시작
+        STREAMING, // 코멘트 수신 (comment 에 앵커링된 코멘트 포함)
+        RETRY_SCHEDULED, // AI 공급자 장애로 재시도 대기
+        COMPLETED, // 리뷰 저장 완료
+        POSTED, // GitHub 게시 완료
+        FAILED // 리뷰 실패
+    }
+
+    public static ReviewProgressDto of(Long repositoryId, Integer prNumber, Stage stage) {
+        return ReviewProgressDto.builder()
+                .repositoryId(repositoryId)
+                .prNumber(prNumber)
+                .stage(stage)
+                .build();
+    }
+}
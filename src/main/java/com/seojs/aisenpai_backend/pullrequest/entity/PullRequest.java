@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 public class PullRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pull_request_seq")
+    @SequenceGenerator(name = "pull_request_seq", sequenceName = "pull_request_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -47,6 +48,17 @@ public class PullRequest {
     @Lob
     private String aiReview;
 
+    // 리뷰 요청 시 추정한 입력 토큰 수 (system + user 프롬프트)
+    private Integer promptTokens;
+
+    // 리뷰에 사용한 모델 (재시도 시 동일 모델 사용)
+    private String reviewModel;
+
+    // provider 장애로 보류된 리뷰의 재시도 횟수 / 다음 재시도 시각
+    private Integer retryCount;
+
+    private LocalDateTime nextRetryAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -66,7 +78,8 @@ public class PullRequest {
         IN_PROGRESS, // 리뷰 진행 중
         COMPLETED, // 리뷰 완료
         FAILED, // 리뷰 실패
-        NEW_CHANGES // 리뷰 후 새 변경사항 있음
+        NEW_CHANGES, // 리뷰 후 새 변경사항 있음
+        RETRY_SCHEDULED // AI 공급자 장애로 재시도 대기 중
     }
 
     public void updateStatus(ReviewStatus newStatus) {
@@ -84,6 +97,28 @@ public class PullRequest {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public void updatePromptTokens(Integer promptTokens) {
+        this.promptTokens = promptTokens;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void updateReviewModel(String reviewModel) {
+        this.reviewModel = reviewModel;
+    }
+
+    public void scheduleRetry(LocalDateTime nextRetryAt, boolean countAttempt) {
+        if (countAttempt) {
+            this.retryCount = (this.retryCount == null ? 0 : this.retryCount) + 1;
+        }
+        this.nextRetryAt = nextRetryAt;
+        updateStatus(ReviewStatus.RETRY_SCHEDULED);
+    }
+
+    public void clearRetry() {
+        this.retryCount = 0;
+        this.nextRetryAt = null;
+    }
+
     @Builder
     public PullRequest(Integer prNumber, Long repositoryId, String repositoryName, GithubAccount githubAccount,
             String title,
@@ -1,9 +1,11 @@
 package com.seojs.aisenpai_backend.pullrequest.repository;
 
 import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest;
+import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest.ReviewStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +21,10 @@ public interface PullRequestRepository extends JpaRepository<PullRequest, Long>,
      * 특정 저장소의 모든 PR 조회 (repositoryId 기준)
      */
     List<PullRequest> findByRepositoryIdOrderByUpdatedAtDesc(Long repositoryId);
+
+    /**
+     * 재시도 시각이 지난 보류 리뷰 조회 (오래된 순)
+     */
+    List<PullRequest> findTop20ByStatusAndNextRetryAtLessThanEqualOrderByNextRetryAtAsc(ReviewStatus status,
+            LocalDateTime now);
 }
\ No newline at end of file
@@ -62,7 +62,7 @@ public class PullRequestManager {
         if (currentStatus == ReviewStatus.COMPLETED || currentStatus == ReviewStatus.FAILED) {
             existingPr.updateStatus(ReviewStatus.NEW_CHANGES);
         }
-        // PENDING, IN_PROGRESS, NEW_CHANGES는 상태 유지
+        // PENDING, IN_PROGRESS, NEW_CHANGES, RETRY_SCHEDULED는 상태 유지
 
         existingPr.updateAction(action);
         return pullRequestRepository.save(existingPr);
@@ -1,30 +1,46 @@
 package com.seojs.aisenpai_backend.pullrequest.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojs.aisenpai_backend.ai.resilience.LlmFailures;
 import com.seojs.aisenpai_backend.ai.service.AiService;
+import com.seojs.aisenpai_backend.exception.AiSaturatedEx;
+import com.seojs.aisenpai_backend.exception.AiUnavailableEx;
+import com.seojs.aisenpai_backend.exception.OpenAiRateLimitEx;
+import com.seojs.aisenpai_backend.github.diff.DiffPromptEncoder;
+import com.seojs.aisenpai_backend.github.diff.PatchIndex;
 import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+import com.seojs.aisenpai_backend.github.dto.ReviewCommentDto;
+import com.seojs.aisenpai_backend.github.service.ReviewAnchorService;
 import com.seojs.aisenpai_backend.github.service.TokenEncryptionService;
+import com.seojs.aisenpai_backend.pullrequest.dto.ReviewProgressDto;
+import com.seojs.aisenpai_backend.pullrequest.dto.ReviewProgressDto.Stage;
 import com.seojs.aisenpai_backend.pullrequest.dto.ReviewRequestDto;
 import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest.ReviewStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @Component
 @Slf4j
 public class PullRequestReviewListener {
     private final AiService aiService;
-    private final ObjectMapper objectMapper;
     private final PullRequestService pullRequestService;
     private final TokenEncryptionService tokenEncryptionService;
+    private final ReviewAnchorService reviewAnchorService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.ai.streaming.enabled:false}")
+    private boolean streamingEnabled;
 
     @Async
     @EventListener
@@ -39,26 +55,74 @@ public class PullRequestReviewListener {
         String openApiKey = tokenEncryptionService.decryptToken(encryptedKey);
 
         try {
-            String userPrompt = objectMapper.writeValueAsString(changedFiles);
+            String userPrompt = DiffPromptEncoder.encode(changedFiles);
+            eventPublisher.publishEvent(ReviewProgressDto.builder()
+                    .repositoryId(repositoryId)
+                    .prNumber(prNumber)
+                    .stage(Stage.PROMPTING)
+                    .status(ReviewStatus.IN_PROGRESS)
+                    .message(model)
+                    .build());
+            if (streamingEnabled) {
+                reviewStreaming(repositoryId, prNumber, changedFiles, openApiKey, systemPrompt, userPrompt, model);
+                return;
+            }
             String review = aiService.callAiChat(openApiKey, systemPrompt, userPrompt, model, null);
             pullRequestService.updateAiReview(repositoryId, prNumber, review, ReviewStatus.COMPLETED);
-        } catch (JsonProcessingException e) {
-            log.error("json processing failed - repositoryId: {}, pr: {}", repositoryId, prNumber, e);
-            pullRequestService.updateAiReview(repositoryId, prNumber,
-                    "AI review failed: Json processing failed", ReviewStatus.FAILED);
         } catch (IllegalArgumentException e) {
             log.error("invalid api configuration - repositoryId: {}, pr: {}", repositoryId, prNumber,
                     e);
             pullRequestService.updateAiReview(repositoryId, prNumber,
                     "AI review failed: Invalid API configuration", ReviewStatus.FAILED);
+        } catch (AiUnavailableEx | AiSaturatedEx e) {
+            // 서킷이 열렸거나 동시성 한도가 가득 차 호출하지 않았으므로 재시도 횟수는 소모하지 않음
+            log.warn("AI provider unavailable, parking review - repositoryId: {}, pr: {}: {}", repositoryId, prNumber,
+                    e.getMessage());
+            pullRequestService.parkForRetry(repositoryId, prNumber, false);
+        } catch (OpenAiRateLimitEx e) {
+            log.error("rate limit retries exhausted - repositoryId: {}, pr: {}", repositoryId, prNumber, e);
+            pullRequestService.updateAiReview(repositoryId, prNumber,
+                    "AI review failed: OpenAI rate limit exceeded", ReviewStatus.FAILED);
         } catch (NonTransientAiException e) {
             log.error("invalid api key error - repositoryId: {}, pr: {}", repositoryId, prNumber, e);
             pullRequestService.updateAiReview(repositoryId, prNumber,
                     "AI review failed: Invalid API key", ReviewStatus.FAILED);
         } catch (Exception e) {
+            if (LlmFailures.isOverload(e)) {
+                log.warn("AI provider error, parking review - repositoryId: {}, pr: {}: {}", repositoryId, prNumber,
+                        e.getMessage());
+                pullRequestService.parkForRetry(repositoryId, prNumber, true);
+                return;
+            }
             log.error("unexpected error - repositoryId: {}, pr: {}", repositoryId, prNumber, e);
             pullRequestService.updateAiReview(repositoryId, prNumber,
                     "AI review failed: Unexpected error", ReviewStatus.FAILED);
         }
     }
+
+    /**
+     * 스트리밍 리뷰 - 코멘트가 완성되는 대로 프롬프트에 사용한 patch 기준으로 앵커링
+     * (프롬프트의 patch 는 컨텍스트만 줄였으므로 추가 라인의 번호는 GitHub diff 와 동일)
+     */
+    private void reviewStreaming(Long repositoryId, Integer prNumber, List<ChangedFileDto> changedFiles,
+            String openApiKey, String systemPrompt, String userPrompt, String model) {
+        Map<String, PatchIndex> patchIndexes = reviewAnchorService.indexPatches(changedFiles);
+        List<ReviewCommentDto> anchoredComments = new ArrayList<>();
+
+        String review = aiService.streamAiChat(openApiKey, systemPrompt, userPrompt, model, null, comment -> {
+            ReviewCommentDto anchored = reviewAnchorService.anchor(patchIndexes, comment);
+            anchoredComments.add(anchored);
+            log.debug("Streamed comment #{} anchored - repositoryId: {}, pr: {}, path: {}, line: {}",
+                    anchoredComments.size(), repositoryId, prNumber, anchored.getPath(), anchored.getLine());
+            eventPublisher.publishEvent(ReviewProgressDto.builder()
+                    .repositoryId(repositoryId)
+                    .prNumber(prNumber)
+                    .stage(Stage.STREAMING)
+                    .status(ReviewStatus.IN_PROGRESS)
+                    .comment(anchored)
+                    .commentCount(anchoredComments.size())
+                    .build());
+        });
+        pullRequestService.updateAiReview(repositoryId, prNumber, review, ReviewStatus.COMPLETED, anchoredComments);
+    }
 }
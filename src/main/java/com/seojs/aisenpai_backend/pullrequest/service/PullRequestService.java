@@ -1,37 +1,48 @@
 
 package com.seojs.aisenpai_backend.pullrequest.service;
 
+import com.seojs.aisenpai_backend.ai.service.TokenEstimationService;
 import com.seojs.aisenpai_backend.exception.OpenAiKeyNotSetEx;
+import com.seojs.aisenpai_backend.exception.PromptTooLargeEx;
 import com.seojs.aisenpai_backend.exception.PullRequestNotFoundEx;
 import com.seojs.aisenpai_backend.exception.WebhookProcessingEx;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojs.aisenpai_backend.github.diff.FilePriorityPacker;
+import com.seojs.aisenpai_backend.github.diff.PatchIndex;
 import com.seojs.aisenpai_backend.github.dto.AiReviewResponseDto;
 import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
 import com.seojs.aisenpai_backend.github.dto.GithubReviewRequestDto;
 import com.seojs.aisenpai_backend.github.dto.ReviewCommentDto;
 import com.seojs.aisenpai_backend.github.dto.WebhookPayloadDto;
 import com.seojs.aisenpai_backend.github.entity.GithubAccount;
+import com.seojs.aisenpai_backend.github.matcher.FilePatternMatcher;
+import com.seojs.aisenpai_backend.github.service.DiffPreprocessService;
 import com.seojs.aisenpai_backend.github.service.GithubService;
+import com.seojs.aisenpai_backend.github.service.IgnorePatternService;
 import com.seojs.aisenpai_backend.github.service.ReviewAnchorService;
+import com.seojs.aisenpai_backend.github.service.RuleMatchingService;
 import com.seojs.aisenpai_backend.github.service.TokenEncryptionService;
 import com.seojs.aisenpai_backend.github.service.WebhookSecurityService;
 import com.seojs.aisenpai_backend.notification.entity.NotificationType;
 import com.seojs.aisenpai_backend.notification.service.NotificationService;
 import com.seojs.aisenpai_backend.pullrequest.dto.PullRequestResponseDto;
+import com.seojs.aisenpai_backend.pullrequest.dto.ReviewProgressDto;
+import com.seojs.aisenpai_backend.pullrequest.dto.ReviewProgressDto.Stage;
 import com.seojs.aisenpai_backend.pullrequest.dto.ReviewRequestDto;
 import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest;
 import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest.ReviewStatus;
 import com.seojs.aisenpai_backend.pullrequest.repository.PullRequestRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.file.FileSystems;
-import java.nio.file.PathMatcher;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import com.seojs.aisenpai_backend.github.dto.GithubApiCommentDto;
 
@@ -47,6 +58,18 @@ public class PullRequestService {
     private final TokenEncryptionService tokenEncryptionService;
     private final NotificationService notificationService;
     private final ReviewAnchorService reviewAnchorService;
+    private final IgnorePatternService ignorePatternService;
+    private final RuleMatchingService ruleMatchingService;
+    private final DiffPreprocessService diffPreprocessService;
+    private final TokenEstimationService tokenEstimationService;
+
+    private static final long MAX_RETRY_DELAY_SECONDS = 30 * 60;
+
+    @Value("${app.ai.circuit-breaker.max-review-retries:5}")
+    private int maxReviewRetries;
+
+    @Value("${app.ai.circuit-breaker.retry-base-delay-seconds:60}")
+    private long retryBaseDelaySeconds;
 
     /**
      * PR 웹훅 이벤트를 처리하고 데이터베이스에 저장
@@ -112,9 +135,20 @@ public class PullRequestService {
      */
     @Transactional
     public void review(String owner, String repo, Integer prNumber, String accessToken, String model) {
+        review(owner, repo, prNumber, accessToken, model, false);
+    }
+
+    /**
+     * 리뷰 요청 - model 이 지정되지 않으면 계정의 라우팅 정책으로 모델 결정
+     * 자동 리뷰에서 변경분이 모델 컨텍스트를 넘으면 예외 대신 PR 을 FAILED 로 종료 (알림 + 종료 진행 이벤트)
+     */
+    @Transactional
+    public void review(String owner, String repo, Integer prNumber, String accessToken, String model,
+            boolean autoReview) {
         Long repositoryId = githubService.getRepositoryId(accessToken, owner, repo);
         PullRequest pr = findByRepositoryIdAndPrNumberOrThrow(repositoryId, prNumber);
 
+        eventPublisher.publishEvent(ReviewProgressDto.of(repositoryId, prNumber, Stage.FETCHING_DIFF));
         List<ChangedFileDto> changedFiles = githubService.getChangedFiles(accessToken, owner, repo, prNumber);
 
         GithubAccount githubAccount = pr.getGithubAccount();
@@ -124,28 +158,133 @@ public class PullRequestService {
             throw new OpenAiKeyNotSetEx("OpenAI API key is not set. Please set it in the settings.");
         }
 
-        List<String> ignorePatterns = githubAccount.getAiSettings().getIgnorePatternsAsList();
+        FilePatternMatcher ignoreMatcher = ignorePatternService.getIgnoreMatcher(githubAccount.getAiSettings());
         List<ChangedFileDto> filteredFiles = changedFiles;
 
-        if (!ignorePatterns.isEmpty()) {
-            List<PathMatcher> matchers = ignorePatterns.stream()
-                    .map(this::convertUserPatternToGlob)
-                    .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
-                    .toList();
-
+        if (!ignoreMatcher.isEmpty()) {
             filteredFiles = changedFiles.stream()
-                    .filter(file -> matchers.stream()
-                            .noneMatch(matcher -> matcher.matches(Paths.get(file.getFilename()))))
+                    .filter(file -> !ignoreMatcher.matches(file.getFilename()))
                     .toList();
         }
 
+        // 생성/압축 파일, 단순 rename 제외 및 컨텍스트 축소
+        filteredFiles = diffPreprocessService.prepare(filteredFiles);
+
+        // 변경 규모와 요청 경로(자동/수동)로 모델 결정
+        if (model == null || model.isBlank()) {
+            int changedLines = filteredFiles.stream()
+                    .mapToInt(file -> file.getAdditions() + file.getDeletions())
+                    .sum();
+            model = githubAccount.getAiSettings().routeModel(changedLines, autoReview);
+            log.info("Routed PR #{} ({} changed lines, auto: {}) to model {}", prNumber, changedLines, autoReview,
+                    model);
+        }
+
+        // 변경 파일에 적용되는 규칙만 프롬프트에 포함
+        List<String> filenames = filteredFiles.stream().map(ChangedFileDto::getFilename).toList();
+        List<String> activeRules = ruleMatchingService.getRuleMatcher(githubAccount.getAiSettings())
+                .selectPromptLines(filenames);
+        String systemPrompt = githubAccount.getAiSettings().buildSystemPrompt(activeRules);
+
+        // 모델 컨텍스트 한도 안에 들어가도록 파일 선별 후 추정 토큰 수 기록
+        FilePriorityPacker.Packed packed;
+        try {
+            packed = packForContextWindow(systemPrompt, filteredFiles, model);
+        } catch (PromptTooLargeEx e) {
+            if (!autoReview) {
+                throw e;
+            }
+            // 자동 리뷰/재시도는 오류를 받을 사용자가 없으므로 실패로 종료 (다시 시도해도 결과가 같음)
+            log.warn("Auto review skipped for PR #{} - repositoryId: {}: {}", prNumber, repositoryId, e.getMessage());
+            updateAiReview(repositoryId, prNumber, "AI review failed: diff too large for model " + model,
+                    ReviewStatus.FAILED);
+            return;
+        }
+        pr.updatePromptTokens(packed.tokens());
+        pr.updateReviewModel(model);
         pr.updateStatus(ReviewStatus.IN_PROGRESS);
 
         // LLM 호출은 이벤트 리스너에서 수행
-        String systemPrompt = githubAccount.getAiSettings().buildSystemPrompt();
+        eventPublisher.publishEvent(ReviewProgressDto.builder()
+                .repositoryId(repositoryId)
+                .prNumber(prNumber)
+                .stage(Stage.QUEUED)
+                .status(ReviewStatus.IN_PROGRESS)
+                .message(model)
+                .build());
         String encryptedOpenAiKey = githubAccount.getAiSettings().getOpenAiKey();
         eventPublisher.publishEvent(
-                new ReviewRequestDto(repositoryId, prNumber, filteredFiles, model, systemPrompt, encryptedOpenAiKey));
+                new ReviewRequestDto(repositoryId, prNumber, packed.files(), model, systemPrompt, encryptedOpenAiKey));
+    }
+
+    /**
+     * system 프롬프트를 제외한 입력 예산 안으로 변경 파일을 우선순위대로 채움
+     * 반환값의 tokens 는 system 프롬프트 + 채택된 파일을 합친 요청 전체 추정치
+     */
+    private FilePriorityPacker.Packed packForContextWindow(String systemPrompt, List<ChangedFileDto> files,
+            String model) {
+        int budget = tokenEstimationService.inputBudget(model);
+        int baseTokens = tokenEstimationService.countChatTokens(systemPrompt, null, model);
+        if (baseTokens >= budget) {
+            throw new PromptTooLargeEx("System prompt exceeds the context window of model: " + model);
+        }
+
+        FilePriorityPacker.Packed packed = FilePriorityPacker.pack(files,
+                text -> tokenEstimationService.countTokens(text, model), budget - baseTokens);
+        if (packed.files().isEmpty() && !files.isEmpty()) {
+            throw new PromptTooLargeEx("Changed files exceed the context window of model: " + model);
+        }
+        if (packed.summarized() > 0 || packed.dropped() > 0) {
+            log.info("Prompt packed for model {} - summarized: {}, dropped: {}, tokens: {}/{}",
+                    model, packed.summarized(), packed.dropped(), baseTokens + packed.tokens(), budget);
+        }
+
+        return new FilePriorityPacker.Packed(packed.files(), baseTokens + packed.tokens(),
+                packed.summarized(), packed.dropped());
+    }
+
+    /**
+     * AI 공급자 장애로 실패한 리뷰를 재시도 대기 상태로 전환 (지수 백오프)
+     * 최대 재시도 횟수를 넘으면 실패 처리
+     * countAttempt 가 false 면 (서킷이 열려 호출 자체를 하지 않은 경우) 재시도 횟수를 소모하지 않음
+     */
+    @Transactional
+    public void parkForRetry(Long repositoryId, Integer prNumber, boolean countAttempt) {
+        PullRequest pr = findByRepositoryIdAndPrNumberOrThrow(repositoryId, prNumber);
+        int attempts = pr.getRetryCount() == null ? 0 : pr.getRetryCount();
+        if (attempts >= maxReviewRetries) {
+            updateAiReview(repositoryId, prNumber, "AI review failed: AI provider unavailable", ReviewStatus.FAILED);
+            return;
+        }
+
+        long delaySeconds = Math.min(retryBaseDelaySeconds << Math.min(attempts, 10), MAX_RETRY_DELAY_SECONDS);
+        pr.scheduleRetry(LocalDateTime.now().plusSeconds(delaySeconds), countAttempt);
+        eventPublisher.publishEvent(ReviewProgressDto.builder()
+                .repositoryId(repositoryId)
+                .prNumber(prNumber)
+                .stage(Stage.RETRY_SCHEDULED)
+                .status(ReviewStatus.RETRY_SCHEDULED)
+                .message("Retrying in " + delaySeconds + "s")
+                .build());
+        log.info("Review parked for retry in {}s - repositoryId: {}, pr: {}, attempt: {}", delaySeconds,
+                repositoryId, prNumber, pr.getRetryCount());
+    }
+
+    /**
+     * 보류된 리뷰 재요청 (저장된 계정 토큰과 모델 사용)
+     */
+    @Transactional
+    public void retryReview(Long pullRequestId) {
+        PullRequest pr = pullRequestRepository.findById(pullRequestId)
+                .orElseThrow(() -> new PullRequestNotFoundEx("Pull request not found for id: " + pullRequestId));
+        if (pr.getStatus() != ReviewStatus.RETRY_SCHEDULED) {
+            return;
+        }
+
+        GithubAccount account = pr.getGithubAccount();
+        String accessToken = tokenEncryptionService.decryptToken(account.getAccessToken());
+        review(account.getLoginId(), pr.getRepositoryName(), pr.getPrNumber(), accessToken, pr.getReviewModel(),
+                true);
     }
 
     /**
@@ -154,9 +293,19 @@ public class PullRequestService {
     @Transactional
     public void updateAiReview(Long repositoryId, Integer prNumber, String aiReview,
             ReviewStatus status) {
+        updateAiReview(repositoryId, prNumber, aiReview, status, null);
+    }
+
+    /**
+     * ai 리뷰 결과 업데이트 - 스트리밍 중 이미 앵커링된 코멘트가 있으면 GitHub 게시 시 재사용
+     */
+    @Transactional
+    public void updateAiReview(Long repositoryId, Integer prNumber, String aiReview,
+            ReviewStatus status, List<ReviewCommentDto> anchoredComments) {
         PullRequest pr = findByRepositoryIdAndPrNumberOrThrow(repositoryId, prNumber);
         pr.updateAiReview(aiReview);
         pr.updateStatus(status);
+        pr.clearRetry();
 
         GithubAccount account = pr.getGithubAccount();
 
@@ -167,35 +316,63 @@ public class PullRequestService {
                     pr);
 
             // GitHub PR에 댓글 자동 게시
-            if (Boolean.TRUE.equals(account.getAiSettings().getAutoPostToGithub())) {
-                processAndPostReview(account, pr, aiReview);
+            boolean autoPost = Boolean.TRUE.equals(account.getAiSettings().getAutoPostToGithub());
+            eventPublisher.publishEvent(ReviewProgressDto.builder()
+                    .repositoryId(repositoryId)
+                    .prNumber(prNumber)
+                    .stage(Stage.COMPLETED)
+                    .status(status)
+                    .terminal(!autoPost)
+                    .build());
+            if (autoPost) {
+                processAndPostReview(account, pr, aiReview, anchoredComments);
+                eventPublisher.publishEvent(ReviewProgressDto.builder()
+                        .repositoryId(repositoryId)
+                        .prNumber(prNumber)
+                        .stage(Stage.POSTED)
+                        .status(status)
+                        .terminal(true)
+                        .build());
             }
         } else if (status == ReviewStatus.FAILED) {
             notificationService.createNotification(
                     account,
                     NotificationType.REVIEW_FAILED,
                     pr);
+            eventPublisher.publishEvent(ReviewProgressDto.builder()
+                    .repositoryId(repositoryId)
+                    .prNumber(prNumber)
+                    .stage(Stage.FAILED)
+                    .status(status)
+                    .message(aiReview)
+                    .terminal(true)
+                    .build());
         }
     }
 
     /**
      * AI 리뷰를 처리하고 GitHub에 게시 (파싱 및 분기 처리)
+     * 스트리밍 중 모든 코멘트가 앵커링되었다면 변경 파일을 다시 조회하지 않는다
      */
-    private void processAndPostReview(GithubAccount account, PullRequest pr, String aiReview) {
+    private void processAndPostReview(GithubAccount account, PullRequest pr, String aiReview,
+            List<ReviewCommentDto> anchoredComments) {
         try {
             String accessToken = tokenEncryptionService.decryptToken(account.getAccessToken());
             String sanitizedAiReview = sanitizeAiReview(aiReview);
 
-            // Diff 정보 가져오기 (라인 매칭용)
-            List<ChangedFileDto> changedFiles = githubService.getChangedFiles(accessToken,
-                    pr.getGithubAccount().getLoginId(), pr.getRepositoryName(), pr.getPrNumber());
-
             try {
                 AiReviewResponseDto aiResponse = objectMapper.readValue(sanitizedAiReview, AiReviewResponseDto.class);
 
                 if (aiResponse.getComments() != null && !aiResponse.getComments().isEmpty()) {
-                    List<ReviewCommentDto> enrichedComments = calculateLineNumbers(aiResponse.getComments(),
-                            changedFiles);
+                    List<ReviewCommentDto> enrichedComments;
+                    if (isFullyAnchored(anchoredComments, aiResponse.getComments().size())) {
+                        enrichedComments = anchoredComments;
+                    } else {
+                        // Diff 정보 가져오기 (라인 매칭용)
+                        List<ChangedFileDto> changedFiles = githubService.getChangedFiles(accessToken,
+                                pr.getGithubAccount().getLoginId(), pr.getRepositoryName(), pr.getPrNumber());
+                        enrichedComments = calculateLineNumbers(aiResponse.getComments(), changedFiles);
+                    }
 
                     // DB 업데이트 (라인 번호 포함된 데이터 저장)
                     saveEnrichedReviewToDb(pr, aiResponse, enrichedComments);
@@ -217,24 +394,21 @@ public class PullRequestService {
         }
     }
 
+    /**
+     * 스트리밍 앵커링 결과를 그대로 쓸 수 있는지 (요약/생략된 파일의 코멘트는 전체 patch 로 다시 매칭)
+     */
+    private boolean isFullyAnchored(List<ReviewCommentDto> anchoredComments, int expectedCount) {
+        return anchoredComments != null && anchoredComments.size() == expectedCount
+                && anchoredComments.stream().allMatch(c -> c.getLine() != null);
+    }
+
     private List<ReviewCommentDto> calculateLineNumbers(List<ReviewCommentDto> comments,
             List<ChangedFileDto> changedFiles) {
-        List<ReviewCommentDto> enrichedComments = new java.util.ArrayList<>();
+        Map<String, PatchIndex> patchIndexes = reviewAnchorService.indexPatches(changedFiles);
+
+        List<ReviewCommentDto> enrichedComments = new ArrayList<>(comments.size());
         for (var comment : comments) {
-            String filePatch = changedFiles.stream()
-                    .filter(f -> f.getFilename().equals(comment.getPath()))
-                    .findFirst()
-                    .map(ChangedFileDto::getPatch)
-                    .orElse(null);
-            Integer line = reviewAnchorService.findLineNumber(filePatch, comment.getCodeSnippet());
-
-            enrichedComments.add(ReviewCommentDto.builder()
-                    .path(comment.getPath())
-                    .codeSnippet(comment.getCodeSnippet())
-                    .line(line)
-                    .side(line != null ? "RIGHT" : null)
-                    .body(comment.getBody())
-                    .build());
+            enrichedComments.add(reviewAnchorService.anchor(patchIndexes, comment));
         }
         return enrichedComments;
     }
@@ -330,6 +504,29 @@ public class PullRequestService {
                 + "\n\n---\n*Powered by [AISenpai](https://aisenpai.dev)*";
     }
 
+    /**
+     * 리뷰 진행 상황 구독 대상 저장소 id (저장소 접근 권한 확인 겸)
+     */
+    public Long getRepositoryId(String owner, String repo, String accessToken) {
+        return githubService.getRepositoryId(accessToken, owner, repo);
+    }
+
+    /**
+     * 리뷰 진행 상황 구독용 현재 상태 - 이미 완료/실패한 리뷰면 terminal
+     */
+    @Transactional(readOnly = true)
+    public ReviewProgressDto getReviewProgressSnapshot(Long repositoryId, Integer prNumber) {
+        PullRequest pr = findByRepositoryIdAndPrNumberOrThrow(repositoryId, prNumber);
+        ReviewStatus status = pr.getStatus();
+        return ReviewProgressDto.builder()
+                .repositoryId(repositoryId)
+                .prNumber(prNumber)
+                .stage(Stage.SNAPSHOT)
+                .status(status)
+                .terminal(status == ReviewStatus.COMPLETED || status == ReviewStatus.FAILED)
+                .build();
+    }
+
     /**
      * ai 리뷰 결과 조회
      */
@@ -379,46 +576,12 @@ public class PullRequestService {
         if (currentStatus == ReviewStatus.COMPLETED || currentStatus == ReviewStatus.FAILED) {
             existingPr.updateStatus(ReviewStatus.NEW_CHANGES);
         }
-        // PENDING, IN_PROGRESS, NEW_CHANGES는 상태 유지
+        // PENDING, IN_PROGRESS, NEW_CHANGES, RETRY_SCHEDULED는 상태 유지
 
         existingPr.updateAction(action);
         pullRequestRepository.save(existingPr);
     }
 
-    /**
-     * 사용자 입력 패턴을 Glob 패턴으로 변환 (gitignore 스타일 지원)
-     */
-    private String convertUserPatternToGlob(String pattern) {
-        pattern = pattern.trim();
-        boolean isDirectory = pattern.endsWith("/");
-        if (isDirectory) {
-            pattern = pattern.substring(0, pattern.length() - 1);
-        }
-
-        boolean isRooted = pattern.startsWith("/");
-        if (isRooted) {
-            pattern = pattern.substring(1);
-        }
-
-        boolean hasSlash = pattern.contains("/");
-
-        StringBuilder glob = new StringBuilder();
-
-        if (!isRooted && !hasSlash) {
-            glob.append("{**/,}");
-        }
-
-        glob.append(pattern);
-
-        if (isDirectory) {
-            glob.append("/**");
-        } else {
-            glob.append("{,/**}");
-        }
-
-        return glob.toString();
-    }
-
     /**
      * 새 PR 생성
      */
@@ -446,8 +609,7 @@ public class PullRequestService {
         if (Boolean.TRUE.equals(githubAccount.getAiSettings().getAutoReviewEnabled())) {
             try {
                 String accessToken = tokenEncryptionService.decryptToken(githubAccount.getAccessToken());
-                String model = githubAccount.getAiSettings().getOpenaiModel();
-                review(loginId, repoName, prNumber, accessToken, model);
+                review(loginId, repoName, prNumber, accessToken, null, true);
                 log.info("Auto review triggered for PR #{} in {}/{}", prNumber, loginId, repoName);
             } catch (Exception e) {
                 log.warn("Auto review failed for PR #{} in {}/{}: {}", prNumber, loginId, repoName, e.getMessage());
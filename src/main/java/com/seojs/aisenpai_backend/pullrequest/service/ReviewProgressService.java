@@ -0,0 +1,133 @@
+package com.seojs.aisenpai_backend.pullrequest.service;
+
+import com.seojs.aisenpai_backend.common.TransactionCallbacks;
+import com.seojs.aisenpai_backend.pullrequest.dto.ReviewProgressDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * PR 별 리뷰 진행 상황 SSE 구독 관리
+ *
+ * ReviewProgressDto 이벤트를 받아 같은 PR 의 구독자에게 바로 전달한다.
+ * 완료/실패처럼 DB 결과를 다시 조회하게 되는 terminal 이벤트는 트랜잭션 커밋 이후에 보낸다.
+ * 구독 정보는 인스턴스 메모리에만 있으므로 다중 인스턴스 배포 시 sticky session 이 필요하다.
+ */
+@Slf4j
+@Service
+public class ReviewProgressService {
+
+    private static final String PROGRESS_EVENT = "progress";
+
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @Value("${app.review.sse-timeout-ms:600000}")
+    private long timeoutMillis;
+
+    /**
+     * 구독 등록 후 현재 상태 스냅샷을 읽어 먼저 전송 - 이미 끝난 리뷰면 스냅샷만 보내고 종료
+     * 스냅샷을 등록 뒤에 읽어야 그 사이에 끝난 리뷰의 terminal 이벤트를 놓치지 않는다.
+     */
+    public SseEmitter subscribe(Long repositoryId, Integer prNumber, Supplier<ReviewProgressDto> snapshotLoader) {
+        String key = key(repositoryId, prNumber);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.compute(key, (k, list) -> {
+            List<SseEmitter> subscribers = list != null ? list : new CopyOnWriteArrayList<>();
+            subscribers.add(emitter);
+            return subscribers;
+        });
+
+        emitter.onCompletion(() -> remove(key, emitter));
+        emitter.onTimeout(() -> remove(key, emitter));
+        emitter.onError(e -> remove(key, emitter));
+
+        ReviewProgressDto snapshot;
+        try {
+            snapshot = snapshotLoader.get();
+        } catch (RuntimeException e) {
+            remove(key, emitter);
+            throw e;
+        }
+
+        if (send(key, emitter, snapshot) && snapshot.isTerminal()) {
+            emitter.complete();
+            remove(key, emitter);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onProgress(ReviewProgressDto progress) {
+        if (progress.isTerminal()) {
+            TransactionCallbacks.runAfterCommit(() -> broadcast(progress));
+            return;
+        }
+        broadcast(progress);
+    }
+
+    /**
+     * 프록시 유휴 타임아웃 방지 및 끊긴 연결 정리용 주석 이벤트
+     */
+    @Scheduled(fixedDelayString = "${app.review.sse-heartbeat-ms:20000}")
+    public void heartbeat() {
+        emitters.forEach((key, list) -> list.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                remove(key, emitter);
+            }
+        }));
+    }
+
+    int subscriberCount(Long repositoryId, Integer prNumber) {
+        List<SseEmitter> list = emitters.get(key(repositoryId, prNumber));
+        return list == null ? 0 : list.size();
+    }
+
+    private void broadcast(ReviewProgressDto progress) {
+        String key = key(progress.getRepositoryId(), progress.getPrNumber());
+        List<SseEmitter> list = emitters.get(key);
+        if (list == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : list) {
+            if (send(key, emitter, progress) && progress.isTerminal()) {
+                emitter.complete();
+                remove(key, emitter);
+            }
+        }
+    }
+
+    private boolean send(String key, SseEmitter emitter, ReviewProgressDto progress) {
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(progress));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping review progress subscriber {}: {}", key, e.getMessage());
+            remove(key, emitter);
+            return false;
+        }
+    }
+
+    private void remove(String key, SseEmitter emitter) {
+        emitters.computeIfPresent(key, (k, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private static String key(Long repositoryId, Integer prNumber) {
+        return repositoryId + "#" + prNumber;
+    }
+}
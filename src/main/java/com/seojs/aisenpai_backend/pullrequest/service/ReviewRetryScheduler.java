@@ -0,0 +1,59 @@
+package com.seojs.aisenpai_backend.pullrequest.service;
+
+import com.seojs.aisenpai_backend.ai.resilience.LlmCircuitBreaker;
+import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest;
+import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest.ReviewStatus;
+import com.seojs.aisenpai_backend.pullrequest.repository.PullRequestRepository;
+import com.seojs.aisenpai_backend.scheduler.service.ClusterJobRunner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재시도 대기(RETRY_SCHEDULED) 리뷰를 서킷이 닫혔을 때 다시 요청
+ * 같은 리뷰를 여러 인스턴스가 동시에 재요청하지 않도록 한 번에 한 인스턴스만 실행
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ReviewRetryScheduler {
+    private static final String RETRY_JOB = "review.retry-parked";
+    private static final Duration RETRY_LOCK_AT_MOST_FOR = Duration.ofMinutes(5);
+
+    private final PullRequestRepository pullRequestRepository;
+    private final PullRequestService pullRequestService;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final ClusterJobRunner clusterJobRunner;
+
+    @Scheduled(fixedDelayString = "${app.ai.circuit-breaker.retry-poll-ms:15000}")
+    public void retryParkedReviews() {
+        if (!circuitBreaker.isCallPermitted()) {
+            return;
+        }
+        clusterJobRunner.runExclusively(RETRY_JOB, RETRY_LOCK_AT_MOST_FOR, Duration.ZERO, this::retryDueReviews);
+    }
+
+    private void retryDueReviews() {
+        List<PullRequest> due = pullRequestRepository
+                .findTop20ByStatusAndNextRetryAtLessThanEqualOrderByNextRetryAtAsc(ReviewStatus.RETRY_SCHEDULED,
+                        LocalDateTime.now());
+        // 리뷰 호출은 리스너에서 비동기로 실행되므로 여기서는 probe 슬롯이 차지되지 않음
+        // 서킷이 CLOSED 가 아니면 (OPEN 대기 만료 / HALF_OPEN) probe 용으로 한 건만 보내고 다음 주기에 결과를 봄
+        int limit = circuitBreaker.getState() == LlmCircuitBreaker.State.CLOSED ? due.size() : 1;
+        for (PullRequest pr : due.subList(0, Math.min(limit, due.size()))) {
+            try {
+                pullRequestService.retryReview(pr.getId());
+                log.info("Retrying parked review - repositoryId: {}, pr: {}", pr.getRepositoryId(), pr.getPrNumber());
+            } catch (Exception e) {
+                log.warn("Failed to retry parked review - repositoryId: {}, pr: {}: {}", pr.getRepositoryId(),
+                        pr.getPrNumber(), e.getMessage());
+                pullRequestService.parkForRetry(pr.getRepositoryId(), pr.getPrNumber(), true);
+            }
+        }
+    }
+}
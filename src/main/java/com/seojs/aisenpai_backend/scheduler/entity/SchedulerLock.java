@@ -0,0 +1,27 @@
+package com.seojs.aisenpai_backend.scheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 클러스터 단위 스케줄 작업 임대(lease) 행 - 작업 이름당 한 행이며 lockedUntil 이 지나면 다른 인스턴스가 가져갈 수 있음
+ * (행은 SchedulerLockJdbcRepository 가 조건부 UPDATE/INSERT 로만 다룸)
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+public class SchedulerLock {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private String lockedBy;
+}
@@ -0,0 +1,78 @@
+package com.seojs.aisenpai_backend.scheduler.repository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * scheduler_lock 임대 획득/반납 - 조건부 UPDATE 한 번(없으면 INSERT)으로 원자적으로 처리
+ *
+ * Postgres 는 제약 위반이 나면 트랜잭션 전체가 중단되므로 INSERT 는 ON CONFLICT DO NOTHING 으로 충돌을 피한다.
+ * H2 는 같은 문법이 없어 NOT EXISTS 조건부 INSERT 를 쓰고, 동시에 들어온 INSERT 의 제약 위반만 잡는다.
+ */
+@Repository
+public class SchedulerLockJdbcRepository {
+
+    private static final String ACQUIRE_SQL = "UPDATE scheduler_lock SET locked_until = ?, locked_at = ?, locked_by = ? "
+            + "WHERE name = ? AND locked_until <= ?";
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO scheduler_lock (name, locked_until, locked_at, locked_by) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (name) DO NOTHING";
+    private static final String INSERT_SQL = "INSERT INTO scheduler_lock (name, locked_until, locked_at, locked_by) "
+            + "SELECT ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM scheduler_lock WHERE name = ?)";
+    private static final String RELEASE_SQL = "UPDATE scheduler_lock SET locked_until = ? "
+            + "WHERE name = ? AND locked_by = ? AND locked_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public SchedulerLockJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 임대가 없거나 만료됐으면 lockedUntil 까지 임대하고 true
+     */
+    public boolean tryAcquire(String name, LocalDateTime now, LocalDateTime lockedUntil, String owner) {
+        int updated = jdbcTemplate.update(ACQUIRE_SQL,
+                Timestamp.valueOf(lockedUntil), Timestamp.valueOf(now), owner, name, Timestamp.valueOf(now));
+        if (updated > 0) {
+            return true;
+        }
+
+        // 행이 이미 있으면 0 건 - 다른 인스턴스가 보유 중
+        if (isPostgres()) {
+            return jdbcTemplate.update(POSTGRES_INSERT_SQL,
+                    name, Timestamp.valueOf(lockedUntil), Timestamp.valueOf(now), owner) > 0;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SQL,
+                    name, Timestamp.valueOf(lockedUntil), Timestamp.valueOf(now), owner, name) > 0;
+        } catch (DataIntegrityViolationException e) {
+            // 같은 순간 다른 인스턴스가 먼저 INSERT
+            return false;
+        }
+    }
+
+    /**
+     * 자기가 획득한 임대만 lockedUntil 로 줄여서 반납
+     */
+    public void release(String name, String owner, LocalDateTime lockedAt, LocalDateTime lockedUntil) {
+        jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(lockedUntil), name, owner, Timestamp.valueOf(lockedAt));
+    }
+
+    private boolean isPostgres() {
+        Boolean cached = postgres;
+        if (cached == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            cached = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = cached;
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,79 @@
+package com.seojs.aisenpai_backend.scheduler.service;
+
+import com.seojs.aisenpai_backend.scheduler.repository.SchedulerLockJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * 클러스터에서 한 인스턴스만 실행해야 하는 스케줄 작업 실행기 (scheduler_lock 임대 기반)
+ *
+ * 작업은 @Scheduled 메서드 본문을 runExclusively(작업 이름, ...) 로 감싸서 등록한다.
+ * - lockAtMostFor: 작업이 죽거나 인스턴스가 내려가도 이 시간이 지나면 다른 인스턴스가 실행 가능 (작업 최대 소요 시간보다 길게)
+ * - lockAtLeastFor: 일찍 끝나도 이 시간까지는 임대 유지 (인스턴스 간 시계 오차로 같은 주기에 다시 실행되는 것 방지)
+ * 임대 획득/반납은 호출자 트랜잭션과 분리된 별도 트랜잭션에서 수행한다. 시각은 각 인스턴스의 시계를 사용한다.
+ */
+@Slf4j
+@Service
+public class ClusterJobRunner {
+
+    private final SchedulerLockJdbcRepository schedulerLockJdbcRepository;
+    private final TransactionTemplate lockTransaction;
+    private final String owner;
+    private final Duration defaultLockAtMostFor;
+    private final Duration defaultLockAtLeastFor;
+
+    public ClusterJobRunner(SchedulerLockJdbcRepository schedulerLockJdbcRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.scheduler.lock.at-most-for-ms:1800000}") long lockAtMostForMillis,
+            @Value("${app.scheduler.lock.at-least-for-ms:60000}") long lockAtLeastForMillis) {
+        this.schedulerLockJdbcRepository = schedulerLockJdbcRepository;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.lockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+        this.defaultLockAtMostFor = Duration.ofMillis(lockAtMostForMillis);
+        this.defaultLockAtLeastFor = Duration.ofMillis(lockAtLeastForMillis);
+    }
+
+    public boolean runExclusively(String jobName, Runnable task) {
+        return runExclusively(jobName, defaultLockAtMostFor, defaultLockAtLeastFor, task);
+    }
+
+    /**
+     * 임대를 얻으면 task 를 실행하고 true, 다른 인스턴스가 보유 중이면 실행하지 않고 false
+     */
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        LocalDateTime lockedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Boolean acquired = lockTransaction.execute(status -> schedulerLockJdbcRepository
+                .tryAcquire(jobName, lockedAt, lockedAt.plus(lockAtMostFor), owner));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("Skipping job {}: lease held by another instance", jobName);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime minimum = lockedAt.plus(lockAtLeastFor);
+            LocalDateTime releaseAt = now.isAfter(minimum) ? now : minimum;
+            try {
+                lockTransaction.executeWithoutResult(status -> schedulerLockJdbcRepository
+                        .release(jobName, owner, lockedAt, releaseAt.truncatedTo(ChronoUnit.MILLIS)));
+            } catch (RuntimeException e) {
+                // 반납 실패 시 lockAtMostFor 가 지나면 자동 해제
+                log.warn("Failed to release job lease {}: {}", jobName, e.getMessage());
+            }
+        }
+    }
+}
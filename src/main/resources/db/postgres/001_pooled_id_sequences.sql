@@ -0,0 +1,28 @@
+-- 쓰기량이 많은 테이블의 id 생성 방식을 IDENTITY 에서 pooled 시퀀스(INCREMENT BY 50)로 전환
+-- (PageViewLog, Notification, LoginHistory, PullRequest 의 @SequenceGenerator allocationSize = 50 과 일치해야 함)
+--
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전, 애플리케이션을 중지한 상태에서 한 번 실행한다.
+-- 다시 실행해도 안전하다. (실행 중인 인스턴스가 예약해 둔 id 구간과 겹칠 수 있으므로 반드시 중지 후 실행)
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['page_view_log', 'notification', 'login_history', 'pull_request'] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t || '_seq');
+
+        -- identity 컬럼이면 해제, serial 이면 기본값 제거 (id 는 애플리케이션이 할당)
+        IF EXISTS (SELECT 1
+                   FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = t
+                     AND column_name = 'id'
+                     AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', t);
+        END IF;
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+
+        -- pooled 최적화는 시퀀스 값 v 로 (v - 50, v] 구간을 사용하므로 다음 값을 기존 최대 id + 51 로 맞춤
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 51, false)', t || '_seq', t);
+    END LOOP;
+END $$;
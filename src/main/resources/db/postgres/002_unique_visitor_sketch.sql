@@ -0,0 +1,11 @@
+-- 일자/경로별 고유 방문자 HyperLogLog 스케치 테이블 (UniqueVisitorSketch)
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+CREATE TABLE IF NOT EXISTS unique_visitor_sketch (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    stat_date  DATE         NOT NULL,
+    path_key   VARCHAR(500) NOT NULL,
+    registers  BYTEA        NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    version    BIGINT,
+    CONSTRAINT uk_unique_visitor_sketch_date_path UNIQUE (stat_date, path_key)
+);
@@ -0,0 +1,17 @@
+-- 경로별 페이지뷰 시간/일 롤업 테이블 (PageViewHourlyRollup, PageViewDailyRollup)
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+CREATE TABLE IF NOT EXISTS page_view_hourly_rollup (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    path         VARCHAR(500) NOT NULL,
+    page_views   BIGINT       NOT NULL,
+    CONSTRAINT uk_page_view_hourly_rollup_bucket_path UNIQUE (bucket_start, path)
+);
+
+CREATE TABLE IF NOT EXISTS page_view_daily_rollup (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    stat_date  DATE         NOT NULL,
+    path       VARCHAR(500) NOT NULL,
+    page_views BIGINT       NOT NULL,
+    CONSTRAINT uk_page_view_daily_rollup_date_path UNIQUE (stat_date, path)
+);
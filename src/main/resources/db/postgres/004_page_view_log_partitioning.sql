@@ -0,0 +1,33 @@
+-- page_view_log 를 viewed_at 기준 범위 파티션 테이블로 전환 (일자 파티션은 PageViewLogRetentionService 가 미리 생성)
+--
+-- 기존 테이블은 page_view_log_legacy 로 이름을 바꿔 (MINVALUE ~ 내일 0시) 파티션으로 그대로 붙인다. (데이터 복사 없음)
+-- 보존 기간이 지나면 legacy 파티션도 일자 파티션과 같은 규칙으로 통째로 정리된다.
+-- 범위 밖 행은 page_view_log_default 로 들어가므로 파티션 생성이 늦어도 적재는 실패하지 않는다.
+--
+-- 운영 DB 는 ddl-auto: none 이므로 애플리케이션을 중지한 상태에서 한 번 실행한다.
+-- 이미 파티션 테이블이면 아무 것도 하지 않으므로 다시 실행해도 안전하다.
+DO $$
+DECLARE
+    legacy_upper timestamp := date_trunc('day', now()) + interval '1 day';
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM pg_partitioned_table p
+                        JOIN pg_class c ON c.oid = p.partrelid
+               WHERE c.relname = 'page_view_log'
+                 AND c.relnamespace = current_schema()::regnamespace) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE page_view_log RENAME TO page_view_log_legacy;
+
+    -- 파티션 테이블의 PK 는 파티션 키를 포함해야 함 (id 는 pooled 시퀀스로 계속 유일)
+    CREATE TABLE page_view_log (LIKE page_view_log_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (viewed_at);
+    ALTER TABLE page_view_log ADD CONSTRAINT page_view_log_partitioned_pkey PRIMARY KEY (id, viewed_at);
+
+    EXECUTE format('ALTER TABLE page_view_log ATTACH PARTITION page_view_log_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   legacy_upper);
+    CREATE TABLE page_view_log_default PARTITION OF page_view_log DEFAULT;
+
+    -- 일별 PV/UV 집계 범위 조회용 (각 파티션에 전파됨)
+    CREATE INDEX idx_page_view_log_viewed_at ON page_view_log (viewed_at, session_id);
+END $$;
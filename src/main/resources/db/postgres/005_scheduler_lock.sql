@@ -0,0 +1,8 @@
+-- 클러스터 단위 스케줄 작업 임대 테이블 (SchedulerLock, ClusterJobRunner)
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+CREATE TABLE IF NOT EXISTS scheduler_lock (
+    name         VARCHAR(100) PRIMARY KEY,
+    locked_until TIMESTAMP(6) NOT NULL,
+    locked_at    TIMESTAMP(6) NOT NULL,
+    locked_by    VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,9 @@
+-- 일자/유입 도메인별 페이지뷰 롤업 테이블 (ReferrerDailyRollup)
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+CREATE TABLE IF NOT EXISTS referrer_daily_rollup (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    stat_date  DATE         NOT NULL,
+    host       VARCHAR(255) NOT NULL,
+    page_views BIGINT       NOT NULL,
+    CONSTRAINT uk_referrer_daily_rollup_date_host UNIQUE (stat_date, host)
+);
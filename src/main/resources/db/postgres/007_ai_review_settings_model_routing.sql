@@ -0,0 +1,26 @@
+-- AiReviewSettings 모델 라우팅 컬럼 추가 (modelRoutingEnabled, fastModel, strongModel, smallDiffLines, largeDiffLines)
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+-- 기존 행은 엔티티 기본값(라우팅 비활성)으로 채운다.
+ALTER TABLE ai_review_settings ADD COLUMN IF NOT EXISTS model_routing_enabled BOOLEAN;
+ALTER TABLE ai_review_settings ADD COLUMN IF NOT EXISTS fast_model VARCHAR(255);
+ALTER TABLE ai_review_settings ADD COLUMN IF NOT EXISTS strong_model VARCHAR(255);
+ALTER TABLE ai_review_settings ADD COLUMN IF NOT EXISTS small_diff_lines INTEGER;
+ALTER TABLE ai_review_settings ADD COLUMN IF NOT EXISTS large_diff_lines INTEGER;
+
+UPDATE ai_review_settings SET model_routing_enabled = false WHERE model_routing_enabled IS NULL;
+UPDATE ai_review_settings SET fast_model = 'gpt-4o-mini' WHERE fast_model IS NULL;
+UPDATE ai_review_settings SET strong_model = 'gpt-4o' WHERE strong_model IS NULL;
+UPDATE ai_review_settings SET small_diff_lines = 50 WHERE small_diff_lines IS NULL;
+UPDATE ai_review_settings SET large_diff_lines = 500 WHERE large_diff_lines IS NULL;
+
+ALTER TABLE ai_review_settings
+    ALTER COLUMN model_routing_enabled SET DEFAULT false,
+    ALTER COLUMN model_routing_enabled SET NOT NULL,
+    ALTER COLUMN fast_model SET DEFAULT 'gpt-4o-mini',
+    ALTER COLUMN fast_model SET NOT NULL,
+    ALTER COLUMN strong_model SET DEFAULT 'gpt-4o',
+    ALTER COLUMN strong_model SET NOT NULL,
+    ALTER COLUMN small_diff_lines SET DEFAULT 50,
+    ALTER COLUMN small_diff_lines SET NOT NULL,
+    ALTER COLUMN large_diff_lines SET DEFAULT 500,
+    ALTER COLUMN large_diff_lines SET NOT NULL;
@@ -0,0 +1,15 @@
+-- PullRequest 재시도 대기 컬럼 추가 (reviewModel, retryCount, nextRetryAt) 및 status 에 RETRY_SCHEDULED 허용
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+ALTER TABLE pull_request ADD COLUMN IF NOT EXISTS review_model VARCHAR(255);
+ALTER TABLE pull_request ADD COLUMN IF NOT EXISTS retry_count INTEGER;
+ALTER TABLE pull_request ADD COLUMN IF NOT EXISTS next_retry_at TIMESTAMP(6);
+
+-- Hibernate 가 생성한 enum CHECK 제약을 새 상태 목록으로 다시 만든다
+ALTER TABLE pull_request DROP CONSTRAINT IF EXISTS pull_request_status_check;
+ALTER TABLE pull_request ADD CONSTRAINT pull_request_status_check
+    CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED', 'FAILED', 'NEW_CHANGES', 'RETRY_SCHEDULED'));
+
+-- ReviewRetryScheduler 의 재시도 대상 조회용 (RETRY_SCHEDULED 행만 색인)
+CREATE INDEX IF NOT EXISTS idx_pull_request_retry_due
+    ON pull_request (next_retry_at)
+    WHERE status = 'RETRY_SCHEDULED';
@@ -0,0 +1,3 @@
+-- PullRequest 프롬프트 토큰 추정치 컬럼 추가 (promptTokens)
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+ALTER TABLE pull_request ADD COLUMN IF NOT EXISTS prompt_tokens INTEGER;
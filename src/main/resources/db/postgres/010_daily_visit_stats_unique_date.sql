@@ -0,0 +1,17 @@
+-- 일별 통계(DailyVisitStats) 날짜 유일 제약 - 자정 집계와 누락 복구가 겹쳐 생긴 중복 행은 먼저 정리한다
+-- 운영 DB 는 ddl-auto: none 이므로 새 버전 배포 전에 한 번 실행한다. 다시 실행해도 안전하다.
+DELETE FROM daily_visit_stats d
+WHERE EXISTS (SELECT 1
+              FROM daily_visit_stats o
+              WHERE o.stat_date = d.stat_date
+                AND o.id < d.id);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_constraint
+                   WHERE conname = 'uk_daily_visit_stats_stat_date'
+                     AND conrelid = 'daily_visit_stats'::regclass) THEN
+        ALTER TABLE daily_visit_stats ADD CONSTRAINT uk_daily_visit_stats_stat_date UNIQUE (stat_date);
+    END IF;
+END $$;
@@ -0,0 +1,68 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import com.seojs.aisenpai_backend.exception.AiSaturatedEx;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.ai.retry.NonTransientAiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_혼잡_오류시_한도_감소() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 1, 32, 45_000, 0.5, 1);
+
+        // when
+        assertThrows(TransientAiException.class, () -> limiter.execute(() -> {
+            throw new TransientAiException("503 - overloaded");
+        }));
+
+        // then
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(5.0, meterRegistry.get("ai.llm.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void execute_클라이언트_오류는_한도에_반영하지_않음() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 4, 1, 32, 45_000, 0.5, 1);
+
+        // when
+        assertThrows(NonTransientAiException.class, () -> limiter.execute(() -> {
+            throw new NonTransientAiException("400 - bad request");
+        }));
+
+        // then
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void execute_정상_응답이_이어지면_한도_증가() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 1, 1, 32, 45_000, 0.5, 1);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            limiter.execute(() -> "ok");
+        }
+
+        // then
+        assertTrue(limiter.getLimit() > 1);
+    }
+
+    @Test
+    void execute_슬롯_대기_시간_초과시_AiSaturatedEx() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 1, 1, 1, 45_000, 0.5, 0);
+
+        // when & then - 한도 1 인 상태에서 슬롯을 잡은 채로 다시 요청
+        assertThrows(AiSaturatedEx.class, () -> limiter.execute(() -> limiter.execute(() -> "ok")));
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,149 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import com.seojs.aisenpai_backend.exception.AiSaturatedEx;
+import com.seojs.aisenpai_backend.exception.OpenAiRateLimitEx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyRateLimiterTest {
+
+    private ApiKeyRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ApiKeyRateLimiter();
+        ReflectionTestUtils.setField(limiter, "maxConcurrentPerKey", 2);
+        ReflectionTestUtils.setField(limiter, "maxRetries", 2);
+        ReflectionTestUtils.setField(limiter, "maxWaitSeconds", 5L);
+    }
+
+    @Test
+    void execute_429는_재시도_후_성공() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        ChatResponse ok = new ChatResponse(List.of());
+
+        // when
+        ChatResponse response = limiter.execute("sk-test", 100, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new OpenAiRateLimitEx("429 - rate limited", Duration.ofMillis(10));
+            }
+            return ok;
+        });
+
+        // then
+        assertSame(ok, response);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_재시도_횟수_초과시_예외() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when & then
+        assertThrows(OpenAiRateLimitEx.class, () -> limiter.execute("sk-test", 100, () -> {
+            calls.incrementAndGet();
+            throw new OpenAiRateLimitEx("429 - rate limited", Duration.ofMillis(10));
+        }));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void execute_동시성_한도_포화는_재시도하지_않음() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when & then
+        assertThrows(AiSaturatedEx.class, () -> limiter.execute("sk-test", 100, () -> {
+            calls.incrementAndGet();
+            throw new AiSaturatedEx("Timed out waiting for an LLM concurrency slot");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void reserve_차단_시간_동안_대기() {
+        // given
+        ApiKeyRateLimiter.KeyState state = new ApiKeyRateLimiter.KeyState(1);
+        state.blockFor(1_000);
+
+        // when
+        long wait = state.reserve(10, System.nanoTime());
+
+        // then
+        assertTrue(wait > 0);
+    }
+
+    @Test
+    void tryReserve_슬롯이_없으면_null() {
+        // given
+        Runnable first = limiter.tryReserve("sk-test", 100);
+        Runnable second = limiter.tryReserve("sk-test", 100);
+
+        // when
+        Runnable third = limiter.tryReserve("sk-test", 100);
+
+        // then
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(third);
+        first.run();
+        assertNotNull(limiter.tryReserve("sk-test", 100));
+    }
+
+    @Test
+    void tryAcquire_차단_중이면_대기하지_않고_슬롯_반납() {
+        // given
+        ApiKeyRateLimiter.KeyState state = new ApiKeyRateLimiter.KeyState(1);
+        state.blockFor(1_000);
+
+        // when
+        boolean acquired = state.tryAcquire(10);
+
+        // then
+        assertFalse(acquired);
+        assertDoesNotThrow(() -> state.acquire(10, System.nanoTime() + 5_000_000_000L));
+    }
+
+    @Test
+    void acquire_제한_대기_중_인터럽트되면_슬롯_반납() throws InterruptedException {
+        // given
+        ApiKeyRateLimiter.KeyState state = new ApiKeyRateLimiter.KeyState(1);
+        state.blockFor(10_000);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                state.acquire(10, System.nanoTime() + 30_000_000_000L);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+
+        // when
+        waiter.start();
+        Thread.sleep(200);
+        waiter.interrupt();
+        waiter.join(5_000);
+
+        // then
+        assertInstanceOf(OpenAiRateLimitEx.class, failure.get());
+        assertEquals(1, state.availablePermits());
+    }
+
+    @Test
+    void backoffMillis_RetryAfter_우선() {
+        assertEquals(1_500, ApiKeyRateLimiter.backoffMillis(0, Duration.ofMillis(1_500)));
+        long backoff = ApiKeyRateLimiter.backoffMillis(2, null);
+        assertTrue(backoff >= 2_000 && backoff <= 4_000);
+    }
+}
@@ -0,0 +1,144 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedRequestExecutorTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_비활성화면_그대로_호출() {
+        // given
+        HedgedRequestExecutor hedging = new HedgedRequestExecutor(executor, meterRegistry, false, 0.95, 50, 0.1, 200);
+
+        // when
+        String result = hedging.execute(() -> "ok");
+
+        // then
+        assertEquals("ok", result);
+        assertEquals(-1, hedging.hedgeDelayMillis());
+    }
+
+    @Test
+    void execute_느린_요청은_헤지_요청이_먼저_응답() {
+        // given
+        HedgedRequestExecutor hedging = new HedgedRequestExecutor(executor, meterRegistry, true, 0.95, 50, 0.1, 200);
+        for (int i = 0; i < 25; i++) {
+            hedging.execute(() -> "warm-up");
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        long start = System.nanoTime();
+        String result = hedging.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(3_000);
+                return "slow";
+            }
+            return "fast";
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        assertEquals("fast", result);
+        assertTrue(elapsedMillis < 2_000);
+        assertEquals(1.0, meterRegistry.get("ai.llm.hedge.fired").counter().count());
+    }
+
+    @Test
+    void execute_키별_한도를_차지하지_못하면_헤징하지_않음() {
+        // given
+        HedgedRequestExecutor hedging = new HedgedRequestExecutor(executor, meterRegistry, true, 0.95, 50, 0.1, 200);
+        for (int i = 0; i < 25; i++) {
+            hedging.execute(() -> "warm-up");
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        String result = hedging.execute(() -> {
+            attempts.incrementAndGet();
+            sleep(300);
+            return "slow";
+        }, () -> null);
+
+        // then
+        assertEquals("slow", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.get("ai.llm.hedge.fired").counter().count());
+    }
+
+    @Test
+    void execute_헤지_요청이_끝나면_예약_반납() throws InterruptedException {
+        // given
+        HedgedRequestExecutor hedging = new HedgedRequestExecutor(executor, meterRegistry, true, 0.95, 50, 0.1, 200);
+        for (int i = 0; i < 25; i++) {
+            hedging.execute(() -> "warm-up");
+        }
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch released = new CountDownLatch(1);
+
+        // when
+        String result = hedging.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(3_000);
+                return "slow";
+            }
+            return "fast";
+        }, () -> released::countDown);
+
+        // then
+        assertEquals("fast", result);
+        assertTrue(released.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_헤지에_진_요청의_지연은_기록하지_않음() throws InterruptedException {
+        // given - 표본 20개 중 최댓값이 헤지 지연이 되도록 percentile 0.999
+        HedgedRequestExecutor hedging = new HedgedRequestExecutor(executor, meterRegistry, true, 0.999, 50, 0.1, 20);
+        for (int i = 0; i < 25; i++) {
+            hedging.execute(() -> "warm-up");
+        }
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch slowFinished = new CountDownLatch(1);
+
+        // when
+        String result = hedging.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(800);
+                slowFinished.countDown();
+                return "slow";
+            }
+            return "fast";
+        });
+        assertTrue(slowFinished.await(2, TimeUnit.SECONDS));
+        sleep(200);
+
+        // then - 진 쪽 800ms 가 들어갔다면 헤지 지연도 800ms 이상
+        assertEquals("fast", result);
+        assertEquals(50, hedging.hedgeDelayMillis());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
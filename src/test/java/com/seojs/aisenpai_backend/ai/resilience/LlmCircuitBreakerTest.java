@@ -0,0 +1,61 @@
+package com.seojs.aisenpai_backend.ai.resilience;
+
+import com.seojs.aisenpai_backend.exception.AiUnavailableEx;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmCircuitBreakerTest {
+
+    @Test
+    void execute_실패율_초과시_열리고_즉시_실패() {
+        // given
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(new SimpleMeterRegistry(), 10, 3, 0.5, 30, 1);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThrows(TransientAiException.class, () -> breaker.execute(() -> {
+                throw new TransientAiException("503 - unavailable");
+            }));
+        }
+
+        // then
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+        assertThrows(AiUnavailableEx.class, () -> breaker.execute(() -> "ok"));
+    }
+
+    @Test
+    void execute_half_open_probe_성공시_닫힘() {
+        // given
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(new SimpleMeterRegistry(), 10, 1, 0.5, 0, 1);
+        assertThrows(TransientAiException.class, () -> breaker.execute(() -> {
+            throw new TransientAiException("503 - unavailable");
+        }));
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+
+        // when
+        String result = breaker.execute(() -> "ok");
+
+        // then
+        assertEquals("ok", result);
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void execute_클라이언트_오류는_실패로_세지_않음() {
+        // given
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(new SimpleMeterRegistry(), 10, 1, 0.5, 30, 1);
+
+        // when
+        assertThrows(NonTransientAiException.class, () -> breaker.execute(() -> {
+            throw new NonTransientAiException("401 - invalid key");
+        }));
+
+        // then
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,41 @@
+package com.seojs.aisenpai_backend.ai.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojs.aisenpai_backend.github.dto.ReviewCommentDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingReviewParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void feed_코멘트_객체가_닫히는_즉시_전달() {
+        // given
+        List<ReviewCommentDto> comments = new ArrayList<>();
+        StreamingReviewParser parser = new StreamingReviewParser(objectMapper, comments::add);
+
+        // when
+        parser.feed("```json\n{\"generalReview\": \"중괄호 { 와 \\\"comments\\\" [ 포함\", \"comm");
+        parser.feed("ents\": [{\"file\": \"A.java\", \"codeSnippet\": \"int a = 1; // }\", ");
+        assertTrue(comments.isEmpty());
+
+        parser.feed("\"comment\": \"첫 번째\"}, {\"file\": \"B.java\",");
+        assertEquals(1, comments.size());
+
+        parser.feed(" \"codeSnippet\": \"b()\", \"comment\": \"두 번째\"}]}\n```");
+
+        // then
+        assertEquals(2, comments.size());
+        assertEquals(2, parser.getEmitted());
+        assertEquals("A.java", comments.get(0).getPath());
+        assertEquals("int a = 1; // }", comments.get(0).getCodeSnippet());
+        assertEquals("첫 번째", comments.get(0).getBody());
+        assertEquals("B.java", comments.get(1).getPath());
+        assertTrue(parser.getText().startsWith("```json\n{\"generalReview\""));
+    }
+}
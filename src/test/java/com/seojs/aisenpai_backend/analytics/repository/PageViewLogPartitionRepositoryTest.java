@@ -0,0 +1,25 @@
+package com.seojs.aisenpai_backend.analytics.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageViewLogPartitionRepositoryTest {
+
+    @Test
+    void parseUpperBound_범위_파티션_상한_추출() {
+        assertEquals(LocalDateTime.of(2025, 3, 2, 0, 0), PageViewLogPartitionRepository.parseUpperBound(
+                "FOR VALUES FROM ('2025-03-01 00:00:00') TO ('2025-03-02 00:00:00')"));
+        assertEquals(LocalDateTime.of(2025, 1, 15, 0, 0), PageViewLogPartitionRepository.parseUpperBound(
+                "FOR VALUES FROM (MINVALUE) TO ('2025-01-15 00:00:00')"));
+        assertNull(PageViewLogPartitionRepository.parseUpperBound("DEFAULT"));
+    }
+
+    @Test
+    void partitionName_일자_접미사() {
+        assertEquals("page_view_log_p20250301", PageViewLogPartitionRepository.partitionName(LocalDate.of(2025, 3, 1)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.repository.DailyVisitStatsRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewDailyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.repository.ReferrerDailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsQueryServiceTest {
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final DailyVisitStatsRepository dailyVisitStatsRepository = mock(DailyVisitStatsRepository.class);
+    private final PageViewDailyRollupRepository pageViewDailyRollupRepository = mock(PageViewDailyRollupRepository.class);
+
+    private AnalyticsQueryService service;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        service = new AnalyticsQueryService(dailyVisitStatsRepository, pageViewDailyRollupRepository,
+                mock(ReferrerDailyRollupRepository.class), mock(UniqueVisitorService.class));
+        ReflectionTestUtils.setField(service, "finalityDelayMillis", 0L);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void isFinalized_지난_기간이_모두_집계됐으면_확정() {
+        // given
+        LocalDate from = today.minusDays(7);
+        LocalDate to = today.minusDays(1);
+
+        // when & then
+        assertTrue(service.isFinalized(from, to, 7));
+    }
+
+    @Test
+    void isFinalized_집계가_빠진_날짜가_있으면_미확정() {
+        // given - 자정 집계 누락 후 복구 전
+        LocalDate from = today.minusDays(7);
+        LocalDate to = today.minusDays(1);
+
+        // when & then
+        assertFalse(service.isFinalized(from, to, 6));
+    }
+
+    @Test
+    void isFinalized_오늘을_포함하면_미확정() {
+        // when & then
+        assertFalse(service.isFinalized(today.minusDays(1), today, 2));
+    }
+
+    @Test
+    void isFinalized_확정_지연이_지나지_않은_날짜는_미확정() {
+        // given - 늦은 beacon 을 아직 받을 수 있는 어제
+        ReflectionTestUtils.setField(service, "finalityDelayMillis", DAY_MILLIS);
+        LocalDate to = today.minusDays(1);
+
+        // when & then
+        assertFalse(service.isFinalized(to.minusDays(1), to, 2));
+        assertTrue(service.isFinalized(to.minusDays(2), to.minusDays(1), 2));
+    }
+
+    @Test
+    void getTopPaths_일별_집계_개수로_확정_여부_판단() {
+        // given
+        LocalDate from = today.minusDays(3);
+        LocalDate to = today.minusDays(1);
+        when(pageViewDailyRollupRepository.findTopPaths(from, to, 10)).thenReturn(List.of());
+        when(dailyVisitStatsRepository.countByStatDateBetween(from, to)).thenReturn(2L, 3L);
+
+        // when & then
+        assertFalse(service.getTopPaths(from, to, 10).isFinalized());
+        assertTrue(service.getTopPaths(from, to, 10).isFinalized());
+    }
+}
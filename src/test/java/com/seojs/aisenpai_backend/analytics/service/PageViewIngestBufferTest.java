@@ -0,0 +1,74 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.entity.PageViewLog;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewLogJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PageViewIngestBufferTest {
+
+    private final PageViewLogJdbcRepository pageViewLogJdbcRepository = mock(PageViewLogJdbcRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void offer_가득_차면_버리고_drain은_batchSize_단위로_기록() {
+        // given
+        PageViewIngestBuffer buffer = new PageViewIngestBuffer(pageViewLogJdbcRepository, meterRegistry,
+                5, 2, 1000, 1.0, 0.0);
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            buffer.offer(PageViewLog.builder().sessionId("s" + i).path("/p").build());
+        }
+        int written = buffer.drain();
+
+        // then
+        assertEquals(2.0, meterRegistry.get("analytics.pageview.dropped").counter().count());
+        assertEquals(2, written);
+        assertEquals(3, buffer.size());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PageViewLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pageViewLogJdbcRepository).batchInsert(captor.capture());
+        assertEquals("s0", captor.getValue().get(0).getSessionId());
+    }
+
+    @Test
+    void stop_남은_항목을_모두_기록() throws InterruptedException {
+        // given
+        PageViewIngestBuffer buffer = new PageViewIngestBuffer(pageViewLogJdbcRepository, meterRegistry,
+                10, 2, 1000, 1.0, 0.0);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(PageViewLog.builder().sessionId("s" + i).path("/p").build());
+        }
+
+        // when
+        buffer.stop();
+
+        // then
+        assertEquals(0, buffer.size());
+        verify(pageViewLogJdbcRepository, times(3)).batchInsert(anyList());
+    }
+
+    @Test
+    void offer_sampleThreshold_이상이면_표본만_받음() {
+        // given - 빈 버퍼부터 표본 추출, 표본 비율 0
+        PageViewIngestBuffer buffer = new PageViewIngestBuffer(pageViewLogJdbcRepository, meterRegistry,
+                10, 2, 1000, 0.0, 0.0);
+
+        // when
+        boolean accepted = buffer.offer(PageViewLog.builder().sessionId("s").path("/p").build());
+
+        // then
+        assertFalse(accepted);
+        assertEquals(0, buffer.size());
+        assertEquals(1.0, meterRegistry.get("analytics.pageview.sampled-out").counter().count());
+        assertEquals(0.0, meterRegistry.get("analytics.pageview.dropped").counter().count());
+    }
+}
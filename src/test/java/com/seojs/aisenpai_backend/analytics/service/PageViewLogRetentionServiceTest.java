@@ -0,0 +1,84 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.entity.DailyVisitStats;
+import com.seojs.aisenpai_backend.analytics.repository.DailyVisitStatsRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewLogPartitionRepository;
+import com.seojs.aisenpai_backend.scheduler.service.ClusterJobRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PageViewLogRetentionServiceTest {
+
+    private final PageViewLogPartitionRepository partitionRepository = mock(PageViewLogPartitionRepository.class);
+    private final DailyVisitStatsRepository dailyVisitStatsRepository = mock(DailyVisitStatsRepository.class);
+
+    private PageViewLogRetentionService service;
+    private LocalDate expiry;
+
+    @BeforeEach
+    void setUp() {
+        service = new PageViewLogRetentionService(partitionRepository, dailyVisitStatsRepository,
+                mock(ClusterJobRunner.class), mock(TransactionTemplate.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "retentionDays", 90);
+        expiry = LocalDate.now().minusDays(90);
+    }
+
+    @Test
+    void retentionCutoff_모두_집계됐으면_보존_기간까지() {
+        // given
+        LocalDate oldest = expiry.minusDays(2);
+        when(partitionRepository.findOldestDate()).thenReturn(oldest);
+        when(dailyVisitStatsRepository.findByStatDateBetween(oldest, expiry.minusDays(1)))
+                .thenReturn(List.of(stats(oldest), stats(oldest.plusDays(1))));
+
+        // when & then
+        assertEquals(expiry.atStartOfDay(), service.retentionCutoff());
+    }
+
+    @Test
+    void retentionCutoff_집계를_놓친_날짜부터는_지우지_않음() {
+        // given - 중간 날짜 집계 누락 후 다음 날은 집계됨
+        LocalDate oldest = expiry.minusDays(3);
+        LocalDate missed = oldest.plusDays(1);
+        when(partitionRepository.findOldestDate()).thenReturn(oldest);
+        when(dailyVisitStatsRepository.findByStatDateBetween(oldest, expiry.minusDays(1)))
+                .thenReturn(List.of(stats(oldest), stats(missed.plusDays(1))));
+
+        // when & then
+        assertEquals(missed.atStartOfDay(), service.retentionCutoff());
+    }
+
+    @Test
+    void retentionCutoff_가장_오래된_날짜가_미집계면_null() {
+        // given
+        LocalDate oldest = expiry.minusDays(1);
+        when(partitionRepository.findOldestDate()).thenReturn(oldest);
+        when(dailyVisitStatsRepository.findByStatDateBetween(oldest, oldest)).thenReturn(List.of());
+
+        // when & then
+        assertNull(service.retentionCutoff());
+    }
+
+    @Test
+    void retentionCutoff_보존_기간이_지난_로그가_없으면_null() {
+        // given
+        when(partitionRepository.findOldestDate()).thenReturn(expiry);
+
+        // when & then
+        assertNull(service.retentionCutoff());
+        verifyNoInteractions(dailyVisitStatsRepository);
+    }
+
+    private DailyVisitStats stats(LocalDate date) {
+        return DailyVisitStats.builder().statDate(date).pageViews(1L).uniqueVisitors(1L).build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.repository.PageViewDailyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewHourlyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.repository.ReferrerDailyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.service.PageViewRollupService.HourKey;
+import com.seojs.aisenpai_backend.analytics.service.PageViewRollupService.MinuteKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PageViewRollupServiceTest {
+
+    @Test
+    void aggregateHourly_분_카운터를_시간_단위로_합산() {
+        // given
+        long minute = LocalDateTime.of(2025, 3, 1, 10, 0).toEpochSecond(ZoneOffset.UTC) / 60;
+        Map<MinuteKey, Long> minuteCounts = Map.of(
+                new MinuteKey(minute, "/a"), 3L,
+                new MinuteKey(minute + 59, "/a"), 2L,
+                new MinuteKey(minute + 60, "/a"), 4L,
+                new MinuteKey(minute + 1, "/b"), 1L,
+                new MinuteKey(minute + 2, "/c"), 0L);
+
+        // when
+        Map<HourKey, Long> hourly = PageViewRollupService.aggregateHourly(minuteCounts);
+
+        // then
+        assertEquals(3, hourly.size());
+        assertEquals(5L, hourly.get(new HourKey(LocalDateTime.of(2025, 3, 1, 10, 0), "/a")));
+        assertEquals(4L, hourly.get(new HourKey(LocalDateTime.of(2025, 3, 1, 11, 0), "/a")));
+        assertEquals(1L, hourly.get(new HourKey(LocalDateTime.of(2025, 3, 1, 10, 0), "/b")));
+    }
+
+    @Test
+    void rollupBefore_롤업_중에_닫힌_분에_더해진_페이지뷰도_유실되지_않음() throws InterruptedException {
+        // given
+        AtomicLong dailyTotal = new AtomicLong();
+        PageViewDailyRollupRepository dailyRepository = mock(PageViewDailyRollupRepository.class);
+        when(dailyRepository.addPageViews(any(), any(), anyLong())).thenAnswer(invocation -> {
+            dailyTotal.addAndGet(invocation.getArgument(2));
+            return 1L;
+        });
+        PageViewHourlyRollupRepository hourlyRepository = mock(PageViewHourlyRollupRepository.class);
+        when(hourlyRepository.addPageViews(any(), any(), anyLong())).thenReturn(1L);
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+        PageViewRollupService service = new PageViewRollupService(hourlyRepository, dailyRepository,
+                mock(ReferrerDailyRollupRepository.class), transactionTemplate);
+        ReflectionTestUtils.setField(service, "maxTrackedKeys", 20_000);
+
+        LocalDateTime closedMinute = LocalDateTime.of(2025, 3, 1, 10, 0);
+        int threads = 4;
+        int perThread = 20_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    service.increment("/a", null, closedMinute);
+                }
+                done.countDown();
+            }).start();
+        }
+
+        // when - 증가와 동시에 계속 떼어 감
+        while (done.getCount() > 0) {
+            service.rollupBefore(Long.MAX_VALUE);
+        }
+        done.await();
+        service.rollupBefore(Long.MAX_VALUE);
+
+        // then
+        assertEquals((long) threads * perThread, dailyTotal.get());
+    }
+
+    @Test
+    void normalizePath_쿼리스트링과_프래그먼트_제거() {
+        assertEquals("/repos/1", PageViewRollupService.normalizePath("/repos/1?tab=reviews#top"));
+        assertEquals("/repos/1", PageViewRollupService.normalizePath("/repos/1#a?b"));
+        assertEquals(500, PageViewRollupService.normalizePath("/" + "x".repeat(600)).length());
+        assertNull(PageViewRollupService.normalizePath("?only=query"));
+        assertNull(PageViewRollupService.normalizePath(null));
+    }
+
+    @Test
+    void referrerHost_URL에서_호스트만_추출() {
+        assertEquals("google.com", PageViewRollupService.referrerHost("https://www.Google.com/search?q=ai"));
+        assertEquals("news.ycombinator.com", PageViewRollupService.referrerHost("https://news.ycombinator.com/item?id=1"));
+        assertNull(PageViewRollupService.referrerHost("not a url"));
+        assertNull(PageViewRollupService.referrerHost(""));
+    }
+}
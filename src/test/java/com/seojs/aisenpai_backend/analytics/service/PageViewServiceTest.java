@@ -0,0 +1,25 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageViewServiceTest {
+
+    private static final long RECEIVED_AT = 1_700_000_000_000L;
+    private static final long MAX_AGE = 60_000L;
+
+    @Test
+    void resolveViewedAt_클라이언트_시계_오차_보정() {
+        // 클라이언트 시계가 5초 느림: sentAt = 수신 시각 - 5초
+        long sentAt = RECEIVED_AT - 5_000;
+        assertEquals(RECEIVED_AT - 10_000, PageViewService.resolveViewedAt(sentAt - 10_000, sentAt, RECEIVED_AT, MAX_AGE));
+    }
+
+    @Test
+    void resolveViewedAt_미래_시각은_수신_시각으로_오래된_이벤트는_제외() {
+        assertEquals(RECEIVED_AT, PageViewService.resolveViewedAt(RECEIVED_AT + 30_000, null, RECEIVED_AT, MAX_AGE));
+        assertNull(PageViewService.resolveViewedAt(RECEIVED_AT - MAX_AGE - 1, RECEIVED_AT, RECEIVED_AT, MAX_AGE));
+        assertEquals(RECEIVED_AT, PageViewService.resolveViewedAt(null, null, RECEIVED_AT, MAX_AGE));
+    }
+}
@@ -0,0 +1,96 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.dto.PageViewSeriesDto;
+import com.seojs.aisenpai_backend.analytics.entity.DailyVisitStats;
+import com.seojs.aisenpai_backend.analytics.repository.DailyVisitStatsRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewDailyRollupRepository;
+import com.seojs.aisenpai_backend.analytics.repository.PageViewLogRepository;
+import com.seojs.aisenpai_backend.scheduler.service.ClusterJobRunner;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatsAggregationServiceTest {
+
+    private final PageViewLogRepository pageViewLogRepository = mock(PageViewLogRepository.class);
+    private final DailyVisitStatsRepository dailyVisitStatsRepository = mock(DailyVisitStatsRepository.class);
+    private final PageViewDailyRollupRepository pageViewDailyRollupRepository = mock(PageViewDailyRollupRepository.class);
+    private final UniqueVisitorService uniqueVisitorService = mock(UniqueVisitorService.class);
+
+    private final StatsAggregationService service = new StatsAggregationService(pageViewLogRepository,
+            dailyVisitStatsRepository, pageViewDailyRollupRepository, uniqueVisitorService,
+            mock(ClusterJobRunner.class), mock(TransactionTemplate.class));
+
+    @Test
+    void aggregateRange_롤업과_스케치가_있으면_원본_로그를_조회하지_않음() {
+        // given
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        when(dailyVisitStatsRepository.findByStatDateBetween(date, date)).thenReturn(List.of());
+        when(pageViewDailyRollupRepository.findSeries(date, date, null))
+                .thenReturn(List.of(new PageViewSeriesDto(date.atStartOfDay(), 120L)));
+        when(uniqueVisitorService.estimateDailyUniqueVisitors(date, date)).thenReturn(Map.of(date, 30L));
+
+        // when
+        int saved = service.aggregateRange(date, date);
+
+        // then
+        assertEquals(1, saved);
+        DailyVisitStats stats = captureSaved().get(0);
+        assertEquals(120L, stats.getPageViews());
+        assertEquals(30L, stats.getUniqueVisitors());
+        verifyNoInteractions(pageViewLogRepository);
+    }
+
+    @Test
+    void aggregateRange_롤업과_스케치가_없는_날짜만_원본_로그_조회() {
+        // given
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 2);
+        when(dailyVisitStatsRepository.findByStatDateBetween(from, to)).thenReturn(List.of());
+        when(pageViewDailyRollupRepository.findSeries(from, to, null))
+                .thenReturn(List.of(new PageViewSeriesDto(to.atStartOfDay(), 50L)));
+        when(uniqueVisitorService.estimateDailyUniqueVisitors(from, to)).thenReturn(Map.of(to, 10L));
+        when(pageViewLogRepository.countByViewedAtBetween(from.atStartOfDay(), to.atStartOfDay())).thenReturn(7L);
+        when(pageViewLogRepository.countDistinctSessionIdByViewedAtBetween(from.atStartOfDay(), to.atStartOfDay()))
+                .thenReturn(3L);
+
+        // when
+        int saved = service.aggregateRange(from, to);
+
+        // then
+        assertEquals(2, saved);
+        List<DailyVisitStats> stats = captureSaved();
+        assertEquals(7L, stats.get(0).getPageViews());
+        assertEquals(3L, stats.get(0).getUniqueVisitors());
+        assertEquals(50L, stats.get(1).getPageViews());
+        assertEquals(10L, stats.get(1).getUniqueVisitors());
+        verify(pageViewLogRepository, never()).countByViewedAtBetween(to.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    @Test
+    void lastFinalDate_확정_지연이_지난_날짜까지만() {
+        // given
+        ReflectionTestUtils.setField(service, "finalityDelayMillis", Duration.ofDays(2).toMillis());
+
+        // when
+        LocalDate lastFinal = service.lastFinalDate();
+
+        // then
+        assertEquals(LocalDate.now().minusDays(3), lastFinal);
+    }
+
+    private List<DailyVisitStats> captureSaved() {
+        ArgumentCaptor<DailyVisitStats> captor = ArgumentCaptor.forClass(DailyVisitStats.class);
+        verify(dailyVisitStatsRepository, atLeastOnce()).save(captor.capture());
+        return captor.getAllValues();
+    }
+}
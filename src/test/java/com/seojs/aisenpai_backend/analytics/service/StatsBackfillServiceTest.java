@@ -0,0 +1,36 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.service.StatsBackfillService.DateRange;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsBackfillServiceTest {
+
+    @Test
+    void splitMissing_누락_날짜를_연속_구간으로_묶고_크기_제한() {
+        // given
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 12);
+        Set<LocalDate> existing = Set.of(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 4));
+
+        // when
+        List<DateRange> ranges = StatsBackfillService.splitMissing(from, to, existing, 4);
+
+        // then
+        assertEquals(List.of(
+                new DateRange(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2)),
+                new DateRange(LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 8)),
+                new DateRange(LocalDate.of(2025, 3, 9), LocalDate.of(2025, 3, 12))), ranges);
+    }
+
+    @Test
+    void splitMissing_누락_없으면_빈_목록() {
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        assertTrue(StatsBackfillService.splitMissing(date, date, Set.of(date), 7).isEmpty());
+    }
+}
@@ -0,0 +1,143 @@
+package com.seojs.aisenpai_backend.analytics.service;
+
+import com.seojs.aisenpai_backend.analytics.entity.UniqueVisitorSketch;
+import com.seojs.aisenpai_backend.analytics.repository.UniqueVisitorSketchRepository;
+import com.seojs.aisenpai_backend.analytics.sketch.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.seojs.aisenpai_backend.analytics.entity.UniqueVisitorSketch.ALL_PATHS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UniqueVisitorServiceTest {
+
+    private final UniqueVisitorSketchRepository uniqueVisitorSketchRepository = mock(UniqueVisitorSketchRepository.class);
+
+    private UniqueVisitorService service;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        service = new UniqueVisitorService(uniqueVisitorSketchRepository);
+        ReflectionTestUtils.setField(service, "maxPathSketches", 1000);
+        now = LocalDateTime.now();
+        when(uniqueVisitorSketchRepository.findByStatDateAndPathKey(any(), any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void flush_새_스케치_저장() {
+        // given
+        service.record("a", "/", now);
+        service.record("b", "/", now);
+        service.record("a", "/", now);
+
+        // when
+        service.flush();
+
+        // then
+        ArgumentCaptor<UniqueVisitorSketch> captor = ArgumentCaptor.forClass(UniqueVisitorSketch.class);
+        verify(uniqueVisitorSketchRepository).save(captor.capture());
+        assertEquals(now.toLocalDate(), captor.getValue().getStatDate());
+        assertEquals(ALL_PATHS, captor.getValue().getPathKey());
+        assertEquals(2, HyperLogLog.fromBytes(captor.getValue().getRegisters()).estimate());
+    }
+
+    @Test
+    void flush_변경이_없으면_다시_저장하지_않음() {
+        // given
+        service.record("a", "/", now);
+        service.flush();
+
+        // when
+        service.flush();
+
+        // then
+        verify(uniqueVisitorSketchRepository, times(1)).save(any());
+    }
+
+    @Test
+    void flush_저장된_스케치와_레지스터_병합() {
+        // given - 다른 인스턴스가 a, b 를 이미 저장
+        UniqueVisitorSketch stored = storedSketch(now.toLocalDate(), "a", "b");
+        when(uniqueVisitorSketchRepository.findByStatDateAndPathKey(now.toLocalDate(), ALL_PATHS))
+                .thenReturn(Optional.of(stored));
+        service.record("b", "/", now);
+        service.record("c", "/", now);
+
+        // when
+        service.flush();
+
+        // then
+        verify(uniqueVisitorSketchRepository).save(stored);
+        assertEquals(3, HyperLogLog.fromBytes(stored.getRegisters()).estimate());
+    }
+
+    @Test
+    void flush_동시_병합_충돌시_다음_주기에_다시_병합() {
+        // given - 첫 저장은 다른 인스턴스와 버전 충돌
+        UniqueVisitorSketch stored = storedSketch(now.toLocalDate(), "a");
+        when(uniqueVisitorSketchRepository.findByStatDateAndPathKey(now.toLocalDate(), ALL_PATHS))
+                .thenReturn(Optional.of(stored));
+        when(uniqueVisitorSketchRepository.save(stored))
+                .thenThrow(new ObjectOptimisticLockingFailureException(UniqueVisitorSketch.class, 1L))
+                .thenReturn(stored);
+        service.record("b", "/", now);
+
+        // when
+        service.flush();
+        UniqueVisitorSketch reloaded = storedSketch(now.toLocalDate(), "a", "x");
+        when(uniqueVisitorSketchRepository.findByStatDateAndPathKey(now.toLocalDate(), ALL_PATHS))
+                .thenReturn(Optional.of(reloaded));
+        service.flush();
+
+        // then - 실패 후 변경분이 유지돼 새로 읽은 스케치에 병합
+        verify(uniqueVisitorSketchRepository).save(reloaded);
+        assertEquals(3, HyperLogLog.fromBytes(reloaded.getRegisters()).estimate());
+    }
+
+    @Test
+    void estimateUniqueVisitors_저장된_스케치와_미저장_변경분_병합() {
+        // given
+        LocalDate today = now.toLocalDate();
+        when(uniqueVisitorSketchRepository.findByPathKeyAndStatDateBetween(ALL_PATHS, today, today))
+                .thenReturn(List.of(storedSketch(today, "a", "b")));
+        service.record("b", "/", now);
+        service.record("c", "/", now);
+
+        // when & then
+        assertEquals(3L, service.estimateUniqueVisitors(today, today));
+    }
+
+    @Test
+    void estimateUniqueVisitors_스케치가_없으면_null() {
+        // given
+        LocalDate today = now.toLocalDate();
+        when(uniqueVisitorSketchRepository.findByPathKeyAndStatDateBetween(ALL_PATHS, today, today))
+                .thenReturn(List.of());
+
+        // when & then
+        assertNull(service.estimateUniqueVisitors(today, today));
+    }
+
+    private static UniqueVisitorSketch storedSketch(LocalDate date, String... sessionIds) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (String sessionId : sessionIds) {
+            sketch.offer(sessionId);
+        }
+        return UniqueVisitorSketch.builder()
+                .statDate(date)
+                .pathKey(ALL_PATHS)
+                .registers(sketch.toBytes())
+                .build();
+    }
+}
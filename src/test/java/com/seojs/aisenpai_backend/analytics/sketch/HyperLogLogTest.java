@@ -0,0 +1,49 @@
+package com.seojs.aisenpai_backend.analytics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_고유값_개수를_오차_범위_안에서_추정() {
+        // given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            String sessionId = UUID.nameUUIDFromBytes(("visitor-" + i).getBytes()).toString();
+            sketch.offer(sessionId);
+            sketch.offer(sessionId);
+        }
+
+        // then
+        assertEquals(100_000, sketch.estimate(), 100_000 * 0.03);
+    }
+
+    @Test
+    void merge_합집합_추정_및_직렬화_복원() {
+        // given
+        HyperLogLog day1 = new HyperLogLog();
+        HyperLogLog day2 = new HyperLogLog();
+        for (int i = 0; i < 3_000; i++) {
+            day1.offer("visitor-" + i);
+        }
+        for (int i = 2_000; i < 5_000; i++) {
+            day2.offer("visitor-" + i);
+        }
+
+        // when
+        HyperLogLog range = HyperLogLog.fromBytes(day1.toBytes());
+        range.merge(day2);
+        range.merge(day2);
+
+        // then
+        assertEquals(5_000, range.estimate(), 5_000 * 0.03);
+        assertEquals(3_000, day1.estimate(), 3_000 * 0.03);
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[10]));
+    }
+}
@@ -0,0 +1,83 @@
+package com.seojs.aisenpai_backend.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void writer_스레드가_batchSize_단위로_기록() throws InterruptedException {
+        // given
+        List<List<Integer>> batches = new ArrayList<>();
+        CountDownLatch written = new CountDownLatch(2);
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", batch -> {
+            synchronized (batches) {
+                batches.add(List.copyOf(batch));
+            }
+            written.countDown();
+        }, meterRegistry, "test", 10, 2, 1000, 1, 0);
+        for (int i = 0; i < 4; i++) {
+            writer.offer(i);
+        }
+
+        // when
+        writer.start();
+
+        // then
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        writer.stop();
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3)), batches);
+        assertEquals(0.0, meterRegistry.get("test.buffered").gauge().value());
+    }
+
+    @Test
+    void stop_재시도를_모두_실패한_묶음은_버리고_나머지는_기록() throws InterruptedException {
+        // given - writer 스레드는 시작하지 않음
+        AtomicInteger attempts = new AtomicInteger();
+        List<Integer> saved = new ArrayList<>();
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", batch -> {
+            if (batch.contains(0)) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("db down");
+            }
+            saved.addAll(batch);
+        }, meterRegistry, "test", 10, 2, 1000, 3, 0);
+        for (int i = 0; i < 5; i++) {
+            writer.offer(i);
+        }
+
+        // when
+        writer.stop();
+
+        // then
+        assertEquals(3, attempts.get());
+        assertEquals(List.of(2, 3, 4), saved);
+        assertEquals(2.0, meterRegistry.get("test.write-failed").counter().count());
+        assertEquals(0, writer.size());
+    }
+
+    @Test
+    void offer_가득_차면_버림() {
+        // given
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", batch -> {
+        }, meterRegistry, "test", 1, 1, 1000, 1, 0);
+
+        // when
+        writer.offer(1);
+        boolean accepted = writer.offer(2);
+
+        // then
+        assertFalse(accepted);
+        assertEquals(1.0, meterRegistry.get("test.dropped").counter().count());
+    }
+}
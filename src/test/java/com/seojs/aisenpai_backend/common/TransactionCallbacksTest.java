@@ -0,0 +1,62 @@
+package com.seojs.aisenpai_backend.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCallbacksTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void runAfterCommit_트랜잭션_밖이면_바로_실행() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        TransactionCallbacks.runAfterCommit(calls::incrementAndGet);
+
+        // then
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void runAfterCommit_트랜잭션_안이면_커밋_후_실행() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        TransactionCallbacks.runAfterCommit(calls::incrementAndGet);
+
+        // then
+        assertEquals(0, calls.get());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void runAfterCommit_롤백되면_실행하지_않음() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        TransactionCallbacks.runAfterCommit(calls::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // then
+        assertEquals(0, calls.get());
+    }
+}
@@ -0,0 +1,73 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojs.aisenpai_backend.ai.service.TokenEstimationService;
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiffPromptEncoderTest {
+
+    private static final String SHA = "3f5a1c9e8b7d6a5f4e3d2c1b0a9f8e7d6c5b4a39";
+
+    @Test
+    void encode_헤더와_패치만_출력() {
+        // given
+        ChangedFileDto file = changedFile("src/Main.java", "@@ -1,2 +1,3 @@\n class Main {\n+    String s = \"hi\";\n }");
+
+        // when
+        String encoded = DiffPromptEncoder.encode(List.of(file));
+
+        // then
+        assertEquals("### src/Main.java (modified, +1 -0)\n"
+                + "@@ -1,2 +1,3 @@\n class Main {\n+    String s = \"hi\";\n }\n\n", encoded);
+        assertFalse(encoded.contains(SHA));
+    }
+
+    @Test
+    void encode_패치가_없는_파일() {
+        // given
+        ChangedFileDto file = changedFile("logo.png", null);
+
+        // when
+        String encoded = DiffPromptEncoder.encode(List.of(file));
+
+        // then
+        assertTrue(encoded.startsWith("### logo.png (modified, +1 -0)\n(diff 없음"));
+    }
+
+    @Test
+    void encode_JSON_직렬화보다_작음() throws Exception {
+        // given
+        StringBuilder patch = new StringBuilder("@@ -1,40 +1,60 @@\n");
+        for (int i = 0; i < 60; i++) {
+            patch.append(i % 3 == 0 ? " " : "+").append("\t\tlog.info(\"value {}\", values.get(").append(i)
+                    .append("));\n");
+        }
+        List<ChangedFileDto> files = List.of(
+                changedFile("src/main/java/com/example/A.java", patch.toString()),
+                changedFile("src/main/java/com/example/B.java", patch.toString()));
+
+        // when
+        String json = new ObjectMapper().writeValueAsString(files);
+        String encoded = DiffPromptEncoder.encode(files);
+
+        // then - 실제 과금 단위인 토큰 수로 비교 (JSON 은 필드명/URL/이스케이프 문자만큼 토큰이 늘어남)
+        TokenEstimationService tokenEstimationService = new TokenEstimationService();
+        int jsonTokens = tokenEstimationService.countTokens(json, TokenEstimationService.DEFAULT_MODEL);
+        int encodedTokens = tokenEstimationService.countTokens(encoded, TokenEstimationService.DEFAULT_MODEL);
+        assertTrue(encodedTokens < jsonTokens * 0.9,
+                "compact: " + encodedTokens + " tokens, json: " + jsonTokens + " tokens");
+    }
+
+    private ChangedFileDto changedFile(String filename, String patch) {
+        return new ChangedFileDto(filename, "modified", 1, 0, 1, 0, SHA,
+                "https://github.com/owner/repo/blob/" + SHA + "/" + filename,
+                "https://github.com/owner/repo/raw/" + SHA + "/" + filename,
+                "https://api.github.com/repos/owner/repo/contents/" + filename + "?ref=" + SHA,
+                patch);
+    }
+}
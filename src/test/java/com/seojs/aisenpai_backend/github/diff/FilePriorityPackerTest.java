@@ -0,0 +1,67 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePriorityPackerTest {
+
+    // 테스트용 토큰 계산기 (4글자당 1토큰)
+    private static final ToIntFunction<String> COUNTER = text -> (text.length() + 3) / 4;
+
+    @Test
+    void pack_예산_안이면_모두_포함() {
+        // given
+        List<ChangedFileDto> files = List.of(file("README.md", 10), file("src/Main.java", 10));
+
+        // when
+        FilePriorityPacker.Packed packed = FilePriorityPacker.pack(files, COUNTER, 10_000);
+
+        // then
+        assertEquals(files, packed.files());
+        assertEquals(0, packed.summarized());
+        assertEquals(0, packed.dropped());
+    }
+
+    @Test
+    void pack_예산_초과시_우선순위_낮은_파일부터_요약() {
+        // given
+        ChangedFileDto docs = file("README.md", 200);
+        ChangedFileDto source = file("src/Main.java", 200);
+        ChangedFileDto test = file("src/test/MainTest.java", 200);
+        int oneFile = COUNTER.applyAsInt(DiffPromptEncoder.encodeFile(source));
+
+        // when
+        FilePriorityPacker.Packed packed = FilePriorityPacker.pack(List.of(docs, source, test), COUNTER,
+                oneFile + 60);
+
+        // then
+        assertEquals(3, packed.files().size());
+        assertEquals(FilePriorityPacker.OMITTED_PATCH, packed.files().get(0).getPatch());
+        assertSame(source, packed.files().get(1));
+        assertEquals(FilePriorityPacker.OMITTED_PATCH, packed.files().get(2).getPatch());
+        assertEquals(2, packed.summarized());
+    }
+
+    @Test
+    void tier_파일_분류() {
+        assertEquals(0, FilePriorityPacker.tier("src/main/java/Latest.java"));
+        assertEquals(1, FilePriorityPacker.tier("src/main/java/FooTest.java"));
+        assertEquals(1, FilePriorityPacker.tier("web/__tests__/app.js"));
+        assertEquals(2, FilePriorityPacker.tier("build.gradle"));
+        assertEquals(3, FilePriorityPacker.tier("docs/guide.md"));
+    }
+
+    private ChangedFileDto file(String filename, int addedLines) {
+        StringBuilder patch = new StringBuilder("@@ -0,0 +1," + addedLines + " @@\n");
+        for (int i = 0; i < addedLines; i++) {
+            patch.append("+line ").append(i).append('\n');
+        }
+        return new ChangedFileDto(filename, "added", addedLines, 0, addedLines, 0, null, null, null, null,
+                patch.toString());
+    }
+}
@@ -0,0 +1,45 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import com.seojs.aisenpai_backend.github.dto.ChangedFileDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratedFileDetectorTest {
+
+    @Test
+    void detect_lockfile과_압축_파일_제외() {
+        // given
+        ChangedFileDto lockfile = file("frontend/package-lock.json", "@@ -1,1 +1,1 @@\n-a\n+b");
+        ChangedFileDto minified = file("static/app.js", "@@ -0,0 +1,1 @@\n+" + "var a=1;".repeat(1000));
+        ChangedFileDto source = file("src/Main.java", "@@ -1,1 +1,1 @@\n-int a = 1;\n+int a = 2;");
+
+        // when & then
+        assertEquals("lockfile", GeneratedFileDetector.detect(lockfile));
+        assertEquals("minified content", GeneratedFileDetector.detect(minified));
+        assertNull(GeneratedFileDetector.detect(source));
+    }
+
+    @Test
+    void detect_관례적인_생성_헤더만_인정() {
+        // given
+        ChangedFileDto goGenerated = file("api/types.go",
+                "@@ -0,0 +1,3 @@\n+// Code generated by protoc-gen-go. DO NOT EDIT.\n+\n+package api");
+        ChangedFileDto annotated = file("src/Schema.java",
+                "@@ -0,0 +1,3 @@\n+/*\n+ * @generated by schema-tool\n+ */");
+        ChangedFileDto handWritten = file("src/User.java",
+                "@@ -0,0 +1,3 @@\n+// id is auto-generated, do not edit it manually\n+public class User {\n+}");
+        ChangedFileDto markerAfterCode = file("src/Gen.java",
+                "@@ -0,0 +1,2 @@\n+package gen;\n+// @generated");
+
+        // when & then
+        assertEquals("generated header marker", GeneratedFileDetector.detect(goGenerated));
+        assertEquals("generated header marker", GeneratedFileDetector.detect(annotated));
+        assertNull(GeneratedFileDetector.detect(handWritten));
+        assertNull(GeneratedFileDetector.detect(markerAfterCode));
+    }
+
+    private ChangedFileDto file(String filename, String patch) {
+        return new ChangedFileDto(filename, "modified", 1, 1, 2, 0, null, null, null, null, patch);
+    }
+}
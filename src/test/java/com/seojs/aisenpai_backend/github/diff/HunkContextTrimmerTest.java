@@ -0,0 +1,42 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HunkContextTrimmerTest {
+
+    @Test
+    void trim_컨텍스트를_줄이고_헝크를_분할() {
+        // given
+        StringBuilder patch = new StringBuilder("@@ -1,20 +1,21 @@ class Foo {\n");
+        for (int i = 1; i <= 20; i++) {
+            if (i == 5) {
+                patch.append("-old5\n+new5\n+new5b\n");
+            } else if (i == 15) {
+                patch.append("-old15\n+new15\n");
+            } else {
+                patch.append(" ctx").append(i).append('\n');
+            }
+        }
+
+        // when
+        String trimmed = HunkContextTrimmer.trim(patch.toString(), 1);
+
+        // then
+        assertEquals("@@ -4,3 +4,4 @@ class Foo {\n ctx4\n-old5\n+new5\n+new5b\n ctx6\n"
+                + "@@ -14,3 +15,3 @@\n ctx14\n-old15\n+new15\n ctx16\n", trimmed);
+    }
+
+    @Test
+    void trim_줄일_것이_없으면_원본_반환() {
+        // given
+        String patch = "@@ -0,0 +1,2 @@\n+a\n+b";
+
+        // when
+        String trimmed = HunkContextTrimmer.trim(patch, 2);
+
+        // then
+        assertSame(patch, trimmed);
+    }
+}
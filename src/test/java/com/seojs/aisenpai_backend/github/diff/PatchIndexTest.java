@@ -0,0 +1,73 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatchIndexTest {
+
+    private static final String PATCH = """
+            @@ -10,4 +10,5 @@ public class UserService {
+                 private final UserRepository userRepository;
+            -    private int count;
+            +    private final AtomicInteger count = new AtomicInteger();
+            +    private final Clock clock;
+             
+                 public void save(User user) {
+            @@ -40,2 +41,3 @@ public class UserService {
+                 }
+            +    // TODO remove
+            """;
+
+    @Test
+    void parse_헝크와_추가라인_인덱싱() {
+        // when
+        PatchIndex index = PatchIndex.parse(PATCH);
+
+        // then
+        assertEquals(2, index.getHunks().size());
+        assertEquals(10, index.getHunks().get(0).newStart());
+        assertEquals(41, index.getHunks().get(1).newStart());
+        assertEquals(3, index.addedCount());
+        assertEquals(0, index.getMalformedHunks());
+    }
+
+    @Test
+    void findAddedLine_정확히_일치_및_포함() {
+        // given
+        PatchIndex index = PatchIndex.parse(PATCH);
+
+        // then
+        assertEquals(11, index.findAddedLine("private final AtomicInteger count = new AtomicInteger();"));
+        assertEquals(12, index.findAddedLine("Clock clock"));
+        assertEquals(42, index.findAddedLine("// TODO remove"));
+        assertNull(index.findAddedLine("private final UserRepository userRepository;"));
+    }
+
+    @Test
+    void findAddedPositions_정확히_일치하는_라인을_먼저() {
+        // given
+        PatchIndex index = PatchIndex.parse("@@ -0,0 +1,3 @@\n+    });\n+}\n+}\n");
+
+        // when
+        int[] positions = index.findAddedPositions("}", 10);
+
+        // then
+        assertArrayEquals(new int[] { 1, 2, 0 }, positions);
+        assertEquals(2, index.findAddedPositions("}", 2).length);
+    }
+
+    @Test
+    void parse_잘못된_헝크헤더는_다음_헝크까지_무시() {
+        // given
+        String patch = "@@ broken @@\n+ignored\n@@ -1 +1,2 @@\n context\n+added";
+
+        // when
+        PatchIndex index = PatchIndex.parse(patch);
+
+        // then
+        assertEquals(1, index.getMalformedHunks());
+        assertNull(index.findAddedLine("ignored"));
+        assertEquals(2, index.findAddedLine("added"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.seojs.aisenpai_backend.github.diff;
+
+import com.seojs.aisenpai_backend.github.diff.SnippetAnchorer.AnchorMatch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnippetAnchorerTest {
+
+    private static final String PATCH = "@@ -1,3 +1,6 @@\n"
+            + " import java.util.List;\n"
+            + "+public int   sum(int a,int b) {\n"
+            + "+    return a + b;\n"
+            + "+}\n"
+            + "+    int total = sum(1, 2);\n"
+            + " // end\n";
+
+    @Test
+    void anchor_공백만_다른_스니펫() {
+        // when
+        AnchorMatch match = SnippetAnchorer.anchor(PatchIndex.parse(PATCH), "public int sum(int a, int b) {");
+
+        // then
+        assertNotNull(match);
+        assertEquals(2, match.line());
+    }
+
+    @Test
+    void anchor_여러줄_스니펫_정렬() {
+        // when
+        AnchorMatch match = SnippetAnchorer.anchor(PatchIndex.parse(PATCH), "return a+b;\n}");
+
+        // then
+        assertNotNull(match);
+        assertEquals(3, match.line());
+    }
+
+    @Test
+    void anchor_흔한_첫줄은_나머지_줄로_후보_선택() {
+        // given
+        String patch = "@@ -1,0 +1,8 @@\n"
+                + "+    }\n"
+                + "+    return null;\n"
+                + "+}\n"
+                + "+if (user == null) {\n"
+                + "+    }\n"
+                + "+    return cache.get(key);\n"
+                + "+}\n"
+                + "+// end\n";
+
+        // when
+        AnchorMatch match = SnippetAnchorer.anchor(PatchIndex.parse(patch), "}\nreturn cache.get(key);");
+
+        // then
+        assertNotNull(match);
+        assertEquals(5, match.line());
+    }
+
+    @Test
+    void anchor_유사도가_낮으면_null() {
+        assertNull(SnippetAnchorer.anchor(PatchIndex.parse(PATCH), "throw new IllegalStateException();"));
+        assertNull(SnippetAnchorer.anchor(PatchIndex.parse(PATCH), "   "));
+    }
+}
@@ -1,5 +1,6 @@
 package com.seojs.aisenpai_backend.github.entity;
 
+import com.seojs.aisenpai_backend.github.matcher.RuleMatcher;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -31,8 +32,11 @@ class AiReviewSettingsTest {
         settings.getRules().add(rule1);
         settings.getRules().add(rule2);
 
+        List<String> ruleLines = RuleMatcher.compile(settings.getRules())
+                .selectPromptLines(List.of("src/main/java/UserDto.java"));
+
         // when
-        String prompt = settings.buildSystemPrompt();
+        String prompt = settings.buildSystemPrompt(ruleLines);
 
         // then
         System.out.println(prompt);
@@ -41,4 +45,35 @@ class AiReviewSettingsTest {
         assertFalse(prompt.contains("console.log 금지"));
     }
 
+    @Test
+    void buildSystemPrompt_고정_접두부_재사용_규칙은_마지막() {
+        // given
+        AiReviewSettings settings = AiReviewSettings.builder()
+                .build();
+
+        // when
+        String withoutRules = settings.buildSystemPrompt(List.of());
+        String withRules = settings.buildSystemPrompt(List.of("- [Target: *.java] DTO에는 @Builder 필수"));
+
+        // then
+        assertSame(withoutRules, settings.buildSystemPrompt(List.of()));
+        assertTrue(withRules.startsWith(withoutRules));
+        assertTrue(withRules.endsWith("- [Target: *.java] DTO에는 @Builder 필수\n"));
+    }
+
+    @Test
+    void routeModel_변경_규모와_요청_경로로_모델_선택() {
+        // given
+        AiReviewSettings settings = AiReviewSettings.builder()
+                .build();
+        assertEquals("gpt-4o-mini", settings.routeModel(5000, false));
+
+        settings.updateModelRouting(true, "fast-model", "strong-model", 50, 500);
+
+        // when & then
+        assertEquals("fast-model", settings.routeModel(10, false));
+        assertEquals("strong-model", settings.routeModel(800, true));
+        assertEquals("fast-model", settings.routeModel(200, true));
+        assertEquals("strong-model", settings.routeModel(200, false));
+    }
 }
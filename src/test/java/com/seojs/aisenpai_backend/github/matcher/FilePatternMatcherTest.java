@@ -0,0 +1,66 @@
+package com.seojs.aisenpai_backend.github.matcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePatternMatcherTest {
+
+    @Test
+    void matches_기본_무시패턴() {
+        // given
+        FilePatternMatcher matcher = FilePatternMatcher.compile(
+                List.of("package-lock.json", "*.lock", ".env*", "build/", "/dist", "docs/*.md"));
+
+        // then
+        assertTrue(matcher.matches("package-lock.json"));
+        assertTrue(matcher.matches("web/package-lock.json"));
+        assertTrue(matcher.matches("a/b/yarn.lock"));
+        assertTrue(matcher.matches("config/.env.local"));
+        assertTrue(matcher.matches("module/build/Out.java"));
+        assertTrue(matcher.matches("dist/app.js"));
+        assertTrue(matcher.matches("docs/intro.md"));
+
+        assertFalse(matcher.matches("src/main/java/App.java"));
+        assertFalse(matcher.matches("build"));
+        assertFalse(matcher.matches("web/dist/app.js"));
+        assertFalse(matcher.matches("docs/guide/intro.md"));
+    }
+
+    @Test
+    void matches_PathMatcher와_동일한_결과() {
+        // given
+        List<String> patterns = List.of("*.min.*", "te?t.java", "[ab]*.txt", "**/*.kt", "gen*/", "src/gen");
+        List<String> paths = List.of("app.min.js", "a/b.min.css", "test.java", "a/tezt.java", "a.txt",
+                "sub/b1.txt", "c.txt", "Main.kt", "a/Main.kt", "gen1/a", "genx", "src/gen/A.java", "x/src/gen");
+        FilePatternMatcher matcher = FilePatternMatcher.compile(patterns);
+
+        for (String path : paths) {
+            // when
+            boolean expected = patterns.stream()
+                    .map(FilePatternMatcherTest::toPathMatcher)
+                    .anyMatch(m -> m.matches(Paths.get(path)));
+
+            // then
+            assertEquals(expected, matcher.matches(path), path);
+        }
+    }
+
+    @Test
+    void compile_빈패턴() {
+        assertTrue(FilePatternMatcher.compile(List.of()).isEmpty());
+        assertFalse(FilePatternMatcher.compile(null).matches("a.lock"));
+    }
+
+    private static PathMatcher toPathMatcher(String pattern) {
+        boolean isDirectory = pattern.endsWith("/");
+        String body = isDirectory ? pattern.substring(0, pattern.length() - 1) : pattern;
+        String glob = (body.contains("/") ? "" : "{**/,}") + body + (isDirectory ? "/**" : "{,/**}");
+        return FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    }
+}
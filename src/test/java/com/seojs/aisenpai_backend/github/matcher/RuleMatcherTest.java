@@ -0,0 +1,65 @@
+package com.seojs.aisenpai_backend.github.matcher;
+
+import com.seojs.aisenpai_backend.github.entity.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleMatcherTest {
+
+    @Test
+    void selectPromptLines_변경파일에_적용되는_규칙만_선택() {
+        // given
+        Rule javaRule = Rule.builder().content("DTO에는 @Builder 필수").isEnabled(true)
+                .targetFilePattern("*.java").build();
+        Rule tsRule = Rule.builder().content("console.log 금지").isEnabled(true)
+                .targetFilePattern("*.ts, *.tsx").build();
+        Rule globalRule = Rule.builder().content("매직 넘버 금지").isEnabled(true).build();
+        Rule disabledRule = Rule.builder().content("비활성 규칙").isEnabled(false).build();
+
+        RuleMatcher matcher = RuleMatcher.compile(List.of(javaRule, tsRule, globalRule, disabledRule));
+
+        // when
+        List<String> lines = matcher.selectPromptLines(List.of("src/main/java/UserDto.java", "README.md"));
+
+        // then
+        assertEquals(2, lines.size());
+        assertEquals("- [Target: *.java] DTO에는 @Builder 필수 (적용 파일: src/main/java/UserDto.java)", lines.get(0));
+        assertEquals("- 매직 넘버 금지", lines.get(1));
+    }
+
+    @Test
+    void selectPromptLines_모든파일에_적용되면_파일목록_생략() {
+        // given
+        Rule javaRule = Rule.builder().content("DTO에는 @Builder 필수").isEnabled(true)
+                .targetFilePattern("*.java").build();
+        RuleMatcher matcher = RuleMatcher.compile(List.of(javaRule));
+
+        // when
+        List<String> lines = matcher.selectPromptLines(List.of("A.java", "b/B.java"));
+
+        // then
+        assertEquals(List.of("- [Target: *.java] DTO에는 @Builder 필수"), lines);
+    }
+
+    @Test
+    void compile_잘못된_패턴은_모든파일에_적용() {
+        // given
+        Rule brokenRule = Rule.builder().content("Null 체크 필수").isEnabled(true)
+                .targetFilePattern("[abc").build();
+
+        // when
+        RuleMatcher matcher = RuleMatcher.compile(List.of(brokenRule));
+
+        // then
+        assertEquals(List.of("- Null 체크 필수"), matcher.selectPromptLines(List.of("src/Main.java")));
+    }
+
+    @Test
+    void compilePattern_잘못된_패턴은_예외() {
+        assertThrows(IllegalArgumentException.class, () -> RuleMatcher.compilePattern("*.java, [abc"));
+        assertNull(RuleMatcher.compilePattern(" "));
+    }
+}
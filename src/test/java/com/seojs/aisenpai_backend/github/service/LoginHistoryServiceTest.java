@@ -0,0 +1,68 @@
+package com.seojs.aisenpai_backend.github.service;
+
+import com.seojs.aisenpai_backend.github.entity.LoginHistory;
+import com.seojs.aisenpai_backend.github.repository.LoginHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class LoginHistoryServiceTest {
+
+    private final LoginHistoryRepository loginHistoryRepository = mock(LoginHistoryRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void stop_버퍼에_남은_이력을_재시도해서_모두_기록() throws InterruptedException {
+        // given - writer 스레드는 시작하지 않음
+        LoginHistoryService service = new LoginHistoryService(loginHistoryRepository, transactionManager,
+                meterRegistry, 10, 2, 1000, 2, 0);
+        List<String> saved = new ArrayList<>();
+        when(loginHistoryRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenAnswer(invocation -> {
+                    List<LoginHistory> histories = invocation.getArgument(0);
+                    histories.forEach(history -> saved.add(history.getLoginId()));
+                    return histories;
+                });
+        for (int i = 0; i < 5; i++) {
+            assertTrue(service.recordLogin("user" + i, "127.0.0.1", "junit"));
+        }
+
+        // when
+        service.stop();
+
+        // then
+        assertEquals(List.of("user0", "user1", "user2", "user3", "user4"), saved);
+        assertEquals(0, service.size());
+        assertEquals(0.0, meterRegistry.get("login.history.write-failed").counter().count());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LoginHistory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(loginHistoryRepository, times(4)).saveAll(captor.capture());
+        assertNotSame(captor.getAllValues().get(0), captor.getAllValues().get(1));
+    }
+
+    @Test
+    void recordLogin_버퍼가_가득_차면_버림() {
+        // given
+        LoginHistoryService service = new LoginHistoryService(loginHistoryRepository, transactionManager,
+                meterRegistry, 1, 1, 1000, 1, 0);
+
+        // when
+        service.recordLogin("a", null, null);
+        boolean accepted = service.recordLogin("b", null, null);
+
+        // then
+        assertFalse(accepted);
+        assertEquals(1.0, meterRegistry.get("login.history.dropped").counter().count());
+    }
+}
@@ -0,0 +1,85 @@
+package com.seojs.aisenpai_backend.pullrequest.service;
+
+import com.seojs.aisenpai_backend.pullrequest.dto.ReviewProgressDto;
+import com.seojs.aisenpai_backend.pullrequest.dto.ReviewProgressDto.Stage;
+import com.seojs.aisenpai_backend.pullrequest.entity.PullRequest.ReviewStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewProgressServiceTest {
+
+    private final ReviewProgressService reviewProgressService = new ReviewProgressService();
+
+    @Test
+    void onProgress_terminal_이벤트_후_구독_종료() {
+        // given
+        ReviewProgressDto snapshot = ReviewProgressDto.builder()
+                .repositoryId(1L)
+                .prNumber(7)
+                .stage(Stage.SNAPSHOT)
+                .status(ReviewStatus.PENDING)
+                .build();
+        reviewProgressService.subscribe(1L, 7, () -> snapshot);
+        reviewProgressService.subscribe(1L, 7, () -> snapshot);
+        assertEquals(2, reviewProgressService.subscriberCount(1L, 7));
+
+        // when
+        reviewProgressService.onProgress(ReviewProgressDto.of(1L, 7, Stage.PROMPTING));
+        reviewProgressService.onProgress(ReviewProgressDto.of(2L, 7, Stage.FAILED));
+
+        // then
+        assertEquals(2, reviewProgressService.subscriberCount(1L, 7));
+
+        reviewProgressService.onProgress(ReviewProgressDto.builder()
+                .repositoryId(1L)
+                .prNumber(7)
+                .stage(Stage.COMPLETED)
+                .terminal(true)
+                .build());
+        assertEquals(0, reviewProgressService.subscriberCount(1L, 7));
+    }
+
+    @Test
+    void subscribe_이미_끝난_리뷰는_스냅샷만_보내고_종료() {
+        // given
+        ReviewProgressDto snapshot = ReviewProgressDto.builder()
+                .repositoryId(1L)
+                .prNumber(7)
+                .stage(Stage.SNAPSHOT)
+                .status(ReviewStatus.COMPLETED)
+                .terminal(true)
+                .build();
+
+        // when
+        reviewProgressService.subscribe(1L, 7, () -> snapshot);
+
+        // then
+        assertEquals(0, reviewProgressService.subscriberCount(1L, 7));
+    }
+
+    @Test
+    void subscribe_스냅샷을_읽기_전에_구독_등록() {
+        // given
+        AtomicInteger subscribersWhileLoading = new AtomicInteger(-1);
+
+        // when
+        reviewProgressService.subscribe(1L, 7, () -> {
+            subscribersWhileLoading.set(reviewProgressService.subscriberCount(1L, 7));
+            return ReviewProgressDto.of(1L, 7, Stage.SNAPSHOT);
+        });
+
+        // then
+        assertEquals(1, subscribersWhileLoading.get());
+    }
+
+    @Test
+    void subscribe_스냅샷_조회_실패시_구독_해제() {
+        assertThrows(IllegalStateException.class, () -> reviewProgressService.subscribe(1L, 7, () -> {
+            throw new IllegalStateException("not found");
+        }));
+        assertEquals(0, reviewProgressService.subscriberCount(1L, 7));
+    }
+}
@@ -0,0 +1,117 @@
+package com.seojs.aisenpai_backend.scheduler.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 실제 H2 에서 조건부 UPDATE / NOT EXISTS INSERT SQL 검증 (스키마는 운영 마이그레이션 스크립트 그대로 사용)
+ */
+class SchedulerLockJdbcRepositoryTest {
+
+    private static final String JOB = "dailyStatsAggregation";
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SchedulerLockJdbcRepository repository;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/postgres/005_scheduler_lock.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        repository = new SchedulerLockJdbcRepository(jdbcTemplate);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void tryAcquire_행이_없으면_INSERT_로_획득() {
+        // when
+        boolean acquired = repository.tryAcquire(JOB, now, now.plusMinutes(5), "node-a");
+
+        // then
+        assertTrue(acquired);
+        assertEquals("node-a", lockedBy());
+    }
+
+    @Test
+    void tryAcquire_임대_중이면_다른_인스턴스는_실패() {
+        // given
+        repository.tryAcquire(JOB, now, now.plusMinutes(5), "node-a");
+
+        // when
+        boolean acquired = repository.tryAcquire(JOB, now.plusMinutes(1), now.plusMinutes(6), "node-b");
+
+        // then - NOT EXISTS 조건으로 INSERT 도 0 건 (제약 위반 없이)
+        assertFalse(acquired);
+        assertEquals("node-a", lockedBy());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduler_lock", Integer.class));
+    }
+
+    @Test
+    void tryAcquire_임대가_만료되면_UPDATE_로_획득() {
+        // given
+        repository.tryAcquire(JOB, now, now.plusMinutes(5), "node-a");
+
+        // when
+        boolean acquired = repository.tryAcquire(JOB, now.plusMinutes(5), now.plusMinutes(10), "node-b");
+
+        // then
+        assertTrue(acquired);
+        assertEquals("node-b", lockedBy());
+    }
+
+    @Test
+    void release_자기_임대만_반납() {
+        // given
+        repository.tryAcquire(JOB, now, now.plusMinutes(5), "node-a");
+
+        // when - 다른 인스턴스의 반납은 무시
+        repository.release(JOB, "node-b", now, now);
+
+        // then
+        assertFalse(repository.tryAcquire(JOB, now.plusSeconds(1), now.plusMinutes(6), "node-b"));
+
+        // when - 보유자가 반납하면 바로 다른 인스턴스가 획득
+        repository.release(JOB, "node-a", now, now.plusSeconds(1));
+
+        // then
+        assertTrue(repository.tryAcquire(JOB, now.plusSeconds(1), now.plusMinutes(6), "node-b"));
+    }
+
+    @Test
+    void release_같은_인스턴스의_이전_임대는_새_임대를_반납하지_않음() {
+        // given - node-a 가 만료 후 다시 획득 (locked_at 이 바뀜)
+        repository.tryAcquire(JOB, now, now.plusMinutes(5), "node-a");
+        LocalDateTime reacquiredAt = now.plusMinutes(5);
+        repository.tryAcquire(JOB, reacquiredAt, reacquiredAt.plusMinutes(5), "node-a");
+
+        // when - 이전 실행의 늦은 반납
+        repository.release(JOB, "node-a", now, now);
+
+        // then
+        assertFalse(repository.tryAcquire(JOB, reacquiredAt.plusSeconds(1), reacquiredAt.plusMinutes(6), "node-b"));
+    }
+
+    private String lockedBy() {
+        return jdbcTemplate.queryForObject("SELECT locked_by FROM scheduler_lock WHERE name = ?", String.class, JOB);
+    }
+}
@@ -0,0 +1,60 @@
+package com.seojs.aisenpai_backend.scheduler.service;
+
+import com.seojs.aisenpai_backend.scheduler.repository.SchedulerLockJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClusterJobRunnerTest {
+
+    @Mock
+    private SchedulerLockJdbcRepository schedulerLockJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ClusterJobRunner clusterJobRunner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clusterJobRunner = new ClusterJobRunner(schedulerLockJdbcRepository, transactionManager, 60_000, 1_000);
+    }
+
+    @Test
+    void runExclusively_임대_보유_중이면_실행하지_않음() {
+        // given
+        when(schedulerLockJdbcRepository.tryAcquire(eq("job"), any(), any(), anyString())).thenReturn(false);
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        boolean ran = clusterJobRunner.runExclusively("job", runs::incrementAndGet);
+
+        // then
+        assertFalse(ran);
+        assertEquals(0, runs.get());
+        verify(schedulerLockJdbcRepository, never()).release(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void runExclusively_작업이_실패해도_임대_반납() {
+        // given
+        when(schedulerLockJdbcRepository.tryAcquire(eq("job"), any(), any(), anyString())).thenReturn(true);
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> clusterJobRunner.runExclusively("job",
+                Duration.ofMinutes(1), Duration.ZERO, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+        verify(schedulerLockJdbcRepository).release(eq("job"), anyString(), any(), any());
+    }
+}
@@ -11,6 +11,7 @@ import com.seojs.aisenpai_backend.github.entity.ReviewFocus;
 import com.seojs.aisenpai_backend.github.entity.ReviewTone;
 import com.seojs.aisenpai_backend.github.repository.GithubAccountRepository;
 import com.seojs.aisenpai_backend.github.service.GithubService;
+import com.seojs.aisenpai_backend.github.service.IgnorePatternService;
 import com.seojs.aisenpai_backend.github.service.TokenEncryptionService;
 import com.seojs.aisenpai_backend.pullrequest.repository.PullRequestRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -59,6 +62,9 @@ class GithubServiceTest {
     @Mock
     private AiService aiService;
 
+    @Mock
+    private IgnorePatternService ignorePatternService;
+
     private Executor githubApiExecutor = Runnable::run;
 
     private GithubService githubService;
@@ -82,7 +88,7 @@ class GithubServiceTest {
         when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
 
         githubService = new GithubService(webClientBuilder, githubAccountRepository, tokenEncryptionService,
-                        pullRequestRepository, aiService, githubApiExecutor);
+                        pullRequestRepository, aiService, ignorePatternService, githubApiExecutor);
         ReflectionTestUtils.setField(githubService, "webhookUrl", "http://test.com/webhook");
     }
 
@@ -335,6 +341,32 @@ class GithubServiceTest {
         assertEquals(ReviewTone.FRIENDLY, account.getAiSettings().getReviewTone());
     }
 
+    @Test
+    void updateIgnorePatterns_커밋_후_매처_캐시_무효화() {
+        // given
+        String loginId = "test-user";
+        GithubAccount account = GithubAccount.builder()
+                .loginId(loginId)
+                .accessToken("test-token")
+                .webhookSecret("test-secret")
+                .build();
+        ReflectionTestUtils.setField(account, "id", 1L);
+        when(githubAccountRepository.findByLoginId(loginId)).thenReturn(Optional.of(account));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            githubService.updateIgnorePatterns(loginId, List.of("*.lock"));
+
+            // then - 커밋 전에는 무효화하지 않음
+            verify(ignorePatternService, never()).evictIgnoreMatcher(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(ignorePatternService).evictIgnoreMatcher(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     void updateReviewSettings_계정없을시_예외발생() {
         // given
@@ -7,7 +7,11 @@ import com.seojs.aisenpai_backend.github.dto.WebhookPayloadDto.PullRequestDto;
 import com.seojs.aisenpai_backend.github.dto.WebhookPayloadDto.RepositoryDto;
 import com.seojs.aisenpai_backend.github.dto.WebhookPayloadDto.UserDto;
 import com.seojs.aisenpai_backend.github.entity.GithubAccount;
+import com.seojs.aisenpai_backend.ai.service.TokenEstimationService;
+import com.seojs.aisenpai_backend.github.service.DiffPreprocessService;
 import com.seojs.aisenpai_backend.github.service.GithubService;
+import com.seojs.aisenpai_backend.github.service.IgnorePatternService;
+import com.seojs.aisenpai_backend.github.service.RuleMatchingService;
 import com.seojs.aisenpai_backend.github.service.ReviewAnchorService;
 import com.seojs.aisenpai_backend.github.service.WebhookSecurityService;
 import com.seojs.aisenpai_backend.github.service.TokenEncryptionService;
@@ -21,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -56,6 +61,18 @@ class PullRequestServiceTest {
     @Mock
     private ReviewAnchorService reviewAnchorService;
 
+    @Mock
+    private IgnorePatternService ignorePatternService;
+
+    @Mock
+    private RuleMatchingService ruleMatchingService;
+
+    @Mock
+    private DiffPreprocessService diffPreprocessService;
+
+    @Mock
+    private TokenEstimationService tokenEstimationService;
+
     private PullRequestService pullRequestService;
 
     @BeforeEach
@@ -63,7 +80,8 @@ class PullRequestServiceTest {
         MockitoAnnotations.openMocks(this);
         pullRequestService = new PullRequestService(pullRequestRepository, githubService,
                 webhookSecurityService, objectMapper, eventPublisher, tokenEncryptionService,
-                notificationService, reviewAnchorService);
+                notificationService, reviewAnchorService, ignorePatternService,
+                ruleMatchingService, diffPreprocessService, tokenEstimationService);
     }
 
     @Test
@@ -203,4 +221,32 @@ class PullRequestServiceTest {
                 eq(NotificationType.REVIEW_COMPLETE),
                 eq(pr));
     }
+
+    @Test
+    void parkForRetry_CircuitOpen_DoesNotConsumeAttempt() {
+        // given
+        ReflectionTestUtils.setField(pullRequestService, "maxReviewRetries", 1);
+        ReflectionTestUtils.setField(pullRequestService, "retryBaseDelaySeconds", 60L);
+        PullRequest pr = PullRequest.builder()
+                .repositoryId(1L)
+                .prNumber(1)
+                .status(PullRequest.ReviewStatus.IN_PROGRESS)
+                .build();
+        when(pullRequestRepository.findByRepositoryIdAndPrNumber(1L, 1)).thenReturn(Optional.of(pr));
+
+        // when
+        pullRequestService.parkForRetry(1L, 1, false);
+        pullRequestService.parkForRetry(1L, 1, false);
+
+        // then
+        assertEquals(PullRequest.ReviewStatus.RETRY_SCHEDULED, pr.getStatus());
+        assertNull(pr.getRetryCount());
+        assertNotNull(pr.getNextRetryAt());
+
+        // 호출까지 간 실패는 횟수를 소모하고, 한도를 넘으면 실패 처리
+        pullRequestService.parkForRetry(1L, 1, true);
+        assertEquals(1, pr.getRetryCount());
+        pullRequestService.parkForRetry(1L, 1, true);
+        assertEquals(PullRequest.ReviewStatus.FAILED, pr.getStatus());
+    }
 }